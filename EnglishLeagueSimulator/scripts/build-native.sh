@@ -0,0 +1,13 @@
+#!/usr/bin/env bash
+# Builds out/football, a GraalVM native executable of
+# EuropeanCompetitionSimulator. Needs native-image on the PATH (or
+# GRAALVM_HOME set). Build options live in
+# src/META-INF/native-image/football/simulator/native-image.properties, which
+# the jar carries, so a plain native-image -jar picks them up.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+NATIVE_IMAGE=${GRAALVM_HOME:+$GRAALVM_HOME/bin/}native-image
+scripts/build.sh
+"$NATIVE_IMAGE" -jar out/football.jar -o out/football
+echo "Built out/football"
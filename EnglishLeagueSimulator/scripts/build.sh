@@ -0,0 +1,16 @@
+#!/usr/bin/env bash
+# Compiles the simulator into out/football.jar (main class
+# EuropeanCompetitionSimulator). The jar is what the fast-start and native
+# builds use: CDS archives only classes loaded from jar files.
+# Needs JDK 22 or later: OffHeapMatchStore uses the Foreign Function & Memory
+# API, which was a preview feature before 22.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+JAVA_HOME=${JAVA_HOME:-$(dirname "$(dirname "$(readlink -f "$(command -v javac)")")")}
+rm -rf out/classes
+mkdir -p out/classes
+"$JAVA_HOME/bin/javac" -encoding UTF-8 -d out/classes src/*.java
+cp -r src/META-INF out/classes/
+"$JAVA_HOME/bin/jar" --create --file out/football.jar --main-class EuropeanCompetitionSimulator -C out/classes .
+echo "Built out/football.jar"
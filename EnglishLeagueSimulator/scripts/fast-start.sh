@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Runs a simulator class from out/football.jar with an AppCDS archive, so
+# short-lived batch JVMs skip most class loading, verification and lambda
+# linkage. The archive is generated on first use by a training run of one
+# full European season (output discarded) and regenerated whenever the jar
+# is rebuilt.
+#
+# Usage: scripts/fast-start.sh [MainClass] [args...]
+#   e.g. scripts/fast-start.sh EuropeanCompetitionSimulator
+#        scripts/fast-start.sh LeagueMonteCarlo Premier_League 2000
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+JAVA_HOME=${JAVA_HOME:-$(dirname "$(dirname "$(readlink -f "$(command -v java)")")")}
+JAR=out/football.jar
+ARCHIVE=out/football.jsa
+
+# Short runs finish before C2 pays for itself, and a single-threaded
+# collector starts fastest; override with FAST_START_OPTS if needed
+FAST_START_OPTS=${FAST_START_OPTS:--XX:TieredStopAtLevel=1 -XX:+UseSerialGC}
+
+if [ ! -f "$JAR" ]; then
+    scripts/build.sh >&2
+fi
+if [ ! -f "$ARCHIVE" ] || [ "$JAR" -nt "$ARCHIVE" ]; then
+    echo "Creating CDS archive $ARCHIVE (one training run)..." >&2
+    # shellcheck disable=SC2086
+    "$JAVA_HOME/bin/java" -XX:ArchiveClassesAtExit="$ARCHIVE" $FAST_START_OPTS -cp "$JAR" \
+        EuropeanCompetitionSimulator > /dev/null
+fi
+
+MAIN=${1:-EuropeanCompetitionSimulator}
+shift || true
+# shellcheck disable=SC2086
+exec "$JAVA_HOME/bin/java" -XX:SharedArchiveFile="$ARCHIVE" $FAST_START_OPTS -cp "$JAR" "$MAIN" "$@"
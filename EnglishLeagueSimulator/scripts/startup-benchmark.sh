@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Startup benchmark for one-shot batch jobs: wall time of a complete
+# EuropeanCompetitionSimulator run (JVM start to exit, console output
+# discarded) for
+#   cold   plain java -cp out/football.jar
+#   cds    scripts/fast-start.sh (AppCDS archive + C1 + serial GC)
+#   native out/football, if scripts/build-native.sh has been run
+# Each mode is run RUNS times after one warm-up run (which also fills the OS
+# file cache and creates the CDS archive); min, median and max are reported
+# in milliseconds. See STARTUP.md for results.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-10}
+JAVA_HOME=${JAVA_HOME:-$(dirname "$(dirname "$(readlink -f "$(command -v java)")")")}
+[ -f out/football.jar ] || scripts/build.sh
+
+measure() {
+    local name=$1
+    shift
+    "$@" > /dev/null 2>&1
+    local times=()
+    for _ in $(seq "$RUNS"); do
+        local start end
+        start=$(date +%s%N)
+        "$@" > /dev/null 2>&1
+        end=$(date +%s%N)
+        times+=($(( (end - start) / 1000000 )))
+    done
+    local sorted
+    sorted=$(printf '%s\n' "${times[@]}" | sort -n)
+    printf '%-8s min %6d   median %6d   max %6d ms\n' "$name" \
+        "$(echo "$sorted" | head -1)" "$(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p")" \
+        "$(echo "$sorted" | tail -1)"
+}
+
+echo "EuropeanCompetitionSimulator, $RUNS runs per mode, $(nproc) CPUs"
+measure cold "$JAVA_HOME/bin/java" -cp out/football.jar EuropeanCompetitionSimulator
+measure cds scripts/fast-start.sh EuropeanCompetitionSimulator
+if [ -x out/football ]; then
+    measure native out/football
+else
+    echo "native   (skipped: run scripts/build-native.sh first)"
+fi
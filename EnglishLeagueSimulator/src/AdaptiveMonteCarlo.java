@@ -0,0 +1,187 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Monte Carlo mode that decides its own run count.
+ * Seasons are simulated in growing batches; after each batch a Wilson score
+ * interval is computed for every requested probability (by default the title
+ * and relegation odds of every team). The run stops as soon as every interval
+ * is narrower than the configured width, or when the time budget or run cap
+ * is reached, whichever comes first.
+ *
+ * Usage: AdaptiveMonteCarlo [league] [maxWidth] [timeBudgetSeconds] [threads]
+ */
+public class AdaptiveMonteCarlo {
+
+    // 95% two-sided normal quantile
+    public static final double Z_95 = 1.959963984540054;
+
+    private static final long INITIAL_BATCH = 1_000;
+    private static final long MAX_BATCH = 64_000;
+
+    /**
+     * A per-team probability to be estimated, e.g. "wins the title".
+     */
+    public interface Query {
+        String getLabel();
+
+        long countSuccesses(SeasonAccumulator result, int team);
+    }
+
+    public static Query title() {
+        return topFinish("Title", 1);
+    }
+
+    public static Query topFinish(String label, int places) {
+        return new Query() {
+            public String getLabel() { return label; }
+            public long countSuccesses(SeasonAccumulator result, int team) { return result.getTopCount(team, places); }
+        };
+    }
+
+    public static Query relegation(int places) {
+        return new Query() {
+            public String getLabel() { return "Relegation"; }
+            public long countSuccesses(SeasonAccumulator result, int team) { return result.getBottomCount(team, places); }
+        };
+    }
+
+    public static class Result {
+        final SeasonAccumulator accumulator;
+        final List<Query> queries;
+        final double z;
+        final String stopReason;
+        final double seconds;
+
+        Result(SeasonAccumulator accumulator, List<Query> queries, double z, String stopReason, double seconds) {
+            this.accumulator = accumulator;
+            this.queries = queries;
+            this.z = z;
+            this.stopReason = stopReason;
+            this.seconds = seconds;
+        }
+
+        public SeasonAccumulator getAccumulator() { return accumulator; }
+        public String getStopReason() { return stopReason; }
+
+        /**
+         * @return {lower, upper} Wilson interval for the given query and team.
+         */
+        public double[] getInterval(int query, int team) {
+            return wilsonInterval(queries.get(query).countSuccesses(accumulator, team), accumulator.getRuns(), z);
+        }
+    }
+
+    public static void main(String[] args) {
+        String leagueName = args.length > 0 ? args[0] : "Premier_League";
+        double maxWidth = args.length > 1 ? Double.parseDouble(args[1]) : 0.01;
+        double timeBudgetSeconds = args.length > 2 ? Double.parseDouble(args[2]) : 60;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        DomesticLeague prototype = DomesticLeague.create(leagueName);
+        List<Query> queries = List.of(title(), relegation(prototype.getRelegationPlaces()));
+
+        Result result = run(() -> DomesticLeague.create(leagueName), queries, maxWidth, Z_95,
+                timeBudgetSeconds, Long.MAX_VALUE, threads);
+        printResult(leagueName, result);
+    }
+
+    /**
+     * Runs batches until every interval is narrower than maxWidth.
+     * @param leagueFactory     Creates a new, un-simulated league for each run.
+     * @param queries           Probabilities to estimate for every team.
+     * @param maxWidth          Target full width of each interval (e.g. 0.01 = ±0.5%).
+     * @param z                 Normal quantile for the interval confidence level.
+     * @param timeBudgetSeconds Wall-clock budget; the run stops after the batch
+     *                          that crosses it.
+     * @param maxRuns           Hard cap on the number of seasons.
+     * @param threads           Number of worker threads.
+     */
+    public static Result run(Supplier<DomesticLeague> leagueFactory, List<Query> queries, double maxWidth, double z,
+            double timeBudgetSeconds, long maxRuns, int threads) {
+        long start = System.nanoTime();
+        long deadline = start + (long) (timeBudgetSeconds * 1e9);
+        List<String> teamNames = LeagueMonteCarlo.teamNamesOf(leagueFactory);
+        SeasonAccumulator total = new SeasonAccumulator(teamNames);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        String stopReason;
+        try {
+            long batch = INITIAL_BATCH;
+            while (true) {
+                long batchRuns = Math.min(batch, maxRuns - total.getRuns());
+                total.merge(LeagueMonteCarlo.run(leagueFactory, teamNames, batchRuns, pool, threads));
+
+                double widest = widestInterval(total, queries, z);
+                if (widest < maxWidth) {
+                    stopReason = String.format("converged (widest interval %.4f < %.4f)", widest, maxWidth);
+                    break;
+                }
+                if (System.nanoTime() >= deadline) {
+                    stopReason = String.format("time budget expired (widest interval %.4f)", widest);
+                    break;
+                }
+                if (total.getRuns() >= maxRuns) {
+                    stopReason = String.format("run cap reached (widest interval %.4f)", widest);
+                    break;
+                }
+                batch = Math.min(batch * 2, MAX_BATCH);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return new Result(total, new ArrayList<>(queries), z, stopReason, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static double widestInterval(SeasonAccumulator result, List<Query> queries, double z) {
+        double widest = 0;
+        for (Query query : queries) {
+            for (int team = 0; team < result.getTeamCount(); team++) {
+                double[] interval = wilsonInterval(query.countSuccesses(result, team), result.getRuns(), z);
+                widest = Math.max(widest, interval[1] - interval[0]);
+            }
+        }
+        return widest;
+    }
+
+    /**
+     * Wilson score interval for a binomial proportion. Unlike the normal
+     * approximation it stays inside [0, 1] and behaves for p near 0 or 1,
+     * which matters for titles and relegations that are almost certain.
+     * @return {lower, upper}
+     */
+    public static double[] wilsonInterval(long successes, long trials, double z) {
+        if (trials == 0) {
+            return new double[] { 0.0, 1.0 };
+        }
+        double n = trials;
+        double p = successes / n;
+        double z2 = z * z;
+        double denominator = 1 + z2 / n;
+        double centre = (p + z2 / (2 * n)) / denominator;
+        double halfWidth = z * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / denominator;
+        return new double[] { Math.max(0.0, centre - halfWidth), Math.min(1.0, centre + halfWidth) };
+    }
+
+    private static void printResult(String leagueName, Result result) {
+        SeasonAccumulator accumulator = result.getAccumulator();
+        System.out.printf("--- %s: %d seasons in %.1fs, stopped: %s ---%n",
+                leagueName, accumulator.getRuns(), result.seconds, result.getStopReason());
+        StringBuilder header = new StringBuilder(String.format("%-26s", "Team"));
+        for (Query query : result.queries) {
+            header.append(String.format(" | %-22s", query.getLabel()));
+        }
+        System.out.println(header);
+        for (int team = 0; team < accumulator.getTeamCount(); team++) {
+            StringBuilder row = new StringBuilder(String.format("%-26s", accumulator.getTeamName(team)));
+            for (int q = 0; q < result.queries.size(); q++) {
+                double[] interval = result.getInterval(q, team);
+                double p = accumulator.probability(result.queries.get(q).countSuccesses(accumulator, team));
+                row.append(String.format(" | %6.2f%% [%5.2f, %5.2f]", 100 * p, 100 * interval[0], 100 * interval[1]));
+            }
+            System.out.println(row);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * UEFA association coefficients carried from one simulated season to the
+ * next. An association's season coefficient is the points its clubs earned in
+ * Europe (2 for a win, 1 for a draw, and a bonus point for each knockout round
+ * played from the last 16 on), divided by the number of clubs it entered.
+ * Its coefficient is the sum over a rolling five-season window. The ranking
+ * decides how many places each association gets in each competition (see
+ * getPlaces). EuropeanCompetitionSimulator then fills those places ahead of
+ * its Elo-ordered cascade.
+ *
+ * All state is kept in int arrays indexed by association, in thousandths of a
+ * point as UEFA publishes them, so the window totals stay exact. closeSeason
+ * adds the new season's coefficient and subtracts the one that drops out of
+ * the window. It then re-sorts the ranking, which is nearly sorted already, so
+ * an insertion sort is close to linear, and re-derives the places. Nothing is
+ * recomputed from earlier seasons.
+ *
+ * Install on each season's SimulationContext (withCoefficients); European
+ * matches and knockout stages are recorded as they are played. Not
+ * thread-safe: an instance follows one sequence of seasons.
+ */
+public class AssociationCoefficients {
+    public static final int WINDOW = 5;
+
+    private static final int COMPETITIONS = 3;
+    // Places by coefficient rank (index SeasonAccumulator.UCL, UEL, UECL); each
+    // row adds up to the competition's size in distributeEuropeanTeams
+    private static final int[][] PLACES_BY_RANK = {
+            { 5, 5, 4, 4, 3, 3, 3, 3, 2, 2, 1, 1 },
+            { 2, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 0 },
+            { 1, 1, 1, 1, 1, 2, 2, 2, 2, 1, 1, 1 } };
+
+    private final String[] associations;
+    private final Map<String, Integer> index = new HashMap<>();
+    // [association * WINDOW + slot], thousandths of a point; slot oldestSlot is
+    // the season that leaves the window next
+    private final int[] seasonCoefficients;
+    private final int[] windowTotals;
+    private int oldestSlot;
+    private int seasonsClosed;
+
+    // The season being played
+    private final int[] seasonPoints;
+    private final int[] seasonClubs;
+
+    // Association indices, best coefficient first
+    private final int[] ranking;
+    // [association * COMPETITIONS + competition]
+    private final int[] places;
+
+    /**
+     * @param associations        Association names, as Team.getAssociation
+     *                            returns them.
+     * @param startingCoefficients Each association's five-season coefficient
+     *                            to start from; it is spread evenly over the
+     *                            window.
+     */
+    public AssociationCoefficients(String[] associations, double[] startingCoefficients) {
+        int n = associations.length;
+        this.associations = associations.clone();
+        this.seasonCoefficients = new int[n * WINDOW];
+        this.windowTotals = new int[n];
+        this.seasonPoints = new int[n];
+        this.seasonClubs = new int[n];
+        this.ranking = new int[n];
+        this.places = new int[n * COMPETITIONS];
+        for (int a = 0; a < n; a++) {
+            index.put(associations[a], a);
+            int perSeason = (int) Math.round(startingCoefficients[a] * 1000 / WINDOW);
+            for (int slot = 0; slot < WINDOW; slot++) {
+                seasonCoefficients[a * WINDOW + slot] = perSeason;
+            }
+            windowTotals[a] = perSeason * WINDOW;
+            ranking[a] = a;
+        }
+        rerank();
+    }
+
+    /**
+     * @return Coefficients for the leagues in DomesticLeague.ALL_LEAGUES,
+     *         starting from approximately their published five-season
+     *         totals for 2024/25.
+     */
+    public static AssociationCoefficients forAllLeagues() {
+        return new AssociationCoefficients(DomesticLeague.ALL_LEAGUES, new double[] {
+                97.3, 89.0, 85.5, 90.4, 66.4, 64.6, 60.0, 33.0, 56.4, 33.6, 33.1, 42.3 });
+    }
+
+    // --- RECORDING ---
+
+    /**
+     * Adds one European match. Clubs without a tracked association are
+     * ignored.
+     */
+    public void recordMatch(Team homeTeam, Team awayTeam, int homeGoals, int awayGoals) {
+        int home = indexOf(homeTeam.getAssociation());
+        int away = indexOf(awayTeam.getAssociation());
+        if (homeGoals > awayGoals) {
+            addPoints(home, 2);
+        } else if (awayGoals > homeGoals) {
+            addPoints(away, 2);
+        } else {
+            addPoints(home, 1);
+            addPoints(away, 1);
+        }
+    }
+
+    /**
+     * Adds a finished competition: every participant counts as an entered
+     * club, and each earns a bonus point per knockout round it played from
+     * the last 16 to the final (see EuropeanCompetitionEngine.getKnockoutRoundsPlayed).
+     */
+    public void recordCompetition(EuropeanCompetitionEngine engine) {
+        for (int p = 0; p < engine.getParticipantCount(); p++) {
+            int a = indexOf(engine.getParticipant(p).getAssociation());
+            if (a >= 0) {
+                seasonClubs[a]++;
+                seasonPoints[a] += engine.getKnockoutRoundsPlayed(p);
+            }
+        }
+    }
+
+    private void addPoints(int association, int points) {
+        if (association >= 0) {
+            seasonPoints[association] += points;
+        }
+    }
+
+    /**
+     * Ends the season being played: its coefficients replace the oldest
+     * season in the window, and the ranking and places are updated.
+     */
+    public void closeSeason() {
+        for (int a = 0; a < associations.length; a++) {
+            int coefficient = seasonClubs[a] == 0 ? 0 : seasonPoints[a] * 1000 / seasonClubs[a];
+            int slot = a * WINDOW + oldestSlot;
+            windowTotals[a] += coefficient - seasonCoefficients[slot];
+            seasonCoefficients[slot] = coefficient;
+            seasonPoints[a] = 0;
+            seasonClubs[a] = 0;
+        }
+        oldestSlot = (oldestSlot + 1) % WINDOW;
+        seasonsClosed++;
+        rerank();
+    }
+
+    private void rerank() {
+        for (int i = 1; i < ranking.length; i++) {
+            int a = ranking[i];
+            int j = i - 1;
+            while (j >= 0 && windowTotals[ranking[j]] < windowTotals[a]) {
+                ranking[j + 1] = ranking[j];
+                j--;
+            }
+            ranking[j + 1] = a;
+        }
+        for (int rank = 0; rank < ranking.length; rank++) {
+            for (int c = 0; c < COMPETITIONS; c++) {
+                int[] byRank = PLACES_BY_RANK[c];
+                places[ranking[rank] * COMPETITIONS + c] = rank < byRank.length ? byRank[rank] : 0;
+            }
+        }
+    }
+
+    // --- QUERIES ---
+
+    public int getAssociationCount() { return associations.length; }
+    public String getAssociation(int association) { return associations[association]; }
+    public int getSeasonsClosed() { return seasonsClosed; }
+
+    /**
+     * @return The association index, or -1 if it is not tracked.
+     */
+    public int indexOf(String association) {
+        Integer a = association == null ? null : index.get(association);
+        return a == null ? -1 : a;
+    }
+
+    /**
+     * @return The association index ranked at the given position (0 = best).
+     */
+    public int getRanked(int rank) {
+        return ranking[rank];
+    }
+
+    /**
+     * @return The five-season coefficient.
+     */
+    public double getCoefficient(int association) {
+        return windowTotals[association] / 1000.0;
+    }
+
+    /**
+     * @param seasonsAgo 0 for the last closed season, up to WINDOW - 1.
+     */
+    public double getSeasonCoefficient(int association, int seasonsAgo) {
+        int slot = Math.floorMod(oldestSlot - 1 - seasonsAgo, WINDOW);
+        return seasonCoefficients[association * WINDOW + slot] / 1000.0;
+    }
+
+    /**
+     * @param competition SeasonAccumulator.UCL, UEL or UECL.
+     * @return Places the association gets in the competition, 0 if it is not
+     *         tracked.
+     */
+    public int getPlaces(String association, int competition) {
+        int a = indexOf(association);
+        return a < 0 ? 0 : places[a * COMPETITIONS + competition];
+    }
+
+    public void printTable(PrintStream out) {
+        out.println("Rank | Association                | Coefficient | Last season | UCL | UEL | UECL");
+        out.println("-------------------------------------------------------------------------------");
+        for (int rank = 0; rank < ranking.length; rank++) {
+            int a = ranking[rank];
+            out.printf("%4d | %-26s | %11.3f | %11.3f | %3d | %3d | %4d%n", rank + 1, associations[a],
+                    getCoefficient(a), getSeasonCoefficient(a, 0), places[a * COMPETITIONS],
+                    places[a * COMPETITIONS + 1], places[a * COMPETITIONS + 2]);
+        }
+        out.println("-------------------------------------------------------------------------------");
+    }
+}
@@ -18,12 +18,12 @@ import java.util.stream.Collectors;
  * NOTE: This class has been refactored to work with the
  * EuropeanCompetitionSimulator.
  */
-public class AustrianBundesliga_League {
+public class AustrianBundesliga_League implements DomesticLeague {
     private final List<Team> teams;
-    private final List<Match> regularSeasonFixtures;
-    private final List<Match> playoffFixtures;
+    private FixtureBuffer regularSeasonFixtures;
+    private FixtureBuffer playoffFixtures;
     private final MatchSimulator matchSimulator;
-    private final Random random = new Random();
+    private final Random random = SimulationContext.current().newRandom();
 
     private Team ofbCupWinner;
     private List<Team> championshipRoundTeams;
@@ -44,8 +44,6 @@ public class AustrianBundesliga_League {
 
     public AustrianBundesliga_League() {
         this.teams = new ArrayList<>();
-        this.regularSeasonFixtures = new ArrayList<>();
-        this.playoffFixtures = new ArrayList<>();
         this.matchSimulator = new MatchSimulator();
     }
 
@@ -62,6 +60,49 @@ public class AustrianBundesliga_League {
         return ueclTeams;
     }
 
+    // --- DOMESTIC LEAGUE CONTRACT ---
+    @Override
+    public String getName() {
+        return "AustrianBundesliga_League";
+    }
+
+    @Override
+    public int getRelegationPlaces() {
+        return 1;
+    }
+
+    @Override
+    public List<Team> getTeams() {
+        return this.teams;
+    }
+
+    @Override
+    public void simulateFullSeason() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "OFB Cup");
+        simulateOFBCup();
+        stage = stage.next("Fixtures");
+        generateRegularSeasonFixtures();
+        stage = stage.next("Season");
+        simulateRegularSeason();
+        stage = stage.next("Split");
+        performPlayoffSplit();
+        stage = stage.next("Playoffs");
+        simulatePlayoffs();
+        stage = stage.next("European spots");
+        determineEuropeanSpots();
+        stage.end();
+    }
+
+    @Override
+    public List<Team> getFinalStandings() {
+        championshipRoundTeams.sort(getFinalTableSorter());
+        relegationRoundTeams.sort(getFinalTableSorter());
+
+        List<Team> finalOrder = new ArrayList<>(championshipRoundTeams);
+        finalOrder.addAll(relegationRoundTeams);
+        return finalOrder;
+    }
+
     public static void main(String[] args) {
         AustrianBundesliga_League austria = new AustrianBundesliga_League();
 
@@ -94,6 +135,7 @@ public class AustrianBundesliga_League {
     }
 
     public void setupTeams() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Setup");
         double initialElo = 1500;
         this.teams.add(new Team("RB Salzburg", 96, 85, initialElo + 200)); // Adjusted
         this.teams.add(new Team("Sturm Graz", 85, 80, initialElo + 150)); // Adjusted
@@ -108,6 +150,7 @@ public class AustrianBundesliga_League {
         this.teams.add(new Team("WSG Tirol", 67, 70, initialElo - 200));
         this.teams.add(new Team("Austria Lustenau", 65, 68, initialElo - 250));
         System.out.println("12 Austrian Bundesliga teams have been created.");
+        stage.end();
     }
 
     public void simulateOFBCup() {
@@ -132,34 +175,32 @@ public class AustrianBundesliga_League {
         List<Team> finalists = simulateKnockoutRound(semiFinalists);
         System.out.println("\n** ÖFB-Cup Final **");
         this.ofbCupWinner = matchSimulator.simulateSingleMatch(finalists.get(0), finalists.get(1));
+        this.ofbCupWinner.reachCupRound(1);
         System.out.println("\nÖFB-Cup Winner: " + this.ofbCupWinner.getName());
     }
 
     private List<Team> simulateKnockoutRound(List<Team> teamsInRound) {
         List<Team> winners = new ArrayList<>();
         Collections.shuffle(teamsInRound, random);
+        for (Team team : teamsInRound) {
+            team.reachCupRound(teamsInRound.size());
+        }
         for (int i = 0; i < teamsInRound.size(); i += 2) {
             winners.add(matchSimulator.simulateSingleMatch(teamsInRound.get(i), teamsInRound.get(i + 1)));
         }
+        for (Team winner : winners) {
+            winner.reachCupRound(winners.size());
+        }
         return winners;
     }
 
     public void generateRegularSeasonFixtures() {
-        for (Team team1 : this.teams) {
-            for (Team team2 : this.teams) {
-                if (!team1.equals(team2)) {
-                    regularSeasonFixtures.add(new Match(team1, team2));
-                }
-            }
-        }
+        this.regularSeasonFixtures = FixtureBuffer.roundRobin(this.teams);
         System.out.println(regularSeasonFixtures.size() + " regular season matches scheduled.");
     }
 
     public void simulateRegularSeason() {
-        for (int i = 0; i < regularSeasonFixtures.size(); i++) {
-            Match updatedMatch = matchSimulator.simulateMatch(regularSeasonFixtures.get(i));
-            regularSeasonFixtures.set(i, updatedMatch);
-        }
+        matchSimulator.simulateFixtures(regularSeasonFixtures);
     }
 
     public void performPlayoffSplit() {
@@ -172,26 +213,25 @@ public class AustrianBundesliga_League {
             team.points = (int) Math.ceil(team.points / 2.0);
         }
 
+        // Both rounds share one buffer: 6 x 5 fixtures in each
+        this.playoffFixtures = new FixtureBuffer(this.teams, 60);
         addPlayoffFixtures(championshipRoundTeams, this.playoffFixtures);
         addPlayoffFixtures(relegationRoundTeams, this.playoffFixtures);
         System.out.println("Play-off groups created and points halved.");
     }
 
-    private void addPlayoffFixtures(List<Team> section, List<Match> fixtureList) {
+    private void addPlayoffFixtures(List<Team> section, FixtureBuffer fixtures) {
         for (Team team1 : section) {
             for (Team team2 : section) {
                 if (!team1.equals(team2)) {
-                    fixtureList.add(new Match(team1, team2));
+                    fixtures.add(team1, team2);
                 }
             }
         }
     }
 
     public void simulatePlayoffs() {
-        for (int i = 0; i < playoffFixtures.size(); i++) {
-            Match updatedMatch = matchSimulator.simulateMatch(playoffFixtures.get(i));
-            playoffFixtures.set(i, updatedMatch);
-        }
+        matchSimulator.simulateFixtures(playoffFixtures);
     }
 
     public void determineEuropeanSpots() {
@@ -264,8 +304,12 @@ public class AustrianBundesliga_League {
     }
 
     private Comparator<Team> getFinalTableSorter() {
-        List<Match> allMatches = new ArrayList<>(regularSeasonFixtures);
-        allMatches.addAll(playoffFixtures);
+        // The playoff fixtures don't exist until the split
+        List<FixtureBuffer> allFixtures = new ArrayList<>();
+        if (regularSeasonFixtures != null)
+            allFixtures.add(regularSeasonFixtures);
+        if (playoffFixtures != null)
+            allFixtures.add(playoffFixtures);
 
         return (t1, t2) -> {
             if (t1.getPoints() != t2.getPoints())
@@ -278,21 +322,27 @@ public class AustrianBundesliga_League {
                 for (Team t : tiedGroup)
                     h2hStats.put(t, new HeadToHeadStats());
 
-                for (Match m : allMatches) {
-                    if (m.homeGoals != -1 && tiedGroup.contains(m.homeTeam) && tiedGroup.contains(m.awayTeam)) {
-                        HeadToHeadStats homeStats = h2hStats.get(m.homeTeam);
-                        HeadToHeadStats awayStats = h2hStats.get(m.awayTeam);
-                        homeStats.goalsFor += m.homeGoals;
-                        homeStats.goalsAgainst += m.awayGoals;
-                        awayStats.goalsFor += m.awayGoals;
-                        awayStats.goalsAgainst += m.homeGoals;
-                        if (m.homeGoals > m.awayGoals)
-                            homeStats.points += 3;
-                        else if (m.homeGoals == m.awayGoals) {
-                            homeStats.points += 1;
-                            awayStats.points += 1;
-                        } else {
-                            awayStats.points += 3;
+                for (FixtureBuffer fixtures : allFixtures) {
+                    for (int f = 0; f < fixtures.size(); f++) {
+                        Team home = fixtures.getHomeTeam(f);
+                        Team away = fixtures.getAwayTeam(f);
+                        if (fixtures.isPlayed(f) && tiedGroup.contains(home) && tiedGroup.contains(away)) {
+                            int homeGoals = fixtures.getHomeGoals(f);
+                            int awayGoals = fixtures.getAwayGoals(f);
+                            HeadToHeadStats homeStats = h2hStats.get(home);
+                            HeadToHeadStats awayStats = h2hStats.get(away);
+                            homeStats.goalsFor += homeGoals;
+                            homeStats.goalsAgainst += awayGoals;
+                            awayStats.goalsFor += awayGoals;
+                            awayStats.goalsAgainst += homeGoals;
+                            if (homeGoals > awayGoals)
+                                homeStats.points += 3;
+                            else if (homeGoals == awayGoals) {
+                                homeStats.points += 1;
+                                awayStats.points += 1;
+                            } else {
+                                awayStats.points += 3;
+                            }
                         }
                     }
                 }
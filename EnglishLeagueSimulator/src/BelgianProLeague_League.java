@@ -15,13 +15,13 @@ import java.util.stream.Collectors;
  * NOTE: This class has been refactored to work with the
  * EuropeanCompetitionSimulator.
  */
-public class BelgianProLeague_League {
+public class BelgianProLeague_League implements DomesticLeague {
     private final List<Team> teams;
-    private final List<Match> phase1Fixtures;
-    private final List<Match> championsPlayoffFixtures;
-    private final List<Match> europePlayoffFixtures;
+    private FixtureBuffer phase1Fixtures;
+    private FixtureBuffer championsPlayoffFixtures;
+    private FixtureBuffer europePlayoffFixtures;
     private final MatchSimulator matchSimulator;
-    private final Random random = new Random();
+    private final Random random = SimulationContext.current().newRandom();
 
     private Team belgianCupWinner;
     private List<Team> championsPlayoffTeams;
@@ -35,9 +35,6 @@ public class BelgianProLeague_League {
 
     public BelgianProLeague_League() {
         this.teams = new ArrayList<>();
-        this.phase1Fixtures = new ArrayList<>();
-        this.championsPlayoffFixtures = new ArrayList<>();
-        this.europePlayoffFixtures = new ArrayList<>();
         this.matchSimulator = new MatchSimulator();
     }
 
@@ -54,6 +51,52 @@ public class BelgianProLeague_League {
         return ueclTeams;
     }
 
+    // --- DOMESTIC LEAGUE CONTRACT ---
+    @Override
+    public String getName() {
+        return "BelgianProLeague_League";
+    }
+
+    @Override
+    public int getRelegationPlaces() {
+        return 2;
+    }
+
+    @Override
+    public List<Team> getTeams() {
+        return this.teams;
+    }
+
+    @Override
+    public void simulateFullSeason() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Belgian Cup");
+        simulateBelgianCup();
+        stage = stage.next("Fixtures");
+        generateRegularSeasonFixtures();
+        stage = stage.next("Season");
+        simulateRegularSeason();
+        stage = stage.next("Split");
+        performPlayoffSplit();
+        stage = stage.next("Playoffs");
+        simulatePlayoffs();
+        stage = stage.next("European spots");
+        determineEuropeanSpots();
+        stage.end();
+    }
+
+    @Override
+    public List<Team> getFinalStandings() {
+        Comparator<Team> tableSorter = getTableSorter();
+        championsPlayoffTeams.sort(tableSorter);
+        europePlayoffTeams.sort(tableSorter);
+        relegationPlayoffTeams.sort(tableSorter);
+
+        List<Team> finalOrder = new ArrayList<>(championsPlayoffTeams);
+        finalOrder.addAll(europePlayoffTeams);
+        finalOrder.addAll(relegationPlayoffTeams);
+        return finalOrder;
+    }
+
     public static void main(String[] args) {
         BelgianProLeague_League belgium = new BelgianProLeague_League();
 
@@ -86,6 +129,7 @@ public class BelgianProLeague_League {
     }
 
     public void setupTeams() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Setup");
         double initialElo = 1500;
         this.teams.add(new Team("Club Brugge", 88, 82, initialElo + 180)); // Adjusted
         this.teams.add(new Team("Anderlecht", 86, 83, initialElo + 170)); // Adjusted
@@ -104,6 +148,7 @@ public class BelgianProLeague_League {
         this.teams.add(new Team("Eupen", 67, 70, initialElo - 180));
         this.teams.add(new Team("RWDM", 65, 68, initialElo - 220));
         System.out.println("16 Belgian Pro League teams have been created.");
+        stage.end();
     }
 
     public void simulateBelgianCup() {
@@ -116,34 +161,33 @@ public class BelgianProLeague_League {
         List<Team> finalists = simulateKnockoutRound(semiFinalists);
         System.out.println("\n** Belgian Cup Final **");
         this.belgianCupWinner = matchSimulator.simulateSingleMatch(finalists.get(0), finalists.get(1));
+        this.belgianCupWinner.reachCupRound(1);
         System.out.println("\nBelgian Cup Winner: " + this.belgianCupWinner.getName());
     }
 
     private List<Team> simulateKnockoutRound(List<Team> teamsInRound) {
         List<Team> winners = new ArrayList<>();
         Collections.shuffle(teamsInRound, random);
+        for (Team team : teamsInRound) {
+            team.reachCupRound(teamsInRound.size());
+        }
         for (int i = 0; i < teamsInRound.size(); i += 2) {
             winners.add(matchSimulator.simulateSingleMatch(teamsInRound.get(i), teamsInRound.get(i + 1)));
         }
+        for (Team winner : winners) {
+            winner.reachCupRound(winners.size());
+        }
         return winners;
     }
 
     public void generateRegularSeasonFixtures() {
-        for (Team team1 : this.teams) {
-            for (Team team2 : this.teams) {
-                if (!team1.equals(team2)) {
-                    phase1Fixtures.add(new Match(team1, team2));
-                }
-            }
-        }
-        Collections.shuffle(phase1Fixtures);
+        this.phase1Fixtures = FixtureBuffer.roundRobin(this.teams);
+        phase1Fixtures.shuffle(random);
         System.out.println(this.phase1Fixtures.size() + " regular season matches scheduled.");
     }
 
     public void simulateRegularSeason() {
-        for (Match match : this.phase1Fixtures) {
-            matchSimulator.simulateMatch(match);
-        }
+        matchSimulator.simulateFixtures(this.phase1Fixtures);
     }
 
     public void performPlayoffSplit() {
@@ -161,30 +205,16 @@ public class BelgianProLeague_League {
             team.points = (int) Math.ceil(team.points / 2.0);
         }
 
-        addPlayoffFixtures(championsPlayoffTeams, this.championsPlayoffFixtures);
-        addPlayoffFixtures(europePlayoffTeams, this.europePlayoffFixtures);
+        this.championsPlayoffFixtures = FixtureBuffer.roundRobin(championsPlayoffTeams);
+        this.europePlayoffFixtures = FixtureBuffer.roundRobin(europePlayoffTeams);
         System.out.println("Play-off groups created and points halved.");
     }
 
-    private void addPlayoffFixtures(List<Team> section, List<Match> fixtureList) {
-        for (Team team1 : section) {
-            for (Team team2 : section) {
-                if (!team1.equals(team2)) {
-                    fixtureList.add(new Match(team1, team2));
-                }
-            }
-        }
-    }
-
     public void simulatePlayoffs() {
         System.out.println("\n-- Simulating Champions' Play-off --");
-        for (Match match : this.championsPlayoffFixtures) {
-            matchSimulator.simulateMatch(match);
-        }
+        matchSimulator.simulateFixtures(this.championsPlayoffFixtures);
         System.out.println("\n-- Simulating Europe Play-off --");
-        for (Match match : this.europePlayoffFixtures) {
-            matchSimulator.simulateMatch(match);
-        }
+        matchSimulator.simulateFixtures(this.europePlayoffFixtures);
     }
 
     public void determineEuropeanSpots() {
@@ -0,0 +1,78 @@
+/**
+ * Karlis and Ntzoufras' bivariate Poisson: home = X1 + X3, away = X2 + X3
+ * with independent Xi ~ Pois(lambda_i), so the shared term X3 correlates the
+ * two scores. lambda3 is the model's covariance and lambda1, lambda2 are
+ * reduced by it, so each side still scores homeLambda / awayLambda on average
+ * (the covariance is capped at the smaller lambda).
+ * Home goals are Poisson(homeLambda); away goals are drawn from their
+ * conditional, X2 plus a Binomial(home, lambda3 / homeLambda) share of the
+ * home goals, with no allocation.
+ */
+public record BivariatePoissonModel(double covariance) implements MatchModel {
+
+    @Override
+    public double probability(double homeLambda, double awayLambda, int homeGoals, int awayGoals) {
+        double lambda3 = shared(homeLambda, awayLambda);
+        double lambda1 = homeLambda - lambda3;
+        double lambda2 = awayLambda - lambda3;
+        if (lambda1 <= 0 || lambda2 <= 0 || lambda3 <= 0) {
+            // A degenerate component; the term-by-term sum handles the zeros
+            double probability = 0;
+            for (int k = 0; k <= Math.min(homeGoals, awayGoals); k++) {
+                probability += MatchModel.poisson(lambda1, homeGoals - k)
+                        * MatchModel.poisson(lambda2, awayGoals - k) * MatchModel.poisson(lambda3, k);
+            }
+            return probability;
+        }
+        // Successive terms of the sum over the shared goals k differ by
+        // (home - k)(away - k) / (k + 1) * lambda3 / (lambda1 lambda2)
+        double term = MatchModel.poisson(lambda1, homeGoals) * MatchModel.poisson(lambda2, awayGoals)
+                * Math.exp(-lambda3);
+        double ratio = lambda3 / (lambda1 * lambda2);
+        double probability = term;
+        for (int k = 0; k < Math.min(homeGoals, awayGoals); k++) {
+            term *= (double) (homeGoals - k) * (awayGoals - k) / (k + 1) * ratio;
+            probability += term;
+        }
+        return probability;
+    }
+
+    @Override
+    public int sample(double homeLambda, double awayLambda, double homeUniform, double awayUniform) {
+        int homeGoals = homeLambda > 0 ? MatchSimulator.poissonFromUniform(homeLambda, homeUniform) : 0;
+        double lambda3 = shared(homeLambda, awayLambda);
+        double lambda2 = Math.max(awayLambda - lambda3, 0);
+        if (homeGoals == 0 || lambda3 <= 0) {
+            int awayGoals = lambda2 > 0 ? MatchSimulator.poissonFromUniform(lambda2, awayUniform) : 0;
+            return (homeGoals << 16) | awayGoals;
+        }
+        // away = X3 + X2 with X3 | home ~ Binomial(home, q) and X2 ~
+        // Pois(lambda2). X3 is found by inverting the binomial, and the
+        // uniform's place within X3's probability, a fresh uniform, then
+        // inverts the Poisson, so the one uniform covers both without any
+        // per-match tables
+        double q = Math.min(lambda3 / homeLambda, 1.0);
+        int shared;
+        double u = awayUniform;
+        if (q >= 1.0) {
+            shared = homeGoals;
+        } else {
+            double odds = q / (1 - q);
+            double probability = Math.pow(1 - q, homeGoals);
+            double below = 0;
+            shared = 0;
+            while (u >= below + probability && shared < homeGoals) {
+                below += probability;
+                probability *= (double) (homeGoals - shared) / (shared + 1) * odds;
+                shared++;
+            }
+            u = probability > 0 ? Math.min(Math.max((u - below) / probability, 0), Math.nextDown(1.0)) : 0;
+        }
+        int own = lambda2 > 0 ? MatchSimulator.poissonFromUniform(lambda2, u) : 0;
+        return (homeGoals << 16) | Math.min(shared + own, MAX_GOALS);
+    }
+
+    private double shared(double homeLambda, double awayLambda) {
+        return Math.max(0, Math.min(covariance, Math.min(homeLambda, awayLambda)));
+    }
+}
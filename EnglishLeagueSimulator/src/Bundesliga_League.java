@@ -15,11 +15,11 @@ import java.util.stream.Collectors;
  * NOTE: This class has been refactored to work with the
  * EuropeanCompetitionSimulator.
  */
-public class Bundesliga_League {
+public class Bundesliga_League implements DomesticLeague {
     private final List<Team> teams;
-    private final List<Match> fixtures;
+    private FixtureBuffer fixtures;
     private final MatchSimulator matchSimulator;
-    private final Random random = new Random();
+    private final Random random = SimulationContext.current().newRandom();
 
     private Team dfbPokalWinner;
 
@@ -30,7 +30,6 @@ public class Bundesliga_League {
 
     public Bundesliga_League() {
         this.teams = new ArrayList<>();
-        this.fixtures = new ArrayList<>();
         this.matchSimulator = new MatchSimulator();
     }
 
@@ -47,6 +46,40 @@ public class Bundesliga_League {
         return ueclTeams;
     }
 
+    // --- DOMESTIC LEAGUE CONTRACT ---
+    @Override
+    public String getName() {
+        return "Bundesliga_League";
+    }
+
+    @Override
+    public int getRelegationPlaces() {
+        return 2;
+    }
+
+    @Override
+    public List<Team> getTeams() {
+        return this.teams;
+    }
+
+    @Override
+    public void simulateFullSeason() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "DFB-Pokal");
+        simulateDFBPokal();
+        stage = stage.next("Fixtures");
+        generateFixtures();
+        stage = stage.next("Season");
+        simulateSeason();
+        stage = stage.next("European spots");
+        determineEuropeanSpots();
+        stage.end();
+    }
+
+    @Override
+    public List<Team> getFinalStandings() {
+        return new ArrayList<>(this.teams);
+    }
+
     public static void main(String[] args) {
         Bundesliga_League bundesliga = new Bundesliga_League();
 
@@ -70,6 +103,7 @@ public class Bundesliga_League {
     }
 
     public void setupTeams() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Setup");
         double initialElo = 1500;
         this.teams.add(new Team("Bayern Munich", 98, 88, initialElo + 360)); // Adjusted
         this.teams.add(new Team("Borussia Dortmund", 89, 82, initialElo + 280)); // Adjusted
@@ -90,6 +124,7 @@ public class Bundesliga_League {
         this.teams.add(new Team("Hertha BSC", 68, 70, initialElo - 200));
         this.teams.add(new Team("Schalke 04", 67, 68, initialElo - 220));
         System.out.println("18 Bundesliga teams have been created.");
+        stage.end();
     }
 
     public void simulateDFBPokal() {
@@ -118,39 +153,36 @@ public class Bundesliga_League {
         List<Team> finalists = simulateKnockoutRound(semiFinalists);
         System.out.println("\n** DFB-Pokal Final **");
         this.dfbPokalWinner = matchSimulator.simulateSingleMatch(finalists.get(0), finalists.get(1));
+        this.dfbPokalWinner.reachCupRound(1);
         System.out.println("\nDFB-Pokal Winner: " + this.dfbPokalWinner.getName());
     }
 
     private List<Team> simulateKnockoutRound(List<Team> teamsInRound) {
         List<Team> winners = new ArrayList<>();
         Collections.shuffle(teamsInRound, random);
+        for (Team team : teamsInRound) {
+            team.reachCupRound(teamsInRound.size());
+        }
         for (int i = 0; i < teamsInRound.size(); i += 2) {
             winners.add(matchSimulator.simulateSingleMatch(teamsInRound.get(i), teamsInRound.get(i + 1)));
         }
+        for (Team winner : winners) {
+            winner.reachCupRound(winners.size());
+        }
         return winners;
     }
 
     public void generateFixtures() {
-        for (Team homeTeam : this.teams) {
-            for (Team awayTeam : this.teams) {
-                if (!homeTeam.equals(awayTeam)) {
-                    this.fixtures.add(new Match(homeTeam, awayTeam));
-                }
-            }
-        }
+        this.fixtures = FixtureBuffer.roundRobin(this.teams);
         System.out.println(this.fixtures.size() + " league matches have been scheduled.");
     }
 
     public void simulateSeason() {
-        for (Match match : this.fixtures) {
-            matchSimulator.simulateMatch(match);
-        }
+        matchSimulator.simulateFixtures(this.fixtures);
     }
 
     public void determineEuropeanSpots() {
-        this.teams.sort(Comparator.comparingInt(Team::getPoints).reversed()
-                .thenComparingInt(Team::getGoalDifference).reversed()
-                .thenComparingInt(Team::getGoalsFor).reversed());
+        StandingsSorter.sort(this.teams);
 
         Set<Team> qualifiedForEurope = new HashSet<>();
 
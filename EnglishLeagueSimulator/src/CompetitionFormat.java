@@ -0,0 +1,124 @@
+/**
+ * The shape of a European club competition run by EuropeanCompetitionEngine:
+ * a league phase of a fixed number of matches per team, then a knockout
+ * stage fed by the top of the table.
+ *
+ * Teams ranked 1 to directQualifiers go straight to the knockout stage.
+ * The next playoffTeams ranks play two-legged play-off ties for the
+ * remaining places. With a seeded knockout draw the direct qualifiers are
+ * seeded in the first knockout round and each is drawn against a play-off
+ * winner (see KnockoutDraw); later rounds are open draws. Knockout rounds are
+ * two-legged ties, and the final is a single match at a neutral venue.
+ */
+public final class CompetitionFormat {
+
+    /**
+     * How the knockout play-off ties are drawn.
+     */
+    public enum PlayoffDraw {
+        /** Random pairings: the play-off teams are shuffled and split in half. */
+        RANDOM,
+        /** Best against worst: e.g. for ranks 5-12, 5th v 12th, 6th v 11th, ... */
+        BY_RANK,
+        /** The better-ranked half is seeded and drawn against the other half. */
+        SEEDED
+    }
+
+    public static final CompetitionFormat CHAMPIONS_LEAGUE = new CompetitionFormat("Champions League", 8, 8, 16,
+            PlayoffDraw.SEEDED, true, true, "THE CHAMPIONS OF EUROPE");
+    public static final CompetitionFormat EUROPA_LEAGUE = new CompetitionFormat("Europa League", 6, 4, 8,
+            PlayoffDraw.BY_RANK, true, true, "THE EUROPA LEAGUE CHAMPIONS");
+    public static final CompetitionFormat CONFERENCE_LEAGUE = new CompetitionFormat("Europa Conference League", 6,
+            4, 8, PlayoffDraw.BY_RANK, true, true, "THE EUROPA CONFERENCE LEAGUE CHAMPIONS");
+
+    private final String name;
+    private final int leaguePhaseMatches;
+    private final int directQualifiers;
+    private final int playoffTeams;
+    private final PlayoffDraw playoffDraw;
+    private final boolean seededKnockoutDraw;
+    private final boolean associationProtection;
+    private final String winnerTitle;
+
+    /**
+     * @param name               Competition name, e.g. "Champions League"; also
+     *                           the competition label in SimulationMetrics.
+     * @param leaguePhaseMatches League phase matches per team (half at home,
+     *                           rounded down).
+     * @param directQualifiers   Ranks that qualify straight for the knockouts.
+     * @param playoffTeams       Ranks after those that enter the play-offs;
+     *                           must be even.
+     * @param seededKnockoutDraw If true, the direct qualifiers are seeded
+     *                           against the play-off winners in the first
+     *                           knockout round (when there are as many of each).
+     * @param associationProtection If true, seeded draws never pair two clubs
+     *                           from the same association.
+     * @param winnerTitle        Printed after the winner's name, e.g. "THE
+     *                           CHAMPIONS OF EUROPE".
+     */
+    public CompetitionFormat(String name, int leaguePhaseMatches, int directQualifiers, int playoffTeams,
+            PlayoffDraw playoffDraw, boolean seededKnockoutDraw, boolean associationProtection, String winnerTitle) {
+        if (leaguePhaseMatches < 1 || directQualifiers < 0 || playoffTeams < 0 || playoffTeams % 2 != 0
+                || directQualifiers + playoffTeams / 2 < 2) {
+            throw new IllegalArgumentException("Invalid format for " + name);
+        }
+        this.name = name;
+        this.leaguePhaseMatches = leaguePhaseMatches;
+        this.directQualifiers = directQualifiers;
+        this.playoffTeams = playoffTeams;
+        this.playoffDraw = playoffDraw;
+        this.seededKnockoutDraw = seededKnockoutDraw;
+        this.associationProtection = associationProtection;
+        this.winnerTitle = winnerTitle;
+    }
+
+    public String getName() { return name; }
+    public int getLeaguePhaseMatches() { return leaguePhaseMatches; }
+    public int getDirectQualifiers() { return directQualifiers; }
+    public int getPlayoffTeams() { return playoffTeams; }
+    public PlayoffDraw getPlayoffDraw() { return playoffDraw; }
+    public boolean isSeededKnockoutDraw() { return seededKnockoutDraw; }
+    public boolean hasAssociationProtection() { return associationProtection; }
+    public String getWinnerTitle() { return winnerTitle; }
+
+    /**
+     * @return Teams the league phase must rank for the knockouts to go ahead.
+     */
+    public int getQualifyingRanks() {
+        return directQualifiers + playoffTeams;
+    }
+
+    /**
+     * @return Teams in the first knockout round: the direct qualifiers plus the
+     *         play-off winners.
+     */
+    public int getKnockoutTeams() {
+        return directQualifiers + playoffTeams / 2;
+    }
+
+    /**
+     * @return The name of a knockout round with the given number of teams.
+     */
+    public static String roundName(int teams) {
+        switch (teams) {
+            case 2: return "Final";
+            case 4: return "Semi-Finals";
+            case 8: return "Quarter-Finals";
+            case 16: return "Round of 16";
+            default: return teams % 2 == 0 ? "Round of " + teams : "Knockout Round (" + teams + " teams)";
+        }
+    }
+
+    /**
+     * @return The short label of a knockout round for the league table, e.g.
+     *         "R16" or "QF".
+     */
+    static String roundLabel(int teams) {
+        switch (teams) {
+            case 2: return "F";
+            case 4: return "SF";
+            case 8: return "QF";
+            default: return "R" + teams;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-memory tally of many simulated European seasons (see
+ * ContinentMonteCarlo): one SeasonAccumulator per domestic league, plus for
+ * every club and every UEFA competition how often it entered and how far it
+ * went. Like SeasonAccumulator, each worker thread owns one, they combine with
+ * merge(), and shards can be written out and merged later.
+ */
+public class ContinentAccumulator implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int COMPETITIONS = 3;
+    private static final int STAGES = EuropeanCompetitionEngine.STAGES;
+
+    private final String[] leagueNames;
+    private final SeasonAccumulator[] leagues;
+    private final String[] teamNames;
+    // [(team * COMPETITIONS + competition) * STAGES + stage] = runs in which the
+    // team reached at least that stage (LEAGUE_PHASE = took part)
+    private final long[] stageCounts;
+    private long runs;
+
+    private transient Map<String, Integer> teamIndex;
+
+    /**
+     * @param leagueNames The leagues in the order simulateContinent plays them.
+     * @param leagueTeams Each league's team names, as for SeasonAccumulator.
+     */
+    public ContinentAccumulator(List<String> leagueNames, List<List<String>> leagueTeams) {
+        this.leagueNames = leagueNames.toArray(new String[0]);
+        this.leagues = new SeasonAccumulator[leagueNames.size()];
+        List<String> allTeams = new ArrayList<>();
+        for (int i = 0; i < leagues.length; i++) {
+            leagues[i] = new SeasonAccumulator(leagueTeams.get(i));
+            allTeams.addAll(leagueTeams.get(i));
+        }
+        this.teamNames = allTeams.toArray(new String[0]);
+        this.stageCounts = new long[teamNames.length * COMPETITIONS * STAGES];
+    }
+
+    /**
+     * @return An empty accumulator shaped like this one, for another worker.
+     */
+    public ContinentAccumulator emptyCopy() {
+        List<List<String>> leagueTeams = new ArrayList<>();
+        for (SeasonAccumulator league : leagues) {
+            List<String> names = new ArrayList<>();
+            for (int t = 0; t < league.getTeamCount(); t++) {
+                names.add(league.getTeamName(t));
+            }
+            leagueTeams.add(names);
+        }
+        return new ContinentAccumulator(Arrays.asList(leagueNames), leagueTeams);
+    }
+
+    /**
+     * Adds the outcome of one simulated European season.
+     */
+    public void record(EuropeanCompetitionSimulator.ContinentResult result) {
+        if (result.domesticLeagues.size() != leagues.length) {
+            throw new IllegalArgumentException("Expected " + leagues.length + " leagues, got "
+                    + result.domesticLeagues.size());
+        }
+        for (int i = 0; i < leagues.length; i++) {
+            leagues[i].record(result.domesticLeagues.get(i));
+        }
+        recordCompetition(result.championsLeague, SeasonAccumulator.UCL);
+        recordCompetition(result.europaLeague, SeasonAccumulator.UEL);
+        recordCompetition(result.europaConferenceLeague, SeasonAccumulator.UECL);
+        runs++;
+    }
+
+    private void recordCompetition(EuropeanCompetitionEngine engine, int competition) {
+        if (engine == null) {
+            return;
+        }
+        for (int p = 0; p < engine.getParticipantCount(); p++) {
+            int base = (indexOf(engine.getParticipant(p).getName()) * COMPETITIONS + competition) * STAGES;
+            for (int stage = 0; stage <= engine.getStageReached(p); stage++) {
+                stageCounts[base + stage]++;
+            }
+        }
+    }
+
+    /**
+     * Adds another accumulator's counts into this one.
+     * @param other An accumulator for the same leagues and teams.
+     */
+    public void merge(ContinentAccumulator other) {
+        if (!Arrays.equals(leagueNames, other.leagueNames) || !Arrays.equals(teamNames, other.teamNames)) {
+            throw new IllegalArgumentException("Cannot merge accumulators for different leagues");
+        }
+        for (int i = 0; i < leagues.length; i++) {
+            leagues[i].merge(other.leagues[i]);
+        }
+        for (int i = 0; i < stageCounts.length; i++) {
+            stageCounts[i] += other.stageCounts[i];
+        }
+        runs += other.runs;
+    }
+
+    // --- QUERIES ---
+
+    public long getRuns() { return runs; }
+    public int getLeagueCount() { return leagues.length; }
+    public String getLeagueName(int league) { return leagueNames[league]; }
+    public SeasonAccumulator getLeague(int league) { return leagues[league]; }
+    public int getTeamCount() { return teamNames.length; }
+    public String getTeamName(int team) { return teamNames[team]; }
+
+    public int indexOf(String teamName) {
+        if (teamIndex == null) {
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < teamNames.length; i++) {
+                index.put(teamNames[i], i);
+            }
+            teamIndex = index;
+        }
+        Integer index = teamIndex.get(teamName);
+        if (index == null) {
+            throw new IllegalArgumentException("Team not tracked by this accumulator: " + teamName);
+        }
+        return index;
+    }
+
+    /**
+     * @param competition SeasonAccumulator.UCL, UEL or UECL.
+     * @param stage       EuropeanCompetitionEngine.LEAGUE_PHASE ... WINNER.
+     * @return Number of runs in which the team reached at least that stage;
+     *         LEAGUE_PHASE counts the runs in which it took part at all.
+     */
+    public long getStageCount(int team, int competition, int stage) {
+        return stageCounts[(team * COMPETITIONS + competition) * STAGES + stage];
+    }
+
+    public double probability(long count) {
+        return runs == 0 ? 0.0 : (double) count / runs;
+    }
+
+    // --- SHARDS ---
+
+    public void writeTo(OutputStream out) throws IOException {
+        ObjectOutputStream objectOut = new ObjectOutputStream(out);
+        objectOut.writeObject(this);
+        objectOut.flush();
+    }
+
+    public static ContinentAccumulator readFrom(InputStream in) throws IOException {
+        try {
+            return (ContinentAccumulator) new ObjectInputStream(in).readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Not a ContinentAccumulator shard", e);
+        }
+    }
+}
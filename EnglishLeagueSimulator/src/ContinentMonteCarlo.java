@@ -0,0 +1,151 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the full European season many times (every domestic league, the
+ * cascade into the UEFA competitions, then the competitions themselves, as
+ * EuropeanCompetitionSimulator does once) and tallies every club's odds of
+ * qualifying for and winning each of them.
+ * Runs are independent: each builds its own leagues and so its own Team
+ * objects, and runs silently inside its own SimulationContext. Workers take
+ * runs in small chunks and record into their own ContinentAccumulator; the
+ * accumulators are merged once at the end.
+ *
+ * Usage: ContinentMonteCarlo [runs] [threads] [seed] [shardFile]
+ *   A seed of "-" (the default) gives unseeded runs.
+ */
+public class ContinentMonteCarlo {
+    private static final long CHUNK_RUNS = 16;
+
+    public static void main(String[] args) throws IOException {
+        long runs = args.length > 0 ? Long.parseLong(args[0]) : 1_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Long seed = args.length > 2 && !args[2].equals("-") ? Long.parseLong(args[2]) : null;
+
+        long start = System.nanoTime();
+        ContinentAccumulator result = run(runs, threads, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("--- Europe: %d simulated seasons on %d threads in %.1fs (%.0f seasons/s) ---%n",
+                result.getRuns(), threads, seconds, result.getRuns() / seconds);
+        printSummary(result, 25, System.out);
+
+        if (args.length > 3) {
+            try (OutputStream out = Files.newOutputStream(Path.of(args[3]))) {
+                result.writeTo(out);
+            }
+            System.out.println("Accumulator shard written to " + args[3]);
+        }
+    }
+
+    /**
+     * Simulates the given number of European seasons across a fixed pool of
+     * threads.
+     * @param seed Base seed (run r uses mix(seed, r)), or null for unseeded runs.
+     */
+    public static ContinentAccumulator run(long runs, int threads, Long seed) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            return run(runs, seed, pool, threads);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * As above, on an existing pool.
+     * @param workers Number of tasks to split the runs across.
+     */
+    public static ContinentAccumulator run(long runs, Long seed, ExecutorService pool, int workers) {
+        ContinentAccumulator template = newAccumulator();
+        AtomicLong nextChunk = new AtomicLong();
+        long chunks = (runs + CHUNK_RUNS - 1) / CHUNK_RUNS;
+        SilentOutput.begin();
+        try {
+            List<Future<ContinentAccumulator>> results = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                results.add(pool.submit(() -> {
+                    ContinentAccumulator accumulator = template.emptyCopy();
+                    long chunk;
+                    while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                        long lastRun = Math.min((chunk + 1) * CHUNK_RUNS, runs);
+                        for (long run = chunk * CHUNK_RUNS; run < lastRun; run++) {
+                            Long runSeed = seed == null ? null : SimulationContext.mix(seed, run);
+                            new SimulationContext(runSeed, SimulationContext.DEFAULT_HOME_ADVANTAGE, false)
+                                    .run(() -> accumulator.record(EuropeanCompetitionSimulator.simulateContinent()));
+                        }
+                    }
+                    return accumulator;
+                }));
+            }
+            for (Future<ContinentAccumulator> result : results) {
+                template.merge(result.get());
+            }
+            return template;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Continent Monte Carlo interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Continent Monte Carlo worker failed", e.getCause());
+        } finally {
+            SilentOutput.end();
+        }
+    }
+
+    /**
+     * @return An empty accumulator for every league simulateContinent plays.
+     */
+    public static ContinentAccumulator newAccumulator() {
+        List<String> leagueNames = List.of(DomesticLeague.ALL_LEAGUES);
+        List<List<String>> leagueTeams = new ArrayList<>();
+        for (String leagueName : leagueNames) {
+            leagueTeams.add(LeagueMonteCarlo.teamNamesOf(() -> DomesticLeague.create(leagueName)));
+        }
+        return new ContinentAccumulator(leagueNames, leagueTeams);
+    }
+
+    /**
+     * Prints the clubs most likely to win the Champions League, with their
+     * odds in all three competitions.
+     */
+    public static void printSummary(ContinentAccumulator result, int clubs, PrintStream out) {
+        out.println("Team                       | UCL    | UCL KO | UCL SF | UCL Win | UEL    | UEL Win | UECL   | UECL Win");
+        out.println("-----------------------------------------------------------------------------------------------------");
+        List<Integer> order = new ArrayList<>();
+        for (int t = 0; t < result.getTeamCount(); t++) {
+            order.add(t);
+        }
+        order.sort(Comparator.comparingLong((Integer t) -> result.getStageCount(t, SeasonAccumulator.UCL,
+                EuropeanCompetitionEngine.WINNER)).reversed()
+                .thenComparing(Comparator.comparingLong((Integer t) -> result.getStageCount(t,
+                        SeasonAccumulator.UCL, EuropeanCompetitionEngine.LEAGUE_PHASE)).reversed()));
+        for (int t : order.subList(0, Math.min(clubs, order.size()))) {
+            out.printf("%-26s | %5.1f%% | %5.1f%% | %5.1f%% | %6.2f%% | %5.1f%% | %6.2f%% | %5.1f%% | %7.2f%%%n",
+                    result.getTeamName(t),
+                    100 * stage(result, t, SeasonAccumulator.UCL, EuropeanCompetitionEngine.LEAGUE_PHASE),
+                    100 * stage(result, t, SeasonAccumulator.UCL, EuropeanCompetitionEngine.ROUND_OF_16),
+                    100 * stage(result, t, SeasonAccumulator.UCL, EuropeanCompetitionEngine.SEMI_FINALS),
+                    100 * stage(result, t, SeasonAccumulator.UCL, EuropeanCompetitionEngine.WINNER),
+                    100 * stage(result, t, SeasonAccumulator.UEL, EuropeanCompetitionEngine.LEAGUE_PHASE),
+                    100 * stage(result, t, SeasonAccumulator.UEL, EuropeanCompetitionEngine.WINNER),
+                    100 * stage(result, t, SeasonAccumulator.UECL, EuropeanCompetitionEngine.LEAGUE_PHASE),
+                    100 * stage(result, t, SeasonAccumulator.UECL, EuropeanCompetitionEngine.WINNER));
+        }
+        out.println("-----------------------------------------------------------------------------------------------------");
+    }
+
+    private static double stage(ContinentAccumulator result, int team, int competition, int stage) {
+        return result.probability(result.getStageCount(team, competition, stage));
+    }
+}
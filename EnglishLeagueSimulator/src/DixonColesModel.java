@@ -0,0 +1,57 @@
+/**
+ * Dixon and Coles' low-score correction to independent Poisson goals: the
+ * probabilities of 0-0, 1-0, 0-1 and 1-1 are multiplied by tau, which moves
+ * probability between the draws and the one-goal wins (rho < 0 makes 0-0 and
+ * 1-1 more likely). The adjustment leaves both sides' marginals Poisson, so
+ * the home goals are drawn exactly as in the standard model and only the away
+ * goals after a 0 or 1 use the corrected conditional.
+ * Tau is clamped at 0 where a large rho and lambda would make it negative.
+ */
+public record DixonColesModel(double rho) implements MatchModel {
+
+    @Override
+    public double probability(double homeLambda, double awayLambda, int homeGoals, int awayGoals) {
+        return MatchModel.poisson(homeLambda, homeGoals) * MatchModel.poisson(awayLambda, awayGoals)
+                * tau(homeGoals, awayGoals, homeLambda, awayLambda);
+    }
+
+    @Override
+    public int sample(double homeLambda, double awayLambda, double homeUniform, double awayUniform) {
+        int homeGoals = homeLambda > 0 ? MatchSimulator.poissonFromUniform(homeLambda, homeUniform) : 0;
+        int awayGoals;
+        if (homeGoals > 1 || awayLambda <= 0) {
+            awayGoals = awayLambda > 0 ? MatchSimulator.poissonFromUniform(awayLambda, awayUniform) : 0;
+        } else {
+            // P(away = k | home) = Pois(k; awayLambda) tau(home, k), normalised
+            // (the normaliser is 1 unless tau was clamped)
+            double p0 = Math.exp(-awayLambda);
+            double p1 = p0 * awayLambda;
+            double t0 = tau(homeGoals, 0, homeLambda, awayLambda);
+            double t1 = tau(homeGoals, 1, homeLambda, awayLambda);
+            double u = awayUniform * (1 + p0 * (t0 - 1) + p1 * (t1 - 1));
+            double probability = p0;
+            double cumulative = p0 * t0;
+            int k = 0;
+            while (u >= cumulative && k < MAX_GOALS) {
+                k++;
+                probability *= awayLambda / k;
+                cumulative += k == 1 ? probability * t1 : probability;
+            }
+            awayGoals = k;
+        }
+        return (homeGoals << 16) | awayGoals;
+    }
+
+    double tau(int homeGoals, int awayGoals, double homeLambda, double awayLambda) {
+        if (homeGoals == 0 && awayGoals == 0) {
+            return Math.max(0, 1 - homeLambda * awayLambda * rho);
+        } else if (homeGoals == 0 && awayGoals == 1) {
+            return Math.max(0, 1 + homeLambda * rho);
+        } else if (homeGoals == 1 && awayGoals == 0) {
+            return Math.max(0, 1 + awayLambda * rho);
+        } else if (homeGoals == 1 && awayGoals == 1) {
+            return Math.max(0, 1 - rho);
+        }
+        return 1.0;
+    }
+}
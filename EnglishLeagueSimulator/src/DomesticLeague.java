@@ -0,0 +1,76 @@
+import java.util.List;
+
+/**
+ * Common view of a domestic league simulator.
+ * Every *_League class implements this so that batch tools (Monte Carlo
+ * runners, the European simulator) can drive a whole season without knowing
+ * the league's cup names or its split/play-off format.
+ */
+public interface DomesticLeague {
+
+    /**
+     * @return The class-style name of the league, e.g. "Premier_League".
+     */
+    String getName();
+
+    /**
+     * @return Number of places at the bottom of the final table that are
+     *         relegated directly (relegation play-off places not included).
+     */
+    int getRelegationPlaces();
+
+    void setupTeams();
+
+    /**
+     * @return The league's live team list, in whatever order the league
+     *         currently holds it. Useful for adjusting teams after setupTeams.
+     */
+    List<Team> getTeams();
+
+    /**
+     * Runs the complete domestic season in the same order as the league's own
+     * main method: cups, fixtures, league phase(s), play-offs and finally the
+     * European spots.
+     */
+    void simulateFullSeason();
+
+    /**
+     * @return The teams in final table order (champion first). Only valid after
+     *         simulateFullSeason.
+     */
+    List<Team> getFinalStandings();
+
+    List<Team> getUclTeams();
+
+    List<Team> getUelTeams();
+
+    List<Team> getUeclTeams();
+
+    /**
+     * Creates a fresh, un-simulated league by its class name.
+     * @param name e.g. "Premier_League" or "LaLiga_League".
+     * @return A new league instance with no teams set up yet.
+     */
+    static DomesticLeague create(String name) {
+        switch (name) {
+            case "Premier_League": return new Premier_League();
+            case "LaLiga_League": return new LaLiga_League();
+            case "Bundesliga_League": return new Bundesliga_League();
+            case "SerieA_League": return new SerieA_League();
+            case "Ligue1_League": return new Ligue1_League();
+            case "Eredivisie_League": return new Eredivisie_League();
+            case "LigaPortugal_League": return new LigaPortugal_League();
+            case "SwissSuperLeague_League": return new SwissSuperLeague_League();
+            case "BelgianProLeague_League": return new BelgianProLeague_League();
+            case "AustrianBundesliga_League": return new AustrianBundesliga_League();
+            case "ScottishPremiership_League": return new ScottishPremiership_League();
+            case "TurkishSuperLig_League": return new TurkishSuperLig_League();
+            default: throw new IllegalArgumentException("Unknown league: " + name);
+        }
+    }
+
+    String[] ALL_LEAGUES = {
+            "Premier_League", "LaLiga_League", "Bundesliga_League", "SerieA_League", "Ligue1_League",
+            "Eredivisie_League", "LigaPortugal_League", "SwissSuperLeague_League", "BelgianProLeague_League",
+            "AustrianBundesliga_League", "ScottishPremiership_League", "TurkishSuperLig_League" };
+}
@@ -16,11 +16,11 @@ import java.util.stream.Collectors;
  * NOTE: This class has been refactored to work with the
  * EuropeanCompetitionSimulator.
  */
-public class Eredivisie_League {
+public class Eredivisie_League implements DomesticLeague {
     private final List<Team> teams;
-    private final List<Match> fixtures;
+    private FixtureBuffer fixtures;
     private final EuropeanMatchSimulator matchSimulator; // Use the European simulator for two-legged ties
-    private final Random random = new Random();
+    private final Random random = SimulationContext.current().newRandom();
 
     private Team knvbBekerWinner;
     private Team ueclPlayoffWinner;
@@ -33,7 +33,6 @@ public class Eredivisie_League {
 
     public Eredivisie_League() {
         this.teams = new ArrayList<>();
-        this.fixtures = new ArrayList<>();
         this.matchSimulator = new EuropeanMatchSimulator();
     }
 
@@ -50,6 +49,42 @@ public class Eredivisie_League {
         return ueclTeams;
     }
 
+    // --- DOMESTIC LEAGUE CONTRACT ---
+    @Override
+    public String getName() {
+        return "Eredivisie_League";
+    }
+
+    @Override
+    public int getRelegationPlaces() {
+        return 2;
+    }
+
+    @Override
+    public List<Team> getTeams() {
+        return this.teams;
+    }
+
+    @Override
+    public void simulateFullSeason() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "KNVB Beker");
+        simulateKNVBBeker();
+        stage = stage.next("Fixtures");
+        generateFixtures();
+        stage = stage.next("Season");
+        simulateSeason();
+        stage = stage.next("UECL playoffs");
+        simulateUECLPlayoffs();
+        stage = stage.next("European spots");
+        determineEuropeanSpots();
+        stage.end();
+    }
+
+    @Override
+    public List<Team> getFinalStandings() {
+        return new ArrayList<>(this.teams);
+    }
+
     public static void main(String[] args) {
         Eredivisie_League eredivisie = new Eredivisie_League();
 
@@ -76,6 +111,7 @@ public class Eredivisie_League {
     }
 
     public void setupTeams() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Setup");
         double initialElo = 1500;
         this.teams.add(new Team("PSV Eindhoven", 92, 84, initialElo + 200)); // Adjusted
         this.teams.add(new Team("Feyenoord", 90, 85, initialElo + 190)); // Adjusted
@@ -96,6 +132,7 @@ public class Eredivisie_League {
         this.teams.add(new Team("FC Volendam", 65, 69, initialElo - 220));
         this.teams.add(new Team("Willem II", 64, 66, initialElo - 240));
         System.out.println("18 Eredivisie teams have been created.");
+        stage.end();
     }
 
     public void simulateKNVBBeker() {
@@ -122,22 +159,27 @@ public class Eredivisie_League {
         List<Team> finalists = simulateKnockoutRound(semiFinalists);
         System.out.println("\n** KNVB Beker Final **");
         this.knvbBekerWinner = matchSimulator.simulateSingleMatch(finalists.get(0), finalists.get(1));
+        this.knvbBekerWinner.reachCupRound(1);
         System.out.println("\nKNVB Beker Winner: " + this.knvbBekerWinner.getName());
     }
 
     private List<Team> simulateKnockoutRound(List<Team> teamsInRound) {
         List<Team> winners = new ArrayList<>();
         Collections.shuffle(teamsInRound, random);
+        for (Team team : teamsInRound) {
+            team.reachCupRound(teamsInRound.size());
+        }
         for (int i = 0; i < teamsInRound.size(); i += 2) {
             winners.add(matchSimulator.simulateSingleMatch(teamsInRound.get(i), teamsInRound.get(i + 1)));
         }
+        for (Team winner : winners) {
+            winner.reachCupRound(winners.size());
+        }
         return winners;
     }
 
     public void simulateUECLPlayoffs() {
-        this.teams.sort(Comparator.comparingInt(Team::getPoints).reversed()
-                .thenComparingInt(Team::getGoalDifference).reversed()
-                .thenComparingInt(Team::getGoalsFor).reversed());
+        StandingsSorter.sort(this.teams);
 
         // Teams from 5th to 8th enter the playoffs
         for (int i = 4; i < 8 && i < this.teams.size(); i++) {
@@ -163,20 +205,12 @@ public class Eredivisie_League {
     }
 
     public void generateFixtures() {
-        for (Team homeTeam : this.teams) {
-            for (Team awayTeam : this.teams) {
-                if (!homeTeam.equals(awayTeam)) {
-                    this.fixtures.add(new Match(homeTeam, awayTeam));
-                }
-            }
-        }
+        this.fixtures = FixtureBuffer.roundRobin(this.teams);
         System.out.println(this.fixtures.size() + " league matches have been scheduled.");
     }
 
     public void simulateSeason() {
-        for (Match match : this.fixtures) {
-            matchSimulator.simulateMatch(match);
-        }
+        matchSimulator.simulateFixtures(this.fixtures);
     }
 
     public void determineEuropeanSpots() {
@@ -214,9 +248,7 @@ public class Eredivisie_League {
 
     public void displayTable() {
         // Final sort of the table
-        this.teams.sort(Comparator.comparingInt(Team::getPoints).reversed()
-                .thenComparingInt(Team::getGoalDifference).reversed()
-                .thenComparingInt(Team::getGoalsFor).reversed());
+        StandingsSorter.sort(this.teams);
 
         System.out.println("Pos | Team                     | P  | W  | D  | L  | GF | GA | GD  | Pts | Elo ");
         System.out.println("------------------------------------------------------------------------------------");
@@ -0,0 +1,482 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runs one season of a European club competition described by a
+ * CompetitionFormat: league phase fixtures, the league phase itself, the
+ * table, play-offs and knockout rounds. The Champions League, Europa League
+ * and Conference League are this engine with their own formats, so all three
+ * share one scheduler and one knockout implementation.
+ *
+ * The scheduler works on team indices with flat arrays (games, home and away
+ * counts, an n x n matrix of pairings already made) rather than maps keyed by
+ * Team. It is greedy: teams are taken in turn from a shuffled queue and each
+ * is paired with the first eligible opponent in random order, balancing home
+ * and away games. If it reaches a point where no remaining team can be
+ * paired, the attempt is thrown away and the schedule is drawn again.
+ */
+public class EuropeanCompetitionEngine {
+    // Furthest stage a participant reached (see getStageReached). Direct
+    // qualifiers to a later first round, e.g. the Europa League quarter-finals,
+    // count as having reached the earlier stages too
+    public static final int LEAGUE_PHASE = 0;
+    public static final int PLAYOFFS = 1;
+    public static final int ROUND_OF_16 = 2;
+    public static final int QUARTER_FINALS = 3;
+    public static final int SEMI_FINALS = 4;
+    public static final int FINAL = 5;
+    public static final int WINNER = 6;
+    public static final int STAGES = 7;
+
+    // Fresh schedule draws before settling for the most complete one found
+    private static final int MAX_SCHEDULE_ATTEMPTS = 100;
+
+    private final CompetitionFormat format;
+    private final String competition;
+    private final Team[] teams;
+    private final EuropeanMatchSimulator matchSimulator;
+    private final Random random = SimulationContext.current().newRandom();
+    private final AssociationCoefficients coefficients = SimulationContext.current().getCoefficients();
+    private List<Team> standings;
+    private Team winner;
+    private final int[] stageReached;
+    // Knockout ties (and the final) each participant played from the last 16 on
+    private final int[] knockoutRoundsPlayed;
+
+    // Scheduler state, indexed by position in teams
+    private final int[] gamesScheduled;
+    private final int[] homeGames;
+    private final int[] awayGames;
+    private final boolean[] paired;
+    private final int[] queue;
+    private final int[] candidates;
+    private final int[] fixtureHome;
+    private final int[] fixtureAway;
+    private int fixtureCount;
+
+    public EuropeanCompetitionEngine(CompetitionFormat format, List<Team> participants) {
+        this.format = format;
+        this.competition = format.getName();
+        this.teams = participants.toArray(new Team[0]);
+        this.matchSimulator = new EuropeanMatchSimulator();
+        this.matchSimulator.setCoefficients(coefficients);
+        // Reset stats for the new competition
+        participants.forEach(Team::resetStats);
+
+        int n = teams.length;
+        this.stageReached = new int[n];
+        this.knockoutRoundsPlayed = new int[n];
+        this.gamesScheduled = new int[n];
+        this.homeGames = new int[n];
+        this.awayGames = new int[n];
+        this.paired = new boolean[n * n];
+        this.queue = new int[n];
+        this.candidates = new int[n];
+        int maxFixtures = n * format.getLeaguePhaseMatches() / 2;
+        this.fixtureHome = new int[maxFixtures];
+        this.fixtureAway = new int[maxFixtures];
+    }
+
+    public CompetitionFormat getFormat() { return format; }
+
+    /**
+     * @return The competition winner, or null if simulate has not run or the
+     *         knockouts were skipped.
+     */
+    public Team getWinner() {
+        return winner;
+    }
+
+    public int getParticipantCount() { return teams.length; }
+    public Team getParticipant(int index) { return teams[index]; }
+
+    /**
+     * @return The furthest stage (LEAGUE_PHASE ... WINNER) the participant
+     *         reached in the last simulate.
+     */
+    public int getStageReached(int index) {
+        return stageReached[index];
+    }
+
+    /**
+     * @return The knockout rounds from the last 16 to the final that the
+     *         participant played in the last simulate; rounds a direct
+     *         qualifier skipped or got a bye in don't count.
+     */
+    public int getKnockoutRoundsPlayed(int index) {
+        return knockoutRoundsPlayed[index];
+    }
+
+    /**
+     * @return The final league phase table, or null if simulate has not run.
+     */
+    public List<Team> getStandings() {
+        return standings;
+    }
+
+    public void simulate() {
+        playCompetition();
+        if (coefficients != null) {
+            coefficients.recordCompetition(this);
+        }
+    }
+
+    private void playCompetition() {
+        String title = competition.toUpperCase();
+        System.out.println("\n\n\n--- UEFA " + title + " SIMULATION STARTING ---");
+        if (teams.length == 0) {
+            System.out.println("No teams qualified for the " + competition + " simulation.");
+            return;
+        }
+
+        // --- 1. League Phase (Swiss model - fixed matches per team) ---
+        System.out.println("\n--- Simulating " + competition + " League Phase (" + format.getLeaguePhaseMatches()
+                + " matches per team) ---");
+        FixtureBuffer fixtures = generateLeaguePhaseFixtures();
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(competition, "League phase");
+        matchSimulator.simulateFixtures(fixtures);
+        stage.end();
+
+        // --- 2. League Phase table ---
+        standings = new ArrayList<>(Arrays.asList(teams));
+        StandingsSorter.sort(standings);
+        System.out.println("\n--- " + title + " - LEAGUE PHASE STANDINGS ---");
+        displayLeagueTable();
+
+        if (standings.size() < format.getQualifyingRanks()) {
+            System.out.println("\nNot enough teams to run the " + competition + " knockout stages (need "
+                    + format.getQualifyingRanks() + " ranked teams). Skipping knockouts.");
+            return;
+        }
+
+        // --- 3. Knockout Play-offs ---
+        int direct = format.getDirectQualifiers();
+        List<Team> directQualifiers = new ArrayList<>(standings.subList(0, direct));
+        List<Team> playoffWinners = new ArrayList<>();
+        if (format.getPlayoffTeams() > 0) {
+            System.out.println("\n\n--- " + title + " KNOCKOUT PLAY-OFFS (Ranks " + (direct + 1) + "-"
+                    + format.getQualifyingRanks() + ") ---");
+            List<Team> playoffTeams = new ArrayList<>(standings.subList(direct, format.getQualifyingRanks()));
+            reach(playoffTeams, PLAYOFFS);
+            playoffWinners = simulatePlayoffs(playoffTeams);
+        }
+
+        // --- 4. Knockout Stage ---
+        System.out.println("\n\n--- " + title + " KNOCKOUT STAGE ---");
+        List<Team> knockoutTeams;
+        if (format.isSeededKnockoutDraw() && direct > 0 && playoffWinners.size() == direct
+                && direct <= KnockoutDraw.MAX_PAIRS) {
+            // Direct qualifiers seeded against the play-off winners, who are at home first
+            knockoutTeams = simulateKnockoutRound(seededPairs(playoffWinners, directQualifiers), false);
+        } else {
+            knockoutTeams = directQualifiers;
+            knockoutTeams.addAll(playoffWinners);
+        }
+        while (knockoutTeams.size() > 2) {
+            knockoutTeams = simulateKnockoutRound(knockoutTeams, true);
+        }
+
+        // --- 5. The Final ---
+        if (knockoutTeams.size() == 2) {
+            System.out.println("\n\n--- " + title + " FINAL ---");
+            reach(knockoutTeams, FINAL);
+            playRound(knockoutTeams);
+            SimulationMetrics.Stage finalStage = SimulationMetrics.begin(competition, "Final");
+            winner = matchSimulator.simulateSingleMatch(knockoutTeams.get(0), knockoutTeams.get(1));
+            finalStage.end();
+        } else {
+            winner = knockoutTeams.get(0);
+        }
+        reach(List.of(winner), WINNER);
+        System.out.println("\n\n<<<<< " + winner.name.toUpperCase() + " ARE " + format.getWinnerTitle() + "! >>>>>");
+    }
+
+    private List<Team> simulatePlayoffs(List<Team> playoffTeams) {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(competition, "Knockout play-offs");
+        List<Team> winners = new ArrayList<>();
+        int ties = playoffTeams.size() / 2;
+        if (format.getPlayoffDraw() == CompetitionFormat.PlayoffDraw.RANDOM) {
+            Collections.shuffle(playoffTeams, random);
+            for (int i = 0; i < ties; i++) {
+                winners.add(matchSimulator.simulateTwoLeggedTie(playoffTeams.get(i), playoffTeams.get(i + ties)));
+            }
+        } else if (format.getPlayoffDraw() == CompetitionFormat.PlayoffDraw.SEEDED && ties <= KnockoutDraw.MAX_PAIRS) {
+            // Better-ranked half seeded; the unseeded side is at home first
+            List<Team> pairs = seededPairs(playoffTeams.subList(ties, playoffTeams.size()),
+                    playoffTeams.subList(0, ties));
+            for (int i = 0; i < pairs.size(); i += 2) {
+                winners.add(matchSimulator.simulateTwoLeggedTie(pairs.get(i), pairs.get(i + 1)));
+            }
+        } else {
+            // Best-ranked against worst-ranked; the better-ranked side is at home first
+            for (int i = 0; i < ties; i++) {
+                winners.add(matchSimulator.simulateTwoLeggedTie(playoffTeams.get(i),
+                        playoffTeams.get(playoffTeams.size() - 1 - i)));
+            }
+        }
+        stage.end();
+        return winners;
+    }
+
+    /**
+     * @return The ties of a seeded draw as [unseeded, seeded, unseeded, seeded,
+     *         ...], i.e. in the order simulateKnockoutRound plays them.
+     */
+    private List<Team> seededPairs(List<Team> unseeded, List<Team> seeded) {
+        int[] partner = KnockoutDraw.draw(seeded, unseeded, format.hasAssociationProtection(), random);
+        List<Team> pairs = new ArrayList<>(seeded.size() * 2);
+        for (int i = 0; i < seeded.size(); i++) {
+            pairs.add(unseeded.get(partner[i]));
+            pairs.add(seeded.get(i));
+        }
+        return pairs;
+    }
+
+    /**
+     * @param openDraw If true the teams are drawn at random; otherwise they
+     *                 are already in tie order (see seededPairs).
+     */
+    private List<Team> simulateKnockoutRound(List<Team> roundTeams, boolean openDraw) {
+        String roundName = CompetitionFormat.roundName(roundTeams.size());
+        System.out.println("\n\n--- " + roundName + " ---");
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(competition, roundName);
+        reach(roundTeams, roundTeams.size() > 8 ? ROUND_OF_16 : roundTeams.size() > 4 ? QUARTER_FINALS : SEMI_FINALS);
+        List<Team> winners = new ArrayList<>();
+        if (openDraw) {
+            Collections.shuffle(roundTeams, random); // Ensure random pairings
+        }
+
+        // Handle odd number of teams: one team gets a bye
+        if (roundTeams.size() % 2 != 0) {
+            Team byeTeam = roundTeams.remove(roundTeams.size() - 1);
+            winners.add(byeTeam);
+            System.out.println(byeTeam.getName() + " receives a bye to the next round.");
+        }
+        if (roundTeams.size() <= 16) {
+            playRound(roundTeams);
+        }
+
+        for (int i = 0; i < roundTeams.size(); i += 2) {
+            winners.add(matchSimulator.simulateTwoLeggedTie(roundTeams.get(i), roundTeams.get(i + 1)));
+        }
+        stage.end();
+        return winners;
+    }
+
+    private void playRound(List<Team> played) {
+        for (Team team : played) {
+            for (int t = 0; t < teams.length; t++) {
+                if (teams[t] == team) {
+                    knockoutRoundsPlayed[t]++;
+                    break;
+                }
+            }
+        }
+    }
+
+    private void reach(List<Team> reached, int stage) {
+        for (Team team : reached) {
+            for (int t = 0; t < teams.length; t++) {
+                if (teams[t] == team) {
+                    stageReached[t] = Math.max(stageReached[t], stage);
+                    break;
+                }
+            }
+        }
+    }
+
+    // --- LEAGUE PHASE SCHEDULER ---
+
+    private FixtureBuffer generateLeaguePhaseFixtures() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(competition, "League phase fixtures");
+        int matchesPerTeam = format.getLeaguePhaseMatches();
+        int retries = 0;
+        int[] bestHome = null;
+        int[] bestAway = null;
+        int[] bestGames = null;
+        int bestCount = -1;
+        for (int attempt = 0; attempt < MAX_SCHEDULE_ATTEMPTS; attempt++) {
+            if (tryScheduleLeaguePhase(matchesPerTeam)) {
+                bestCount = -1;
+                break;
+            }
+            retries++;
+            if (fixtureCount > bestCount) {
+                bestCount = fixtureCount;
+                bestHome = Arrays.copyOf(fixtureHome, fixtureCount);
+                bestAway = Arrays.copyOf(fixtureAway, fixtureCount);
+                bestGames = gamesScheduled.clone();
+            }
+        }
+        if (bestCount >= 0) {
+            // Every attempt got stuck: keep the most complete schedule
+            System.arraycopy(bestHome, 0, fixtureHome, 0, bestCount);
+            System.arraycopy(bestAway, 0, fixtureAway, 0, bestCount);
+            System.arraycopy(bestGames, 0, gamesScheduled, 0, teams.length);
+            fixtureCount = bestCount;
+            for (int t = 0; t < teams.length; t++) {
+                if (gamesScheduled[t] < matchesPerTeam) {
+                    System.out.println("Warning: " + teams[t].getName() + " only scheduled " + gamesScheduled[t]
+                            + " of " + matchesPerTeam + " matches.");
+                }
+            }
+        }
+
+        FixtureBuffer fixtures = new FixtureBuffer(Arrays.asList(teams), fixtureCount);
+        for (int f = 0; f < fixtureCount; f++) {
+            fixtures.add(fixtureHome[f], fixtureAway[f]);
+        }
+        fixtures.shuffle(random); // Randomize order of generated fixtures
+        SimulationMetrics.count(competition, "Scheduler retries", retries);
+        stage.setCount(retries);
+        stage.end();
+        return fixtures;
+    }
+
+    /**
+     * Draws one schedule into fixtureHome / fixtureAway.
+     * @return false if it got stuck before every team had its matches.
+     */
+    private boolean tryScheduleLeaguePhase(int matchesPerTeam) {
+        int n = teams.length;
+        Arrays.fill(gamesScheduled, 0);
+        Arrays.fill(homeGames, 0);
+        Arrays.fill(awayGames, 0);
+        Arrays.fill(paired, false);
+        fixtureCount = 0;
+        for (int t = 0; t < n; t++) {
+            queue[t] = t;
+            candidates[t] = t;
+        }
+        shuffle(queue, n);
+
+        // queue is a ring buffer of the teams still to be given a match
+        int head = 0;
+        int queued = n;
+        int misses = 0; // teams in a row that found no opponent
+        while (queued > 0) {
+            int team = queue[head];
+            head = (head + 1) % n;
+            queued--;
+            if (gamesScheduled[team] >= matchesPerTeam) {
+                continue; // filled up as someone else's opponent
+            }
+            int opponent = findOpponent(team, matchesPerTeam);
+            if (opponent < 0) {
+                queue[(head + queued) % n] = team;
+                queued++;
+                // A whole pass of the queue without a fixture: nobody left can be paired
+                if (++misses >= queued) {
+                    return false;
+                }
+                continue;
+            }
+            misses = 0;
+            addFixture(team, opponent, matchesPerTeam);
+            if (gamesScheduled[team] < matchesPerTeam) {
+                queue[(head + queued) % n] = team;
+                queued++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return A random opponent team has not been paired with and that still
+     *         needs matches, or -1 if there is none. Shuffles candidates only
+     *         as far as it needs to look.
+     */
+    private int findOpponent(int team, int matchesPerTeam) {
+        int n = teams.length;
+        for (int i = 0; i < n; i++) {
+            int j = i + random.nextInt(n - i);
+            int opponent = candidates[j];
+            candidates[j] = candidates[i];
+            candidates[i] = opponent;
+            if (opponent != team && !paired[team * n + opponent] && gamesScheduled[opponent] < matchesPerTeam) {
+                return opponent;
+            }
+        }
+        return -1;
+    }
+
+    private void addFixture(int team, int opponent, int matchesPerTeam) {
+        int desiredHomeGames = matchesPerTeam / 2;
+        int desiredAwayGames = matchesPerTeam - desiredHomeGames;
+        boolean teamNeedsHome = homeGames[team] < desiredHomeGames;
+        boolean teamNeedsAway = awayGames[team] < desiredAwayGames;
+        boolean opponentNeedsHome = homeGames[opponent] < desiredHomeGames;
+        boolean opponentNeedsAway = awayGames[opponent] < desiredAwayGames;
+
+        // Prioritize balancing home/away games for both teams
+        boolean teamAtHome;
+        if (teamNeedsHome && opponentNeedsAway) {
+            teamAtHome = true;
+        } else if (opponentNeedsHome && teamNeedsAway) {
+            teamAtHome = false;
+        } else if (teamNeedsHome || opponentNeedsAway) {
+            teamAtHome = true;
+        } else if (opponentNeedsHome || teamNeedsAway) {
+            teamAtHome = false;
+        } else {
+            teamAtHome = random.nextBoolean();
+        }
+        int home = teamAtHome ? team : opponent;
+        int away = teamAtHome ? opponent : team;
+
+        fixtureHome[fixtureCount] = home;
+        fixtureAway[fixtureCount] = away;
+        fixtureCount++;
+        int n = teams.length;
+        paired[team * n + opponent] = true;
+        paired[opponent * n + team] = true;
+        gamesScheduled[team]++;
+        gamesScheduled[opponent]++;
+        homeGames[home]++;
+        awayGames[away]++;
+    }
+
+    private void shuffle(int[] values, int length) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    private void displayLeagueTable() {
+        int direct = format.getDirectQualifiers();
+        String directLabel = CompetitionFormat.roundLabel(format.getKnockoutTeams());
+        System.out.println("Pos | Team                     | P  | W  | D  | L  | GF | GA | GD  | Pts | Qualification");
+        System.out.println("-----------------------------------------------------------------------------------------");
+        int pos = 1;
+        for (Team team : standings) {
+            String qualificationMarker = "";
+            if (pos <= direct) {
+                qualificationMarker = " [" + directLabel + "]"; // Directly qualifies for the knockouts
+            } else if (pos <= format.getQualifyingRanks()) {
+                qualificationMarker = " [PO]"; // Qualifies for Knockout Play-offs
+            }
+
+            System.out.printf("%-3d | %-26s | %-2d | %-2d | %-2d | %-2d | %-2d | %-2d | %-3d | %-3d%s%n",
+                    pos++,
+                    team.name,
+                    team.gamesPlayed,
+                    team.wins,
+                    team.draws,
+                    team.losses,
+                    team.goalsFor,
+                    team.goalsAgainst,
+                    team.goalDifference,
+                    team.points,
+                    qualificationMarker);
+        }
+        System.out.println("-----------------------------------------------------------------------------------------");
+        System.out.println("Legend: [" + directLabel + "] Qualifies directly for the "
+                + CompetitionFormat.roundName(format.getKnockoutTeams()) + ", [PO] Qualifies for Knockout Play-offs");
+    }
+}
@@ -1,3 +1,4 @@
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -14,104 +15,62 @@ import java.util.function.Consumer; // Added for functional interface
  */
 public class EuropeanCompetitionSimulator {
 
+    /**
+     * Everything one European season produced. A competition is null if no
+     * teams qualified for it. The competitions play copies of the qualified
+     * clubs, so the domestic leagues' teams keep their domestic records.
+     */
+    public static class ContinentResult {
+        public final List<DomesticLeague> domesticLeagues;
+        public final ChampionsLeague championsLeague;
+        public final EuropaLeague europaLeague;
+        public final EuropaConferenceLeague europaConferenceLeague;
+
+        ContinentResult(List<DomesticLeague> domesticLeagues, ChampionsLeague championsLeague,
+                EuropaLeague europaLeague, EuropaConferenceLeague europaConferenceLeague) {
+            this.domesticLeagues = domesticLeagues;
+            this.championsLeague = championsLeague;
+            this.europaLeague = europaLeague;
+            this.europaConferenceLeague = europaConferenceLeague;
+        }
+    }
+
+    /**
+     * Usage: EuropeanCompetitionSimulator [seasons]
+     *   With more than one season, runs them back to back with association
+     *   coefficients carried over (see simulateSeasons).
+     */
     public static void main(String[] args) {
+        int seasons = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        if (seasons > 1) {
+            simulateSeasons(seasons, AssociationCoefficients.forAllLeagues(), System.out);
+            return;
+        }
+        simulateContinent();
+        if (SimulationMetrics.ENABLED) {
+            System.out.println("\n--- STAGE TIMINGS ---");
+            System.out.print(SimulationMetrics.summary());
+        }
+    }
+
+    /**
+     * Simulates a full season: every domestic league, then the three European
+     * competitions with the teams that qualified.
+     */
+    public static ContinentResult simulateContinent() {
         // --- 1. SIMULATE ALL DOMESTIC LEAGUES ---
         System.out.println("--- STARTING DOMESTIC LEAGUE SIMULATIONS ---");
 
-        Premier_League premierLeague = new Premier_League();
-        premierLeague.setupTeams();
-        premierLeague.simulateLeagueCup();
-        premierLeague.simulateFACup();
-        premierLeague.generateFixtures();
-        premierLeague.simulateSeason();
-        premierLeague.determineEuropeanSpots();
-
-        LaLiga_League laLiga = new LaLiga_League();
-        laLiga.setupTeams();
-        laLiga.simulateCopaDelRey();
-        laLiga.generateFixtures();
-        laLiga.simulateSeason();
-        laLiga.determineEuropeanSpots();
-
-        Bundesliga_League bundesliga = new Bundesliga_League();
-        bundesliga.setupTeams();
-        bundesliga.simulateDFBPokal();
-        bundesliga.generateFixtures();
-        bundesliga.simulateSeason();
-        bundesliga.determineEuropeanSpots();
-
-        SerieA_League serieA = new SerieA_League();
-        serieA.setupTeams();
-        serieA.simulateCoppaItalia();
-        serieA.generateFixtures();
-        serieA.simulateSeason();
-        serieA.checkForAndSimulatePlayoffs(); // This needs to be called before determineEuropeanSpots for Serie A
-        serieA.determineEuropeanSpots();
-
-        Ligue1_League ligue1 = new Ligue1_League();
-        ligue1.setupTeams();
-        ligue1.simulateCoupeDeFrance();
-        ligue1.generateFixtures();
-        ligue1.simulateSeason();
-        ligue1.determineEuropeanSpots();
-
-        Eredivisie_League eredivisie = new Eredivisie_League();
-        eredivisie.setupTeams();
-        eredivisie.simulateKNVBBeker();
-        eredivisie.generateFixtures();
-        eredivisie.simulateSeason();
-        eredivisie.simulateUECLPlayoffs(); // This needs to be called before determineEuropeanSpots for Eredivisie
-        eredivisie.determineEuropeanSpots();
-
-        LigaPortugal_League ligaPortugal = new LigaPortugal_League();
-        ligaPortugal.setupTeams();
-        ligaPortugal.simulateTacaDePortugal();
-        ligaPortugal.generateFixtures();
-        ligaPortugal.simulateSeason();
-        ligaPortugal.determineEuropeanSpots();
-
-        SwissSuperLeague_League swissSuperLeague = new SwissSuperLeague_League(); // Corrected class name
-        swissSuperLeague.setupTeams();
-        swissSuperLeague.simulateSwissCup();
-        swissSuperLeague.generatePhase1Fixtures();
-        swissSuperLeague.simulatePhase1();
-        swissSuperLeague.generatePhase2Fixtures();
-        swissSuperLeague.simulatePhase2();
-        swissSuperLeague.determineEuropeanSpots();
-
-        BelgianProLeague_League belgianProLeague = new BelgianProLeague_League();
-        belgianProLeague.setupTeams();
-        belgianProLeague.simulateBelgianCup();
-        belgianProLeague.generateRegularSeasonFixtures();
-        belgianProLeague.simulateRegularSeason();
-        belgianProLeague.performPlayoffSplit();
-        belgianProLeague.simulatePlayoffs();
-        belgianProLeague.determineEuropeanSpots();
-
-        AustrianBundesliga_League austrianBundesliga = new AustrianBundesliga_League();
-        austrianBundesliga.setupTeams();
-        austrianBundesliga.simulateOFBCup();
-        austrianBundesliga.generateRegularSeasonFixtures();
-        austrianBundesliga.simulateRegularSeason();
-        austrianBundesliga.performPlayoffSplit();
-        austrianBundesliga.simulatePlayoffs();
-        austrianBundesliga.determineEuropeanSpots();
-
-        ScottishPremiership_League scottishPremiership = new ScottishPremiership_League();
-        scottishPremiership.setupTeams();
-        scottishPremiership.simulateScottishCup();
-        scottishPremiership.generatePhase1Fixtures();
-        scottishPremiership.simulatePhase1();
-        scottishPremiership.generatePhase2Fixtures();
-        scottishPremiership.simulatePhase2();
-        scottishPremiership.determineEuropeanSpots();
-
-        TurkishSuperLig_League turkishSuperLig = new TurkishSuperLig_League();
-        turkishSuperLig.setupTeams();
-        turkishSuperLig.simulateTurkishCup();
-        turkishSuperLig.generateFixtures();
-        turkishSuperLig.simulateSeason();
-        turkishSuperLig.determineEuropeanSpots();
+        List<DomesticLeague> domesticLeagues = new ArrayList<>();
+        for (String leagueName : DomesticLeague.ALL_LEAGUES) {
+            DomesticLeague league = DomesticLeague.create(leagueName);
+            league.setupTeams();
+            for (Team team : league.getTeams()) {
+                team.setAssociation(league.getName());
+            }
+            league.simulateFullSeason();
+            domesticLeagues.add(league);
+        }
 
         // --- 2. DISTRIBUTE TEAMS TO EUROPEAN COMPETITIONS BASED ON MERIT (CASCADING
         // QUALIFICATION) ---
@@ -119,54 +78,103 @@ public class EuropeanCompetitionSimulator {
         List<Team> finalUelTeams = new ArrayList<>();
         List<Team> finalUeclTeams = new ArrayList<>();
 
-        distributeEuropeanTeams(
-                premierLeague, laLiga, bundesliga, serieA, ligue1, eredivisie,
-                ligaPortugal, swissSuperLeague, belgianProLeague, austrianBundesliga,
-                scottishPremiership, turkishSuperLig,
-                finalUclTeams, finalUelTeams, finalUeclTeams);
+        SimulationMetrics.Stage stage = SimulationMetrics.begin("Europe", "Distribute teams");
+        distributeEuropeanTeams(domesticLeagues, finalUclTeams, finalUelTeams, finalUeclTeams);
+        stage.end();
+
+        // The competitions reset and replay their entrants' stats, so they get
+        // copies and the domestic tables stay as the leagues finished them
+        List<Team> uclEntrants = entrants(finalUclTeams);
+        List<Team> uelEntrants = entrants(finalUelTeams);
+        List<Team> ueclEntrants = entrants(finalUeclTeams);
 
-        System.out.println("Total teams qualified for Champions League: " + finalUclTeams.size());
-        finalUclTeams.forEach(t -> System.out.println("- " + t.name));
-        System.out.println("\nTotal teams qualified for Europa League: " + finalUelTeams.size());
-        finalUelTeams.forEach(t -> System.out.println("- " + t.name));
-        System.out.println("\nTotal teams qualified for Europa Conference League: " + finalUeclTeams.size());
-        finalUeclTeams.forEach(t -> System.out.println("- " + t.name));
+        System.out.println("Total teams qualified for Champions League: " + uclEntrants.size());
+        uclEntrants.forEach(t -> System.out.println("- " + t.name));
+        System.out.println("\nTotal teams qualified for Europa League: " + uelEntrants.size());
+        uelEntrants.forEach(t -> System.out.println("- " + t.name));
+        System.out.println("\nTotal teams qualified for Europa Conference League: " + ueclEntrants.size());
+        ueclEntrants.forEach(t -> System.out.println("- " + t.name));
 
         // --- 3. SIMULATE THE CHAMPIONS LEAGUE ---
-        if (!finalUclTeams.isEmpty()) {
-            ChampionsLeague championsLeague = new ChampionsLeague(finalUclTeams);
+        ChampionsLeague championsLeague = null;
+        if (!uclEntrants.isEmpty()) {
+            championsLeague = new ChampionsLeague(uclEntrants);
             championsLeague.simulate();
         } else {
             System.out.println("\nNo teams qualified for the Champions League simulation.");
         }
 
         // --- 4. SIMULATE THE EUROPA LEAGUE ---
-        if (!finalUelTeams.isEmpty()) {
-            EuropaLeague europaLeague = new EuropaLeague(finalUelTeams);
+        EuropaLeague europaLeague = null;
+        if (!uelEntrants.isEmpty()) {
+            europaLeague = new EuropaLeague(uelEntrants);
             europaLeague.simulate();
         } else {
             System.out.println("\nNo teams qualified for the Europa League simulation.");
         }
 
         // --- 5. SIMULATE THE EUROPA CONFERENCE LEAGUE ---
-        if (!finalUeclTeams.isEmpty()) {
-            EuropaConferenceLeague europaConferenceLeague = new EuropaConferenceLeague(finalUeclTeams);
+        EuropaConferenceLeague europaConferenceLeague = null;
+        if (!ueclEntrants.isEmpty()) {
+            europaConferenceLeague = new EuropaConferenceLeague(ueclEntrants);
             europaConferenceLeague.simulate();
         } else {
             System.out.println("\nNo teams qualified for the Europa Conference League simulation.");
         }
 
         System.out.println("\n\n--- FULL EUROPEAN SIMULATION COMPLETE ---");
+        return new ContinentResult(domesticLeagues, championsLeague, europaLeague, europaConferenceLeague);
+    }
+
+    /**
+     * Simulates consecutive seasons that share one set of association
+     * coefficients: each season's European results feed the coefficients,
+     * and the updated ranking sets the next season's European places. Clubs
+     * start every season afresh; only the coefficients carry over. Match
+     * commentary is silenced and a line per season is printed instead.
+     */
+    public static void simulateSeasons(int seasons, AssociationCoefficients coefficients, PrintStream out) {
+        for (int season = 1; season <= seasons; season++) {
+            ContinentResult[] result = new ContinentResult[1];
+            SilentOutput.begin();
+            try {
+                new SimulationContext().withCoefficients(coefficients)
+                        .run(() -> result[0] = simulateContinent());
+            } finally {
+                SilentOutput.end();
+            }
+            coefficients.closeSeason();
+            out.printf("Season %d: UCL %s, UEL %s, UECL %s; top association %s%n", season,
+                    winnerOf(result[0].championsLeague), winnerOf(result[0].europaLeague),
+                    winnerOf(result[0].europaConferenceLeague),
+                    coefficients.getAssociation(coefficients.getRanked(0)));
+        }
+        out.println("\n--- ASSOCIATION COEFFICIENTS AFTER " + seasons + " SEASONS ---");
+        coefficients.printTable(out);
     }
 
-    // Helper method to distribute teams to European competitions based on merit
-    // (Elo rating)
-    private static void distributeEuropeanTeams(
-            Premier_League premierLeague, LaLiga_League laLiga, Bundesliga_League bundesliga,
-            SerieA_League serieA, Ligue1_League ligue1, Eredivisie_League eredivisie,
-            LigaPortugal_League ligaPortugal, SwissSuperLeague_League swissSuperLeague,
-            BelgianProLeague_League belgianProLeague, AustrianBundesliga_League austrianBundesliga,
-            ScottishPremiership_League scottishPremiership, TurkishSuperLig_League turkishSuperLig,
+    // Fresh copies of the qualified clubs with the ratings they finished the
+    // domestic season on
+    private static List<Team> entrants(List<Team> qualified) {
+        List<Team> entrants = new ArrayList<>(qualified.size());
+        for (Team team : qualified) {
+            Team entrant = new Team(team.getName(), team.getAttackStrength(), team.getDefenceStrength(),
+                    team.getEloRating());
+            entrant.setAssociation(team.getAssociation());
+            entrants.add(entrant);
+        }
+        return entrants;
+    }
+
+    private static String winnerOf(EuropeanCompetitionEngine competition) {
+        return competition == null || competition.getWinner() == null ? "-" : competition.getWinner().getName();
+    }
+
+    // Helper method to distribute teams to European competitions based on merit.
+    // With association coefficients in the context, each association first
+    // fills the places its ranking gives it with its own qualifiers, in domestic
+    // order; whatever is left is filled by Elo rating as before
+    private static void distributeEuropeanTeams(List<DomesticLeague> domesticLeagues,
             List<Team> finalUclTeams, List<Team> finalUelTeams, List<Team> finalUeclTeams) {
 
         Set<Team> allEuropeanParticipantsSet = new HashSet<>(); // Use a Set to ensure uniqueness
@@ -183,53 +191,20 @@ public class EuropeanCompetitionSimulator {
 
         // Add all teams that initially qualified for ANY European competition from
         // domestic leagues
-        addTeamsToPotentialPool.accept(premierLeague.getUclTeams());
-        addTeamsToPotentialPool.accept(premierLeague.getUelTeams());
-        addTeamsToPotentialPool.accept(premierLeague.getUeclTeams());
-
-        addTeamsToPotentialPool.accept(laLiga.getUclTeams());
-        addTeamsToPotentialPool.accept(laLiga.getUelTeams());
-        addTeamsToPotentialPool.accept(laLiga.getUeclTeams());
-
-        addTeamsToPotentialPool.accept(bundesliga.getUclTeams());
-        addTeamsToPotentialPool.accept(bundesliga.getUelTeams());
-        addTeamsToPotentialPool.accept(bundesliga.getUeclTeams());
-
-        addTeamsToPotentialPool.accept(serieA.getUclTeams());
-        addTeamsToPotentialPool.accept(serieA.getUelTeams());
-        addTeamsToPotentialPool.accept(serieA.getUeclTeams());
-
-        addTeamsToPotentialPool.accept(ligue1.getUclTeams());
-        addTeamsToPotentialPool.accept(ligue1.getUelTeams());
-        addTeamsToPotentialPool.accept(ligue1.getUeclTeams());
-
-        addTeamsToPotentialPool.accept(eredivisie.getUclTeams());
-        addTeamsToPotentialPool.accept(eredivisie.getUelTeams());
-        addTeamsToPotentialPool.accept(eredivisie.getUeclTeams());
-
-        addTeamsToPotentialPool.accept(ligaPortugal.getUclTeams());
-        addTeamsToPotentialPool.accept(ligaPortugal.getUelTeams());
-        addTeamsToPotentialPool.accept(ligaPortugal.getUeclTeams());
-
-        addTeamsToPotentialPool.accept(swissSuperLeague.getUclTeams());
-        addTeamsToPotentialPool.accept(swissSuperLeague.getUelTeams());
-        addTeamsToPotentialPool.accept(swissSuperLeague.getUeclTeams());
-
-        addTeamsToPotentialPool.accept(belgianProLeague.getUclTeams());
-        addTeamsToPotentialPool.accept(belgianProLeague.getUelTeams());
-        addTeamsToPotentialPool.accept(belgianProLeague.getUeclTeams());
-
-        addTeamsToPotentialPool.accept(austrianBundesliga.getUclTeams());
-        addTeamsToPotentialPool.accept(austrianBundesliga.getUelTeams());
-        addTeamsToPotentialPool.accept(austrianBundesliga.getUeclTeams());
-
-        addTeamsToPotentialPool.accept(scottishPremiership.getUclTeams());
-        addTeamsToPotentialPool.accept(scottishPremiership.getUelTeams());
-        addTeamsToPotentialPool.accept(scottishPremiership.getUeclTeams());
+        for (DomesticLeague league : domesticLeagues) {
+            addTeamsToPotentialPool.accept(league.getUclTeams());
+            addTeamsToPotentialPool.accept(league.getUelTeams());
+            addTeamsToPotentialPool.accept(league.getUeclTeams());
+        }
 
-        addTeamsToPotentialPool.accept(turkishSuperLig.getUclTeams());
-        addTeamsToPotentialPool.accept(turkishSuperLig.getUelTeams());
-        addTeamsToPotentialPool.accept(turkishSuperLig.getUeclTeams());
+        AssociationCoefficients coefficients = SimulationContext.current().getCoefficients();
+        if (coefficients != null) {
+            allocateByCoefficient(coefficients, domesticLeagues,
+                    List.of(finalUclTeams, finalUelTeams, finalUeclTeams));
+            potentialEuropeanTeams.removeAll(finalUclTeams);
+            potentialEuropeanTeams.removeAll(finalUelTeams);
+            potentialEuropeanTeams.removeAll(finalUeclTeams);
+        }
 
         // Sort all potential European teams by Elo rating (highest Elo gets priority
         // for higher competition)
@@ -261,4 +236,38 @@ public class EuropeanCompetitionSimulator {
         System.out.println("DEBUG: Final UECL teams allocated: " + finalUeclTeams.size());
         System.out.println("------------------------------------------");
     }
-}
\ No newline at end of file
+
+    // Association places by coefficient rank: UCL first, then UEL, then UECL.
+    // competitions is indexed by SeasonAccumulator.UCL, UEL and UECL
+    private static void allocateByCoefficient(AssociationCoefficients coefficients,
+            List<DomesticLeague> domesticLeagues, List<List<Team>> competitions) {
+        Set<Team> placed = new HashSet<>();
+        for (int competition = 0; competition < competitions.size(); competition++) {
+            for (int rank = 0; rank < coefficients.getAssociationCount(); rank++) {
+                String association = coefficients.getAssociation(coefficients.getRanked(rank));
+                DomesticLeague league = null;
+                for (DomesticLeague candidate : domesticLeagues) {
+                    if (candidate.getName().equals(association)) {
+                        league = candidate;
+                    }
+                }
+                if (league == null) {
+                    continue;
+                }
+                int places = coefficients.getPlaces(association, competition);
+                List<Team> nominees = new ArrayList<>(league.getUclTeams());
+                nominees.addAll(league.getUelTeams());
+                nominees.addAll(league.getUeclTeams());
+                for (Team team : nominees) {
+                    if (places == 0) {
+                        break;
+                    }
+                    if (placed.add(team)) {
+                        competitions.get(competition).add(team);
+                        places--;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,18 +1,38 @@
 import java.util.Random;
 
 public class EuropeanMatchSimulator extends MatchSimulator {
+    // Set by EuropeanCompetitionEngine; domestic play-offs that use this
+    // class leave it null
+    private AssociationCoefficients coefficients;
+
+    void setCoefficients(AssociationCoefficients coefficients) {
+        this.coefficients = coefficients;
+    }
+
+    @Override
+    protected void recordResult(Team homeTeam, Team awayTeam, int homeGoals, int awayGoals) {
+        super.recordResult(homeTeam, awayTeam, homeGoals, awayGoals);
+        if (coefficients != null) {
+            coefficients.recordMatch(homeTeam, awayTeam, homeGoals, awayGoals);
+        }
+    }
 
     public Team simulateTwoLeggedTie(Team team1, Team team2) {
+        beginMatch(team1, team2);
         System.out.printf("\n%s vs %s\n", team1.name, team2.name);
         // Leg 1: team1 is home
-        int leg1_team1_goals = getPoisson(calculateLambda(team1, team2, 1.25));
-        int leg1_team2_goals = getPoisson(calculateLambda(team2, team1, 1.0));
+        int leg1 = sampleScore(team1, team2, homeAdvantage);
+        int leg1_team1_goals = leg1 >>> 16;
+        int leg1_team2_goals = leg1 & 0xFFFF;
         System.out.printf("Leg 1: %s %d - %d %s\n", team1.name, leg1_team1_goals, leg1_team2_goals, team2.name);
+        recordResult(team1, team2, leg1_team1_goals, leg1_team2_goals);
 
         // Leg 2: team2 is home
-        int leg2_team2_goals = getPoisson(calculateLambda(team2, team1, 1.25));
-        int leg2_team1_goals = getPoisson(calculateLambda(team1, team2, 1.0));
+        int leg2 = sampleScore(team2, team1, homeAdvantage);
+        int leg2_team2_goals = leg2 >>> 16;
+        int leg2_team1_goals = leg2 & 0xFFFF;
         System.out.printf("Leg 2: %s %d - %d %s\n", team2.name, leg2_team2_goals, leg2_team1_goals, team1.name);
+        recordResult(team2, team1, leg2_team2_goals, leg2_team1_goals);
 
         int totalGoalsTeam1 = leg1_team1_goals + leg2_team1_goals;
         int totalGoalsTeam2 = leg1_team2_goals + leg2_team2_goals;
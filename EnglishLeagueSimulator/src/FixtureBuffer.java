@@ -0,0 +1,205 @@
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A season's fixtures and results packed into one long per match, in place of
+ * a list of Match objects. Teams are stored as their index in a fixed roster
+ * (the league's teams when the buffer was made, so later table sorts don't
+ * affect it):
+ *
+ *   bits 48-63 home team, 32-47 away team, 16-31 home goals, 0-15 away goals
+ *
+ * A goals field of 0xFFFF means the match has not been played. A 20-team
+ * season is a single 380-element array instead of 380 objects, and the
+ * results can be cleared, copied or saved with System.arraycopy (see reset,
+ * copyResultsFrom and snapshot), e.g. to restart the same fixture list for
+ * the next run. toMatch gives a Match view for code that still takes one.
+ */
+public final class FixtureBuffer {
+    private static final long NOT_PLAYED = 0xFFFFL;
+    private static final long UNPLAYED_RESULT = (NOT_PLAYED << 16) | NOT_PLAYED;
+    private static final long RESULT_MASK = 0xFFFFFFFFL;
+    private static final Map<Integer, long[]> ROUND_ROBINS = new ConcurrentHashMap<>();
+
+    private final Team[] roster;
+    private final long[] records;
+    private int size;
+
+    /**
+     * @param roster   The teams that can appear in the buffer; at most 65,535.
+     * @param capacity Most fixtures the buffer will hold.
+     */
+    public FixtureBuffer(List<Team> roster, int capacity) {
+        if (roster.size() >= NOT_PLAYED) {
+            throw new IllegalArgumentException("Too many teams for a fixture buffer: " + roster.size());
+        }
+        this.roster = roster.toArray(new Team[0]);
+        this.records = new long[capacity];
+    }
+
+    /**
+     * @return Every team at home to every other team once, in roster order
+     *         (the order the leagues have always scheduled their fixtures in).
+     */
+    public static FixtureBuffer roundRobin(List<Team> teams) {
+        int n = teams.size();
+        FixtureBuffer buffer = new FixtureBuffer(teams, n * (n - 1));
+        buffer.restore(ROUND_ROBINS.computeIfAbsent(n, FixtureBuffer::packRoundRobin));
+        return buffer;
+    }
+
+    // The packed round robin depends only on the team count, so every run of
+    // every league that size copies the same unplayed template
+    private static long[] packRoundRobin(int teamCount) {
+        long[] fixtures = new long[teamCount * (teamCount - 1)];
+        int size = 0;
+        for (int home = 0; home < teamCount; home++) {
+            for (int away = 0; away < teamCount; away++) {
+                if (home != away) {
+                    fixtures[size++] = ((long) home << 48) | ((long) away << 32) | UNPLAYED_RESULT;
+                }
+            }
+        }
+        return fixtures;
+    }
+
+    /**
+     * Adds an unplayed fixture between two roster positions.
+     * @return The fixture's index.
+     */
+    public int add(int homeId, int awayId) {
+        if (size == records.length) {
+            throw new IllegalStateException("Fixture buffer is full (" + size + " fixtures)");
+        }
+        records[size] = ((long) homeId << 48) | ((long) awayId << 32) | UNPLAYED_RESULT;
+        return size++;
+    }
+
+    /**
+     * Adds an unplayed fixture between two teams on the roster.
+     * @return The fixture's index.
+     */
+    public int add(Team homeTeam, Team awayTeam) {
+        return add(idOf(homeTeam), idOf(awayTeam));
+    }
+
+    private int idOf(Team team) {
+        for (int id = 0; id < roster.length; id++) {
+            if (roster[id] == team) {
+                return id;
+            }
+        }
+        throw new IllegalArgumentException(team.getName() + " is not on this fixture buffer's roster");
+    }
+
+    /**
+     * Removes every fixture.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Shuffles the fixtures with the same swaps Collections.shuffle would
+     * make, so a seeded run plays them in the same order as a shuffled list.
+     */
+    public void shuffle(Random random) {
+        for (int i = size; i > 1; i--) {
+            int j = random.nextInt(i);
+            long swap = records[i - 1];
+            records[i - 1] = records[j];
+            records[j] = swap;
+        }
+    }
+
+    public int size() { return size; }
+    public int getTeamCount() { return roster.length; }
+    public Team getTeam(int id) { return roster[id]; }
+
+    public int getHomeId(int fixture) { return (int) (records[fixture] >>> 48); }
+    public int getAwayId(int fixture) { return (int) (records[fixture] >>> 32) & 0xFFFF; }
+    public Team getHomeTeam(int fixture) { return roster[getHomeId(fixture)]; }
+    public Team getAwayTeam(int fixture) { return roster[getAwayId(fixture)]; }
+
+    public boolean isPlayed(int fixture) {
+        return (records[fixture] & NOT_PLAYED) != NOT_PLAYED;
+    }
+
+    /**
+     * @return The home side's goals, or -1 if the match has not been played.
+     */
+    public int getHomeGoals(int fixture) {
+        return isPlayed(fixture) ? (int) (records[fixture] >>> 16) & 0xFFFF : -1;
+    }
+
+    /**
+     * @return The away side's goals, or -1 if the match has not been played.
+     */
+    public int getAwayGoals(int fixture) {
+        return isPlayed(fixture) ? (int) records[fixture] & 0xFFFF : -1;
+    }
+
+    public void setResult(int fixture, int homeGoals, int awayGoals) {
+        if (homeGoals < 0 || homeGoals >= NOT_PLAYED || awayGoals < 0 || awayGoals >= NOT_PLAYED) {
+            throw new IllegalArgumentException("Invalid score " + homeGoals + "-" + awayGoals);
+        }
+        records[fixture] = (records[fixture] & ~RESULT_MASK) | ((long) homeGoals << 16) | awayGoals;
+    }
+
+    /**
+     * @return A Match for the fixture, scored if it has been played. Changes
+     *         to the Match are not written back.
+     */
+    public Match toMatch(int fixture) {
+        Match match = new Match(getHomeTeam(fixture), getAwayTeam(fixture));
+        match.homeGoals = getHomeGoals(fixture);
+        match.awayGoals = getAwayGoals(fixture);
+        return match;
+    }
+
+    // --- RESETTING AND COPYING ---
+
+    /**
+     * Marks every fixture unplayed, keeping the fixture list.
+     */
+    public void reset() {
+        for (int i = 0; i < size; i++) {
+            records[i] |= UNPLAYED_RESULT;
+        }
+    }
+
+    /**
+     * @return A copy of the packed fixtures and results, for restore.
+     */
+    public long[] snapshot() {
+        long[] copy = new long[size];
+        System.arraycopy(records, 0, copy, 0, size);
+        return copy;
+    }
+
+    /**
+     * Replaces the fixtures and results with a snapshot of a buffer with the
+     * same roster.
+     */
+    public void restore(long[] snapshot) {
+        if (snapshot.length > records.length) {
+            throw new IllegalArgumentException("Snapshot of " + snapshot.length + " fixtures does not fit");
+        }
+        System.arraycopy(snapshot, 0, records, 0, snapshot.length);
+        size = snapshot.length;
+    }
+
+    /**
+     * Copies another buffer's fixtures and results into this one. The
+     * buffers must share a roster, e.g. two runs of the same league.
+     */
+    public void copyResultsFrom(FixtureBuffer other) {
+        if (other.roster.length != roster.length || other.size > records.length) {
+            throw new IllegalArgumentException("Fixture buffers have different rosters or sizes");
+        }
+        System.arraycopy(other.records, 0, records, 0, other.size);
+        size = other.size;
+    }
+}
@@ -0,0 +1,187 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Estimates the probability of rare season outcomes by importance sampling.
+ * The goal rates of chosen teams are tilted (see SimulationContext
+ * withLambdaTilt) so the rare event happens often, and each run is weighted by
+ * the likelihood ratio of its goal draws under the real model. The weighted
+ * mean is an unbiased estimate of the real probability; the effective sample
+ * size shows how much the weights degrade it: a tilt applies to every match
+ * of the season, so modest tilts (around 1.1 - 1.3) work best.
+ *
+ * Usage:
+ *   ImportanceSampler [league] [runs] top [team] [places] [tilt]
+ *   ImportanceSampler [league] [runs] missUcl [team,team,...] [tilt]
+ */
+public class ImportanceSampler {
+
+    public static class Estimate {
+        double sumWeightedHits;
+        double sumSquaredWeightedHits;
+        double sumWeights;
+        double sumSquaredWeights;
+        long hits;
+        long runs;
+
+        void add(double weight, boolean hit) {
+            if (hit) {
+                sumWeightedHits += weight;
+                sumSquaredWeightedHits += weight * weight;
+                hits++;
+            }
+            sumWeights += weight;
+            sumSquaredWeights += weight * weight;
+            runs++;
+        }
+
+        void merge(Estimate other) {
+            sumWeightedHits += other.sumWeightedHits;
+            sumSquaredWeightedHits += other.sumSquaredWeightedHits;
+            sumWeights += other.sumWeights;
+            sumSquaredWeights += other.sumSquaredWeights;
+            hits += other.hits;
+            runs += other.runs;
+        }
+
+        public double getProbability() {
+            return runs == 0 ? 0.0 : sumWeightedHits / runs;
+        }
+
+        public double getStandardError() {
+            if (runs < 2) {
+                return Double.NaN;
+            }
+            double mean = getProbability();
+            double variance = (sumSquaredWeightedHits / runs - mean * mean) * runs / (runs - 1);
+            return Math.sqrt(Math.max(0.0, variance) / runs);
+        }
+
+        /**
+         * Kish effective sample size, (sum w)^2 / sum w^2.
+         */
+        public double getEffectiveSampleSize() {
+            return sumSquaredWeights == 0 ? 0.0 : sumWeights * sumWeights / sumSquaredWeights;
+        }
+
+        public long getHits() { return hits; }
+        public long getRuns() { return runs; }
+    }
+
+    public static void main(String[] args) {
+        String leagueName = args.length > 0 ? args[0] : "Premier_League";
+        long runs = args.length > 1 ? Long.parseLong(args[1]) : 20_000;
+        String mode = args.length > 2 ? args[2] : "top";
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        Map<String, Double> tilts;
+        Predicate<DomesticLeague> event;
+        String description;
+        if (mode.equals("missUcl")) {
+            List<String> teamNames = Arrays.asList((args.length > 3 ? args[3]
+                    : "Manchester City,Arsenal,Liverpool,Manchester United,Tottenham Hotspur,Chelsea").split(","));
+            double tilt = args.length > 4 ? Double.parseDouble(args[4]) : 0.93;
+            tilts = new LinkedHashMap<>();
+            for (String teamName : teamNames) {
+                tilts.put(teamName, tilt);
+            }
+            event = allMissUcl(teamNames);
+            description = "all of " + teamNames + " miss the Champions League";
+        } else {
+            String teamName = args.length > 3 ? args[3] : "Sheffield United";
+            int places = args.length > 4 ? Integer.parseInt(args[4]) : 4;
+            double tilt = args.length > 5 ? Double.parseDouble(args[5]) : 1.25;
+            tilts = Map.of(teamName, tilt);
+            event = finishesInTop(teamName, places);
+            description = teamName + " finish in the top " + places;
+        }
+
+        long start = System.nanoTime();
+        Estimate estimate = run(() -> DomesticLeague.create(leagueName), tilts, event, runs, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("--- %s: P(%s) ---%n", leagueName, description);
+        System.out.printf("Tilts: %s, %d runs in %.1fs%n", tilts, estimate.getRuns(), seconds);
+        System.out.printf("Estimate: %.3e (SE %.2e), event seen in %d tilted runs, effective sample size %.0f%n",
+                estimate.getProbability(), estimate.getStandardError(), estimate.getHits(),
+                estimate.getEffectiveSampleSize());
+    }
+
+    public static Predicate<DomesticLeague> finishesInTop(String teamName, int places) {
+        return league -> {
+            List<Team> standings = league.getFinalStandings();
+            for (int i = 0; i < places && i < standings.size(); i++) {
+                if (standings.get(i).getName().equals(teamName)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    public static Predicate<DomesticLeague> allMissUcl(List<String> teamNames) {
+        return league -> {
+            for (Team team : league.getUclTeams()) {
+                if (teamNames.contains(team.getName())) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * @param tilts  Lambda tilt per team name (see SimulationContext.withLambdaTilt).
+     * @param event  The outcome whose probability is wanted.
+     */
+    public static Estimate run(Supplier<DomesticLeague> leagueFactory, Map<String, Double> tilts,
+            Predicate<DomesticLeague> event, long runs, int threads) {
+        AtomicLong remaining = new AtomicLong(runs);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        SilentOutput.begin();
+        try {
+            List<Future<Estimate>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(pool.submit(() -> {
+                    Estimate estimate = new Estimate();
+                    while (remaining.getAndDecrement() > 0) {
+                        SimulationContext context = new SimulationContext();
+                        tilts.forEach(context::withLambdaTilt);
+                        boolean[] hit = new boolean[1];
+                        context.run(() -> {
+                            DomesticLeague league = leagueFactory.get();
+                            league.setupTeams();
+                            league.simulateFullSeason();
+                            hit[0] = event.test(league);
+                        });
+                        estimate.add(context.getWeight(), hit[0]);
+                    }
+                    return estimate;
+                }));
+            }
+            Estimate merged = new Estimate();
+            for (Future<Estimate> worker : workers) {
+                merged.merge(worker.get());
+            }
+            return merged;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importance sampling run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Importance sampling worker failed", e.getCause());
+        } finally {
+            SilentOutput.end();
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Seeded knockout draw: every seeded team is paired with one unseeded team,
+ * and, with association protection, never with a club from its own
+ * association. Each valid draw is equally likely.
+ *
+ * A draw is a perfect matching in the bipartite graph of allowed
+ * (seeded, unseeded) pairs. Drawing pairs one at a time and rejecting dead
+ * ends is biased (the pairs left late in the draw are forced) and can stall
+ * when protection leaves few options. Instead the draw first counts, for
+ * every set of unseeded teams already taken, the number of ways to complete
+ * the draw (a DP over bitmasks, 2^n x n steps). Seeded team i then takes
+ * unseeded team j with probability completions(after j) / completions(now),
+ * which never reaches a dead end and samples every valid draw uniformly.
+ * For the usual 8 v 8 draw that is ~2,000 operations.
+ */
+public final class KnockoutDraw {
+    // 2^16 completion counts is the largest table worth building per draw
+    public static final int MAX_PAIRS = 16;
+
+    private KnockoutDraw() {
+    }
+
+    /**
+     * @return partner[i] = index in unseeded of seeded team i's opponent.
+     *         If protection makes every draw impossible it is dropped for
+     *         this draw.
+     * @throws IllegalArgumentException if the lists differ in size or hold
+     *                                  more than MAX_PAIRS teams.
+     */
+    public static int[] draw(List<Team> seeded, List<Team> unseeded, boolean associationProtection, Random random) {
+        int n = seeded.size();
+        if (unseeded.size() != n || n > MAX_PAIRS) {
+            throw new IllegalArgumentException("Cannot draw " + n + " seeded against " + unseeded.size()
+                    + " unseeded teams");
+        }
+        boolean[] allowed = new boolean[n * n];
+        for (int i = 0; i < n; i++) {
+            String association = seeded.get(i).getAssociation();
+            for (int j = 0; j < n; j++) {
+                allowed[i * n + j] = !associationProtection || association == null
+                        || !Objects.equals(association, unseeded.get(j).getAssociation());
+            }
+        }
+        long[] completions = countCompletions(allowed, n);
+        if (completions[0] == 0) {
+            System.out.println("No draw satisfies association protection; drawing without it.");
+            Arrays.fill(allowed, true);
+            completions = countCompletions(allowed, n);
+        }
+        return sample(allowed, n, completions, random);
+    }
+
+    /**
+     * @return The number of valid draws.
+     */
+    public static long countDraws(boolean[] allowed, int n) {
+        return countCompletions(allowed, n)[0];
+    }
+
+    /**
+     * completions[mask] = ways to pair seeded teams popcount(mask) .. n-1 with
+     * the unseeded teams not in mask.
+     */
+    static long[] countCompletions(boolean[] allowed, int n) {
+        int full = (1 << n) - 1;
+        long[] completions = new long[1 << n];
+        completions[full] = 1;
+        for (int mask = full - 1; mask >= 0; mask--) {
+            int i = Integer.bitCount(mask);
+            long ways = 0;
+            for (int free = ~mask & full; free != 0; free &= free - 1) {
+                int j = Integer.numberOfTrailingZeros(free);
+                if (allowed[i * n + j]) {
+                    ways += completions[mask | (1 << j)];
+                }
+            }
+            completions[mask] = ways;
+        }
+        return completions;
+    }
+
+    private static int[] sample(boolean[] allowed, int n, long[] completions, Random random) {
+        int[] partner = new int[n];
+        int mask = 0;
+        for (int i = 0; i < n; i++) {
+            long pick = random.nextLong(completions[mask]);
+            int chosen = -1;
+            for (int free = ~mask & ((1 << n) - 1); free != 0; free &= free - 1) {
+                int j = Integer.numberOfTrailingZeros(free);
+                if (allowed[i * n + j]) {
+                    pick -= completions[mask | (1 << j)];
+                    if (pick < 0) {
+                        chosen = j;
+                        break;
+                    }
+                }
+            }
+            partner[i] = chosen;
+            mask |= 1 << chosen;
+        }
+        return partner;
+    }
+}
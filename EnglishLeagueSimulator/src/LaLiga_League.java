@@ -16,11 +16,11 @@ import java.util.stream.Collectors;
  * NOTE: This class has been refactored to work with the
  * EuropeanCompetitionSimulator.
  */
-public class LaLiga_League {
+public class LaLiga_League implements DomesticLeague {
     private final List<Team> teams;
-    private final List<Match> fixtures;
+    private FixtureBuffer fixtures;
     private final MatchSimulator matchSimulator;
-    private final Random random = new Random();
+    private final Random random = SimulationContext.current().newRandom();
 
     private Team copaDelReyWinner;
 
@@ -31,7 +31,6 @@ public class LaLiga_League {
 
     public LaLiga_League() {
         this.teams = new ArrayList<>();
-        this.fixtures = new ArrayList<>();
         this.matchSimulator = new MatchSimulator();
     }
 
@@ -48,6 +47,40 @@ public class LaLiga_League {
         return ueclTeams;
     }
 
+    // --- DOMESTIC LEAGUE CONTRACT ---
+    @Override
+    public String getName() {
+        return "LaLiga_League";
+    }
+
+    @Override
+    public int getRelegationPlaces() {
+        return 3;
+    }
+
+    @Override
+    public List<Team> getTeams() {
+        return this.teams;
+    }
+
+    @Override
+    public void simulateFullSeason() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Copa del Rey");
+        simulateCopaDelRey();
+        stage = stage.next("Fixtures");
+        generateFixtures();
+        stage = stage.next("Season");
+        simulateSeason();
+        stage = stage.next("European spots");
+        determineEuropeanSpots();
+        stage.end();
+    }
+
+    @Override
+    public List<Team> getFinalStandings() {
+        return new ArrayList<>(this.teams);
+    }
+
     public static void main(String[] args) {
         LaLiga_League laLiga = new LaLiga_League();
 
@@ -71,6 +104,7 @@ public class LaLiga_League {
     }
 
     public void setupTeams() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Setup");
         double initialElo = 1500;
         this.teams.add(new Team("Real Madrid", 97, 89, initialElo + 340));
         this.teams.add(new Team("Barcelona", 94, 85, initialElo + 320));
@@ -93,6 +127,7 @@ public class LaLiga_League {
         this.teams.add(new Team("Cadiz", 65, 73, initialElo - 220));
         this.teams.add(new Team("Almeria", 67, 69, initialElo - 240));
         System.out.println("20 LaLiga teams have been created.");
+        stage.end();
     }
 
     public void simulateCopaDelRey() {
@@ -107,6 +142,7 @@ public class LaLiga_League {
         List<Team> finalists = simulateKnockoutRound(semiFinalists);
         System.out.println("\n** Copa del Rey Final **");
         this.copaDelReyWinner = matchSimulator.simulateSingleMatch(finalists.get(0), finalists.get(1));
+        this.copaDelReyWinner.reachCupRound(1);
         System.out.println("\nCopa del Rey Winner: " + this.copaDelReyWinner.getName());
     }
 
@@ -129,33 +165,29 @@ public class LaLiga_League {
     private List<Team> simulateKnockoutRound(List<Team> teamsInRound) {
         List<Team> winners = new ArrayList<>();
         Collections.shuffle(teamsInRound, random);
+        for (Team team : teamsInRound) {
+            team.reachCupRound(teamsInRound.size());
+        }
         for (int i = 0; i < teamsInRound.size(); i += 2) {
             winners.add(matchSimulator.simulateSingleMatch(teamsInRound.get(i), teamsInRound.get(i + 1)));
         }
+        for (Team winner : winners) {
+            winner.reachCupRound(winners.size());
+        }
         return winners;
     }
 
     public void generateFixtures() {
-        for (Team homeTeam : this.teams) {
-            for (Team awayTeam : this.teams) {
-                if (!homeTeam.equals(awayTeam)) {
-                    this.fixtures.add(new Match(homeTeam, awayTeam));
-                }
-            }
-        }
+        this.fixtures = FixtureBuffer.roundRobin(this.teams);
         System.out.println(this.fixtures.size() + " league matches have been scheduled.");
     }
 
     public void simulateSeason() {
-        for (Match match : this.fixtures) {
-            matchSimulator.simulateMatch(match);
-        }
+        matchSimulator.simulateFixtures(this.fixtures);
     }
 
     public void determineEuropeanSpots() {
-        this.teams.sort(Comparator.comparingInt(Team::getPoints).reversed()
-                .thenComparingInt(Team::getGoalDifference).reversed()
-                .thenComparingInt(Team::getGoalsFor).reversed());
+        StandingsSorter.sort(this.teams);
 
         Set<Team> qualifiedForEurope = new HashSet<>();
 
@@ -0,0 +1,183 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Runs a domestic league season many times and tallies the outcomes.
+ * Every run builds a fresh league (and so fresh Team objects), simulates it
+ * silently and records it into the worker thread's own SeasonAccumulator;
+ * the per-thread accumulators are merged once at the end.
+ *
+ * Usage: LeagueMonteCarlo [league] [runs] [threads] [shardFile]
+ */
+public class LeagueMonteCarlo {
+
+    public static void main(String[] args) throws IOException {
+        String leagueName = args.length > 0 ? args[0] : "Premier_League";
+        long runs = args.length > 1 ? Long.parseLong(args[1]) : 10_000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        long start = System.nanoTime();
+        SeasonAccumulator result = run(() -> DomesticLeague.create(leagueName), runs, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("--- %s: %d simulated seasons on %d threads in %.1fs ---%n",
+                leagueName, result.getRuns(), threads, seconds);
+        printSummary(result, System.out);
+
+        if (args.length > 3) {
+            try (OutputStream out = Files.newOutputStream(Path.of(args[3]))) {
+                result.writeTo(out);
+            }
+            System.out.println("Accumulator shard written to " + args[3]);
+        }
+    }
+
+    /**
+     * Simulates the given number of seasons across a fixed pool of threads.
+     * @param leagueFactory Creates a new, un-simulated league for each run.
+     * @param runs          Total number of seasons to simulate.
+     * @param threads       Number of worker threads (each owns one accumulator).
+     * @return The merged accumulator.
+     */
+    public static SeasonAccumulator run(Supplier<DomesticLeague> leagueFactory, long runs, int threads) {
+        List<String> teamNames = teamNamesOf(leagueFactory);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            return run(leagueFactory, teamNames, runs, pool, threads);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Simulates a batch of seasons on an existing pool, so callers that run many
+     * batches (e.g. AdaptiveMonteCarlo) don't pay for thread start-up each time.
+     * @param teamNames The accumulator team list, as returned by teamNamesOf.
+     * @param workers   Number of tasks to split the batch across.
+     */
+    static SeasonAccumulator run(Supplier<DomesticLeague> leagueFactory, List<String> teamNames, long runs,
+            ExecutorService pool, int workers) {
+        return run(leagueFactory, teamNames, null, runs, pool, workers);
+    }
+
+    /**
+     * As above, but every run is simulated inside its own SimulationContext.
+     * @param contextForRun Creates the context for run number 0, 1, 2, ...;
+     *                      null to use the thread's current context.
+     */
+    static SeasonAccumulator run(Supplier<DomesticLeague> leagueFactory, List<String> teamNames,
+            LongFunction<SimulationContext> contextForRun, long runs, ExecutorService pool, int workers) {
+        AtomicLong nextRun = new AtomicLong();
+        SilentOutput.begin();
+        try {
+            List<Future<SeasonAccumulator>> results = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                results.add(pool.submit(() -> {
+                    SeasonAccumulator accumulator = new SeasonAccumulator(teamNames);
+                    long run;
+                    while ((run = nextRun.getAndIncrement()) < runs) {
+                        Runnable season = () -> {
+                            DomesticLeague league = leagueFactory.get();
+                            league.setupTeams();
+                            league.simulateFullSeason();
+                            accumulator.record(league);
+                        };
+                        if (contextForRun == null) {
+                            season.run();
+                        } else {
+                            contextForRun.apply(run).run(season);
+                        }
+                    }
+                    return accumulator;
+                }));
+            }
+            SeasonAccumulator merged = new SeasonAccumulator(teamNames);
+            for (Future<SeasonAccumulator> result : results) {
+                merged.merge(result.get());
+            }
+            return merged;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Monte Carlo run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Monte Carlo worker failed", e.getCause());
+        } finally {
+            SilentOutput.end();
+        }
+    }
+
+    /**
+     * Builds a throwaway league to learn its team list, sorted by name.
+     * Every league creates all its teams in setupTeams, so no season needs to
+     * be simulated.
+     */
+    static List<String> teamNamesOf(Supplier<DomesticLeague> leagueFactory) {
+        DomesticLeague league = leagueFactory.get();
+        SilentOutput.begin();
+        try {
+            league.setupTeams();
+        } finally {
+            SilentOutput.end();
+        }
+        List<String> names = new ArrayList<>();
+        for (Team team : league.getTeams()) {
+            names.add(team.getName());
+        }
+        names.sort(null);
+        return names;
+    }
+
+    /**
+     * Merges accumulator shards previously written with SeasonAccumulator.writeTo.
+     */
+    public static SeasonAccumulator mergeShards(List<Path> shardFiles) throws IOException {
+        SeasonAccumulator merged = null;
+        for (Path shardFile : shardFiles) {
+            try (InputStream in = Files.newInputStream(shardFile)) {
+                SeasonAccumulator shard = SeasonAccumulator.readFrom(in);
+                if (merged == null) {
+                    merged = shard;
+                } else {
+                    merged.merge(shard);
+                }
+            }
+        }
+        return merged;
+    }
+
+    public static void printSummary(SeasonAccumulator result, PrintStream out) {
+        out.println("Team                       | Exp Pos | Exp Pts | Title  | UCL    | UEL    | UECL   | Cup Win");
+        out.println("-------------------------------------------------------------------------------------------");
+        List<Integer> order = new ArrayList<>();
+        for (int t = 0; t < result.getTeamCount(); t++) {
+            order.add(t);
+        }
+        order.sort(Comparator.comparingDouble(result::getExpectedPosition));
+        for (int t : order) {
+            out.printf("%-26s | %7.2f | %7.2f | %5.1f%% | %5.1f%% | %5.1f%% | %5.1f%% | %5.1f%%%n",
+                    result.getTeamName(t),
+                    result.getExpectedPosition(t),
+                    result.getExpectedPoints(t),
+                    100 * result.probability(result.getPositionCount(t, 0)),
+                    100 * result.probability(result.getQualificationCount(t, SeasonAccumulator.UCL)),
+                    100 * result.probability(result.getQualificationCount(t, SeasonAccumulator.UEL)),
+                    100 * result.probability(result.getQualificationCount(t, SeasonAccumulator.UECL)),
+                    100 * result.probability(result.getCupStageCount(t, Team.CUP_WINNER)));
+        }
+        out.println("-------------------------------------------------------------------------------------------");
+    }
+}
@@ -15,11 +15,11 @@ import java.util.stream.Collectors;
  * NOTE: This class has been refactored to work with the
  * EuropeanCompetitionSimulator.
  */
-public class LigaPortugal_League {
+public class LigaPortugal_League implements DomesticLeague {
     private final List<Team> teams;
-    private final List<Match> fixtures;
+    private FixtureBuffer fixtures;
     private final MatchSimulator matchSimulator;
-    private final Random random = new Random();
+    private final Random random = SimulationContext.current().newRandom();
 
     private Team tacaDePortugalWinner;
 
@@ -30,7 +30,6 @@ public class LigaPortugal_League {
 
     public LigaPortugal_League() {
         this.teams = new ArrayList<>();
-        this.fixtures = new ArrayList<>();
         this.matchSimulator = new MatchSimulator();
     }
 
@@ -47,6 +46,40 @@ public class LigaPortugal_League {
         return ueclTeams;
     }
 
+    // --- DOMESTIC LEAGUE CONTRACT ---
+    @Override
+    public String getName() {
+        return "LigaPortugal_League";
+    }
+
+    @Override
+    public int getRelegationPlaces() {
+        return 2;
+    }
+
+    @Override
+    public List<Team> getTeams() {
+        return this.teams;
+    }
+
+    @Override
+    public void simulateFullSeason() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Taca de Portugal");
+        simulateTacaDePortugal();
+        stage = stage.next("Fixtures");
+        generateFixtures();
+        stage = stage.next("Season");
+        simulateSeason();
+        stage = stage.next("European spots");
+        determineEuropeanSpots();
+        stage.end();
+    }
+
+    @Override
+    public List<Team> getFinalStandings() {
+        return new ArrayList<>(this.teams);
+    }
+
     public static void main(String[] args) {
         LigaPortugal_League ligaPortugal = new LigaPortugal_League();
 
@@ -70,6 +103,7 @@ public class LigaPortugal_League {
     }
 
     public void setupTeams() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Setup");
         double initialElo = 1500;
         this.teams.add(new Team("SL Benfica", 92, 85, initialElo + 210)); // Adjusted
         this.teams.add(new Team("FC Porto", 91, 84, initialElo + 200)); // Adjusted
@@ -90,6 +124,7 @@ public class LigaPortugal_League {
         this.teams.add(new Team("Portimonense", 66, 68, initialElo - 220));
         this.teams.add(new Team("Vizela", 65, 67, initialElo - 240));
         System.out.println("18 Liga Portugal teams have been created.");
+        stage.end();
     }
 
     public void simulateTacaDePortugal() {
@@ -116,39 +151,36 @@ public class LigaPortugal_League {
         List<Team> finalists = simulateKnockoutRound(semiFinalists);
         System.out.println("\n** Taça de Portugal Final **");
         this.tacaDePortugalWinner = matchSimulator.simulateSingleMatch(finalists.get(0), finalists.get(1));
+        this.tacaDePortugalWinner.reachCupRound(1);
         System.out.println("\nTaça de Portugal Winner: " + this.tacaDePortugalWinner.getName());
     }
 
     private List<Team> simulateKnockoutRound(List<Team> teamsInRound) {
         List<Team> winners = new ArrayList<>();
         Collections.shuffle(teamsInRound, random);
+        for (Team team : teamsInRound) {
+            team.reachCupRound(teamsInRound.size());
+        }
         for (int i = 0; i < teamsInRound.size(); i += 2) {
             winners.add(matchSimulator.simulateSingleMatch(teamsInRound.get(i), teamsInRound.get(i + 1)));
         }
+        for (Team winner : winners) {
+            winner.reachCupRound(winners.size());
+        }
         return winners;
     }
 
     public void generateFixtures() {
-        for (Team homeTeam : this.teams) {
-            for (Team awayTeam : this.teams) {
-                if (!homeTeam.equals(awayTeam)) {
-                    this.fixtures.add(new Match(homeTeam, awayTeam));
-                }
-            }
-        }
+        this.fixtures = FixtureBuffer.roundRobin(this.teams);
         System.out.println(this.fixtures.size() + " league matches have been scheduled.");
     }
 
     public void simulateSeason() {
-        for (Match match : this.fixtures) {
-            matchSimulator.simulateMatch(match);
-        }
+        matchSimulator.simulateFixtures(this.fixtures);
     }
 
     public void determineEuropeanSpots() {
-        this.teams.sort(Comparator.comparingInt(Team::getPoints).reversed()
-                .thenComparingInt(Team::getGoalDifference).reversed()
-                .thenComparingInt(Team::getGoalsFor).reversed());
+        StandingsSorter.sort(this.teams);
 
         Set<Team> qualifiedForEurope = new HashSet<>();
 
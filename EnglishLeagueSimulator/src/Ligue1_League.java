@@ -15,11 +15,11 @@ import java.util.stream.Collectors;
  * NOTE: This class has been refactored to work with the
  * EuropeanCompetitionSimulator.
  */
-public class Ligue1_League {
+public class Ligue1_League implements DomesticLeague {
     private final List<Team> teams;
-    private final List<Match> fixtures;
+    private FixtureBuffer fixtures;
     private final MatchSimulator matchSimulator;
-    private final Random random = new Random();
+    private final Random random = SimulationContext.current().newRandom();
 
     private Team coupeDeFranceWinner;
 
@@ -30,7 +30,6 @@ public class Ligue1_League {
 
     public Ligue1_League() {
         this.teams = new ArrayList<>();
-        this.fixtures = new ArrayList<>();
         this.matchSimulator = new MatchSimulator();
     }
 
@@ -47,6 +46,40 @@ public class Ligue1_League {
         return ueclTeams;
     }
 
+    // --- DOMESTIC LEAGUE CONTRACT ---
+    @Override
+    public String getName() {
+        return "Ligue1_League";
+    }
+
+    @Override
+    public int getRelegationPlaces() {
+        return 2;
+    }
+
+    @Override
+    public List<Team> getTeams() {
+        return this.teams;
+    }
+
+    @Override
+    public void simulateFullSeason() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Coupe de France");
+        simulateCoupeDeFrance();
+        stage = stage.next("Fixtures");
+        generateFixtures();
+        stage = stage.next("Season");
+        simulateSeason();
+        stage = stage.next("European spots");
+        determineEuropeanSpots();
+        stage.end();
+    }
+
+    @Override
+    public List<Team> getFinalStandings() {
+        return new ArrayList<>(this.teams);
+    }
+
     public static void main(String[] args) {
         Ligue1_League ligue1 = new Ligue1_League();
 
@@ -70,6 +103,7 @@ public class Ligue1_League {
     }
 
     public void setupTeams() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Setup");
         double initialElo = 1500;
         this.teams.add(new Team("Paris Saint-Germain", 98, 86, initialElo + 320)); // Adjusted
         this.teams.add(new Team("AS Monaco", 88, 80, initialElo + 170)); // Adjusted
@@ -90,6 +124,7 @@ public class Ligue1_League {
         this.teams.add(new Team("Lorient", 71, 69, initialElo - 220));
         this.teams.add(new Team("Clermont Foot", 66, 70, initialElo - 240));
         System.out.println("18 Ligue 1 teams have been created.");
+        stage.end();
     }
 
     public void simulateCoupeDeFrance() {
@@ -116,39 +151,36 @@ public class Ligue1_League {
         List<Team> finalists = simulateKnockoutRound(semiFinalists);
         System.out.println("\n** Coupe de France Final **");
         this.coupeDeFranceWinner = matchSimulator.simulateSingleMatch(finalists.get(0), finalists.get(1));
+        this.coupeDeFranceWinner.reachCupRound(1);
         System.out.println("\nCoupe de France Winner: " + this.coupeDeFranceWinner.getName());
     }
 
     private List<Team> simulateKnockoutRound(List<Team> teamsInRound) {
         List<Team> winners = new ArrayList<>();
         Collections.shuffle(teamsInRound, random);
+        for (Team team : teamsInRound) {
+            team.reachCupRound(teamsInRound.size());
+        }
         for (int i = 0; i < teamsInRound.size(); i += 2) {
             winners.add(matchSimulator.simulateSingleMatch(teamsInRound.get(i), teamsInRound.get(i + 1)));
         }
+        for (Team winner : winners) {
+            winner.reachCupRound(winners.size());
+        }
         return winners;
     }
 
     public void generateFixtures() {
-        for (Team homeTeam : this.teams) {
-            for (Team awayTeam : this.teams) {
-                if (!homeTeam.equals(awayTeam)) {
-                    this.fixtures.add(new Match(homeTeam, awayTeam));
-                }
-            }
-        }
+        this.fixtures = FixtureBuffer.roundRobin(this.teams);
         System.out.println(this.fixtures.size() + " league matches have been scheduled.");
     }
 
     public void simulateSeason() {
-        for (Match match : this.fixtures) {
-            matchSimulator.simulateMatch(match);
-        }
+        matchSimulator.simulateFixtures(this.fixtures);
     }
 
     public void determineEuropeanSpots() {
-        this.teams.sort(Comparator.comparingInt(Team::getPoints).reversed()
-                .thenComparingInt(Team::getGoalDifference).reversed()
-                .thenComparingInt(Team::getGoalsFor).reversed());
+        StandingsSorter.sort(this.teams);
 
         Set<Team> qualifiedForEurope = new HashSet<>();
 
@@ -0,0 +1,127 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulates many seasons and keeps every match result in an OffHeapMatchStore,
+ * then answers a query from the archive: the scoreline distribution of one
+ * fixture across all the runs.
+ *
+ * Usage:
+ *   MatchArchive [league|Europe] [runs] [homeTeam] [awayTeam] [threads] [file]
+ * With a file the archive is written there (16 bytes per match) rather than
+ * kept in memory.
+ */
+public class MatchArchive {
+    // Upper bound on the matches in one run, leagues and cups included
+    private static final long MATCHES_PER_RUN = 8192;
+    private static final int MAX_GOALS = 6;
+    private static final long CHUNK_RUNS = 64;
+
+    public static void main(String[] args) throws IOException {
+        String scope = args.length > 0 ? args[0] : "Premier_League";
+        long runs = args.length > 1 ? Long.parseLong(args[1]) : 1_000;
+        String homeTeam = args.length > 2 ? args[2] : "Arsenal";
+        String awayTeam = args.length > 3 ? args[3] : "Tottenham Hotspur";
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        Path file = args.length > 5 ? Path.of(args[5]) : null;
+
+        try (OffHeapMatchStore store = new OffHeapMatchStore(runs * MATCHES_PER_RUN, file)) {
+            long start = System.nanoTime();
+            archive(store, scope, runs, threads);
+            long simulated = System.nanoTime();
+            store.buildFixtureIndex();
+            long indexed = System.nanoTime();
+            long[][] counts = store.scorelineDistribution(homeTeam, awayTeam, MAX_GOALS);
+            long queried = System.nanoTime();
+
+            System.out.printf("--- %s: %,d runs, %,d matches archived (%,d MB, %,d fixtures) ---%n", scope, runs,
+                    store.size(), store.size() * OffHeapMatchStore.RECORD_BYTES >> 20, store.getFixtureCount());
+            System.out.printf("Simulate + archive: %.1f s (%,.0f matches/s)%n", (simulated - start) / 1e9,
+                    store.size() / ((simulated - start) / 1e9));
+            System.out.printf("Fixture index: %.1f ms, query: %.2f ms%n", (indexed - simulated) / 1e6,
+                    (queried - indexed) / 1e6);
+            printDistribution(homeTeam, awayTeam, counts);
+        }
+    }
+
+    /**
+     * Simulates the runs across a pool of threads, each appending to the
+     * store through its own writer. Records carry the run number, so the
+     * archive can be regrouped by run even though threads interleave.
+     */
+    public static void archive(OffHeapMatchStore store, String scope, long runs, int threads) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        AtomicLong nextChunk = new AtomicLong();
+        long chunks = (runs + CHUNK_RUNS - 1) / CHUNK_RUNS;
+        SilentOutput.begin();
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                tasks.add(pool.submit(() -> {
+                    OffHeapMatchStore.Writer writer = store.newWriter();
+                    long chunk;
+                    while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                        for (long run = chunk * CHUNK_RUNS; run < Math.min((chunk + 1) * CHUNK_RUNS, runs); run++) {
+                            writer.setRun((int) run);
+                            new SimulationContext().withMatchSink(writer).run(() -> simulate(scope));
+                        }
+                    }
+                    writer.flush();
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Match archive interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Match archive worker failed", e.getCause());
+        } finally {
+            SilentOutput.end();
+            pool.shutdown();
+        }
+    }
+
+    private static void simulate(String scope) {
+        if (scope.equals(SeasonReplay.EUROPE)) {
+            EuropeanCompetitionSimulator.simulateContinent();
+            return;
+        }
+        DomesticLeague league = DomesticLeague.create(scope);
+        league.setupTeams();
+        league.simulateFullSeason();
+    }
+
+    private static void printDistribution(String homeTeam, String awayTeam, long[][] counts) {
+        long total = 0;
+        for (long[] row : counts) {
+            for (long count : row) {
+                total += count;
+            }
+        }
+        System.out.printf("%n%s v %s: %,d meetings%n", homeTeam, awayTeam, total);
+        if (total == 0) {
+            return;
+        }
+        System.out.print("H\\A ");
+        for (int a = 0; a < counts.length; a++) {
+            System.out.printf("%7s", a == counts.length - 1 ? a + "+" : a);
+        }
+        System.out.println();
+        for (int h = 0; h < counts.length; h++) {
+            System.out.printf("%-4s", h == counts.length - 1 ? h + "+" : h);
+            for (long count : counts[h]) {
+                System.out.printf("%6.1f%%", 100.0 * count / total);
+            }
+            System.out.println();
+        }
+    }
+}
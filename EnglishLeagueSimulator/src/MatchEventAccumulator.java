@@ -0,0 +1,111 @@
+/**
+ * Fixed-memory tally of many matches played goal by goal (see
+ * MatchEventEngine), for in-play markets: half-time and full-time results,
+ * the chance of a late goal, and when goals come. Each worker thread should
+ * own its own accumulator; combine them with merge().
+ *
+ * For an in-play simulation started at minute m, goals before m are part of
+ * the starting score, so the half-time counts only say something for
+ * m < HALF_TIME, and the per-period counts hold goals after m only.
+ */
+public class MatchEventAccumulator {
+    public static final int HOME_WIN = 0;
+    public static final int DRAW = 1;
+    public static final int AWAY_WIN = 2;
+    // A goal after this minute, stoppage time included, is a late goal
+    public static final int LATE_MINUTE = 80;
+    public static final int PERIOD_MINUTES = 15;
+    public static final int PERIODS = MatchTimeline.FULL_TIME / PERIOD_MINUTES;
+
+    private final long[] halfTimeFullTimeCounts = new long[9]; // [halfTime * 3 + fullTime]
+    private final long[] periodGoals = new long[PERIODS];
+    private long lateGoalCount;
+    private long homeGoals;
+    private long awayGoals;
+    private long matches;
+
+    /**
+     * Adds one match; read the timeline before the thread plays another.
+     */
+    public void record(MatchTimeline timeline) {
+        int halfTime = result(timeline.getHomeGoalsAt(MatchTimeline.HALF_TIME),
+                timeline.getAwayGoalsAt(MatchTimeline.HALF_TIME));
+        int fullTime = result(timeline.getHomeGoals(), timeline.getAwayGoals());
+        halfTimeFullTimeCounts[halfTime * 3 + fullTime]++;
+        for (int i = 0; i < timeline.size(); i++) {
+            periodGoals[(timeline.getMinute(i) - 1) / PERIOD_MINUTES]++;
+        }
+        if (timeline.hasGoalAfter(LATE_MINUTE)) {
+            lateGoalCount++;
+        }
+        homeGoals += timeline.getHomeGoals();
+        awayGoals += timeline.getAwayGoals();
+        matches++;
+    }
+
+    private static int result(int homeGoals, int awayGoals) {
+        return homeGoals > awayGoals ? HOME_WIN : homeGoals == awayGoals ? DRAW : AWAY_WIN;
+    }
+
+    public void merge(MatchEventAccumulator other) {
+        for (int i = 0; i < halfTimeFullTimeCounts.length; i++) {
+            halfTimeFullTimeCounts[i] += other.halfTimeFullTimeCounts[i];
+        }
+        for (int i = 0; i < PERIODS; i++) {
+            periodGoals[i] += other.periodGoals[i];
+        }
+        lateGoalCount += other.lateGoalCount;
+        homeGoals += other.homeGoals;
+        awayGoals += other.awayGoals;
+        matches += other.matches;
+    }
+
+    // --- QUERIES ---
+
+    public long getMatches() { return matches; }
+
+    /**
+     * @param halfTime HOME_WIN, DRAW or AWAY_WIN at half time.
+     * @param fullTime The same at full time.
+     */
+    public long getHalfTimeFullTimeCount(int halfTime, int fullTime) {
+        return halfTimeFullTimeCounts[halfTime * 3 + fullTime];
+    }
+
+    public double getHalfTimeProbability(int result) {
+        long count = 0;
+        for (int fullTime = 0; fullTime < 3; fullTime++) {
+            count += getHalfTimeFullTimeCount(result, fullTime);
+        }
+        return probability(count);
+    }
+
+    public double getFullTimeProbability(int result) {
+        long count = 0;
+        for (int halfTime = 0; halfTime < 3; halfTime++) {
+            count += getHalfTimeFullTimeCount(halfTime, result);
+        }
+        return probability(count);
+    }
+
+    /**
+     * @return P(either side scores after LATE_MINUTE).
+     */
+    public double getLateGoalProbability() {
+        return probability(lateGoalCount);
+    }
+
+    /**
+     * @param period 0 for minutes 1-15 up to PERIODS - 1 for 76-90.
+     */
+    public double getExpectedGoalsInPeriod(int period) {
+        return probability(periodGoals[period]);
+    }
+
+    public double getExpectedHomeGoals() { return probability(homeGoals); }
+    public double getExpectedAwayGoals() { return probability(awayGoals); }
+
+    public double probability(long count) {
+        return matches == 0 ? 0.0 : (double) count / matches;
+    }
+}
@@ -0,0 +1,139 @@
+import java.util.Random;
+
+/**
+ * Checks the goal-by-goal engine against what it must preserve. Whatever the
+ * score-state effect, the two sides together score as one Poisson process,
+ * so total goals must be Poisson(homeLambda + awayLambda), goals by half
+ * time must average that times MatchEventEngine.shareBy(HALF_TIME), and a
+ * late goal must come with probability 1 - exp(-total rate after
+ * LATE_MINUTE). With no effect, home goals alone must be Poisson(homeLambda),
+ * as in the standard model. An in-play match started at minute 60 must keep
+ * its starting score and only add goals after it. Each check is a
+ * standardised deviation below MAX_Z (for histograms, over the bins expected
+ * to hold at least 20 matches). Then plays seasons of a league with match
+ * events on, reading each match's timeline through a MatchSink, and prints
+ * the league's half-time, late-goal and per-period figures. Exits with
+ * status 1 if any check fails.
+ *
+ * Usage: MatchEventCheck [matches] [league] [seasons]
+ */
+public class MatchEventCheck {
+    private static final double MAX_Z = 5.0;
+    private static final double[][] LAMBDAS = { { 1.7, 0.9 }, { 1.3, 1.3 }, { 0.4, 3.1 } };
+    private static final double[] EFFECTS = { 0.0, 0.2, 0.5 };
+    private static final int IN_PLAY_MINUTE = 60;
+
+    public static void main(String[] args) {
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String leagueName = args.length > 1 ? args[1] : "Premier_League";
+        int seasons = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        boolean passed = true;
+        for (double effect : EFFECTS) {
+            MatchEventEngine engine = new MatchEventEngine(effect);
+            for (double[] lambdas : LAMBDAS) {
+                passed &= check(engine, effect, lambdas[0], lambdas[1], matches, new Random(17));
+            }
+        }
+        printSeasons(leagueName, seasons);
+        System.out.println(passed ? "All checks passed" : "CHECKS FAILED");
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean check(MatchEventEngine engine, double effect, double homeLambda, double awayLambda,
+            int matches, Random random) {
+        double totalLambda = homeLambda + awayLambda;
+        int side = MatchModel.MAX_GOALS + 1;
+        long[] totalCounts = new long[2 * side];
+        long[] homeCounts = new long[side];
+        long halfTimeGoals = 0;
+        long inPlayGoals = 0;
+        boolean inPlayKeepsScore = true;
+        MatchEventAccumulator events = new MatchEventAccumulator();
+        for (int i = 0; i < matches; i++) {
+            MatchTimeline timeline = engine.simulate(homeLambda, awayLambda, random::nextDouble);
+            events.record(timeline);
+            totalCounts[timeline.getHomeGoals() + timeline.getAwayGoals()]++;
+            homeCounts[timeline.getHomeGoals()]++;
+            halfTimeGoals += timeline.getHomeGoalsAt(MatchTimeline.HALF_TIME)
+                    + timeline.getAwayGoalsAt(MatchTimeline.HALF_TIME);
+
+            timeline = engine.simulateFrom(homeLambda, awayLambda, IN_PLAY_MINUTE, 1, 0, random::nextDouble);
+            inPlayGoals += timeline.size();
+            inPlayKeepsScore &= timeline.getHomeGoalsAt(IN_PLAY_MINUTE) == 1
+                    && timeline.getAwayGoalsAt(IN_PLAY_MINUTE) == 0
+                    && (timeline.size() == 0 || timeline.getMinute(0) > IN_PLAY_MINUTE);
+        }
+        double totalZ = maxZ(totalCounts, totalLambda, matches);
+        double homeZ = effect == 0 ? maxZ(homeCounts, homeLambda, matches) : 0;
+        double halfTimeMean = totalLambda * MatchEventEngine.shareBy(MatchTimeline.HALF_TIME);
+        double halfTimeZ = meanZ(halfTimeGoals, halfTimeMean, matches);
+        double inPlayMean = totalLambda * (1 - MatchEventEngine.shareBy(IN_PLAY_MINUTE));
+        double inPlayZ = meanZ(inPlayGoals, inPlayMean, matches);
+        double late = 1 - Math.exp(-totalLambda * (1 - MatchEventEngine.shareBy(MatchEventAccumulator.LATE_MINUTE)));
+        double lateZ = Math.abs(events.getLateGoalProbability() - late) / Math.sqrt(late * (1 - late) / matches);
+        boolean passed = totalZ < MAX_Z && homeZ < MAX_Z && halfTimeZ < MAX_Z && inPlayZ < MAX_Z && lateZ < MAX_Z
+                && inPlayKeepsScore;
+        System.out.printf("%-4s effect %.1f lambdas %.1f/%.1f  goals %.4f (%.4f)  max |z| total %.2f home %.2f"
+                + "  half time %.2f  late %.2f  in play %.2f%s%n", passed ? "ok" : "FAIL", effect, homeLambda,
+                awayLambda, events.getExpectedHomeGoals() + events.getExpectedAwayGoals(), totalLambda, totalZ,
+                homeZ, halfTimeZ, lateZ, inPlayZ, inPlayKeepsScore ? "" : "  IN-PLAY SCORE CHANGED");
+        return passed;
+    }
+
+    // Largest standardised deviation of a goal histogram from Poisson(lambda)
+    private static double maxZ(long[] counts, double lambda, int matches) {
+        double maxZ = 0;
+        for (int k = 0; k < counts.length; k++) {
+            double expected = MatchModel.poisson(lambda, k) * matches;
+            if (expected >= 20) {
+                maxZ = Math.max(maxZ, Math.abs(counts[k] - expected) / Math.sqrt(expected));
+            }
+        }
+        return maxZ;
+    }
+
+    // Standardised deviation of a mean Poisson count
+    private static double meanZ(long total, double mean, int matches) {
+        return Math.abs((double) total / matches - mean) / Math.sqrt(mean / matches);
+    }
+
+    private static void printSeasons(String leagueName, int seasons) {
+        MatchEventAccumulator events = new MatchEventAccumulator();
+        SilentOutput.begin();
+        try {
+            for (int season = 0; season < seasons; season++) {
+                new SimulationContext(season + 1L, SimulationContext.DEFAULT_HOME_ADVANTAGE, false)
+                        .withMatchEvents(new MatchEventEngine(0.2))
+                        .withMatchSink((home, away, homeGoals, awayGoals) ->
+                                events.record(MatchEventEngine.currentTimeline()))
+                        .run(() -> {
+                            // The league's simulator picks the context up when it is built
+                            DomesticLeague league = DomesticLeague.create(leagueName);
+                            league.setupTeams();
+                            league.simulateFullSeason();
+                        });
+            }
+        } finally {
+            SilentOutput.end();
+        }
+        System.out.printf("%s, %d seasons, %d matches, score-state effect 0.2:%n", leagueName, seasons,
+                events.getMatches());
+        System.out.printf("  half time  home %.3f  draw %.3f  away %.3f%n",
+                events.getHalfTimeProbability(MatchEventAccumulator.HOME_WIN),
+                events.getHalfTimeProbability(MatchEventAccumulator.DRAW),
+                events.getHalfTimeProbability(MatchEventAccumulator.AWAY_WIN));
+        System.out.printf("  full time  home %.3f  draw %.3f  away %.3f%n",
+                events.getFullTimeProbability(MatchEventAccumulator.HOME_WIN),
+                events.getFullTimeProbability(MatchEventAccumulator.DRAW),
+                events.getFullTimeProbability(MatchEventAccumulator.AWAY_WIN));
+        System.out.printf("  goal after minute %d  %.3f%n", MatchEventAccumulator.LATE_MINUTE,
+                events.getLateGoalProbability());
+        System.out.print("  goals per 15 minutes");
+        for (int period = 0; period < MatchEventAccumulator.PERIODS; period++) {
+            System.out.printf(" %.3f", events.getExpectedGoalsInPeriod(period));
+        }
+        System.out.println();
+    }
+}
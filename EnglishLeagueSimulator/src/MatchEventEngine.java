@@ -0,0 +1,196 @@
+import java.util.function.DoubleSupplier;
+
+/**
+ * Plays a match goal by goal over 90 minutes instead of drawing only the
+ * final score, for in-play pricing: goal times, half-time scores, late goals.
+ *
+ * Each side scores as a Poisson process whose rate is its lambda times a
+ * fixed intensity profile over the match (rising through each half, with the
+ * 45th and 90th minutes carrying stoppage time), times a score-state factor:
+ * a trailing side's rate is scaled by 1 + scoreStateEffect and a leading
+ * side's by 1 - scoreStateEffect, then both are rescaled so the match's total
+ * rate stays homeLambda + awayLambda. The effect so moves goals towards the
+ * trailing side without changing how many there are: total goals stay
+ * Poisson(homeLambda + awayLambda) whatever the effect, as in the standard
+ * model. The profile integrates to 1, so the rate
+ * only changes when a goal changes the score, and the next goal is drawn
+ * directly as an exponential step through the cumulative profile. One
+ * uniform per goal (plus one to end the match) decides both which side
+ * scores and when: its position below or above the home side's share of the
+ * rate picks the side, and its position within that share, rescaled, gives
+ * the step. With no score-state effect (the default) the rates never change,
+ * so the engine takes the cheaper equivalent route: each side's goals are a
+ * Poisson count drawn by inversion, exactly as in MatchSimulator's standard
+ * model, and each goal's time is one uniform inverted through the profile.
+ * The final score then has the standard model's distribution (a given seed
+ * still gives different scores, as the uniforms are used differently); a
+ * non-zero effect pulls scores closer together.
+ *
+ * Goals are written into a MatchTimeline held per thread and reused, so a
+ * match allocates nothing. Installed per run with
+ * SimulationContext.withMatchEvents; a MatchSink can read the timeline of the
+ * match it is given with MatchEventEngine.currentTimeline().
+ */
+public final class MatchEventEngine {
+    private static final int SECONDS = MatchTimeline.FULL_TIME * 60;
+    // Relative goal rate at full time against kick-off, and the weight of the
+    // minutes that carry stoppage time
+    private static final double RISE = 0.4;
+    private static final double FIRST_HALF_STOPPAGE = 1.8;
+    private static final double SECOND_HALF_STOPPAGE = 2.5;
+
+    // PROFILE[m]: share of a side's goals expected in minute m + 1;
+    // CUMULATIVE[m]: share expected by the start of minute m + 1
+    private static final double[] PROFILE = new double[MatchTimeline.FULL_TIME];
+    private static final double[] CUMULATIVE = new double[MatchTimeline.FULL_TIME + 1];
+    // MINUTE_AT[g]: the minute under way at profile position g / GRID, so a
+    // goal's minute is a lookup plus at most a step or two
+    private static final int GRID = 1024;
+    private static final int[] MINUTE_AT = new int[GRID];
+
+    private static final ThreadLocal<MatchTimeline> TIMELINES = ThreadLocal.withInitial(MatchTimeline::new);
+
+    static {
+        double total = 0;
+        for (int m = 0; m < PROFILE.length; m++) {
+            PROFILE[m] = 1 + RISE * m / (PROFILE.length - 1);
+            if (m + 1 == MatchTimeline.HALF_TIME) {
+                PROFILE[m] *= FIRST_HALF_STOPPAGE;
+            } else if (m + 1 == MatchTimeline.FULL_TIME) {
+                PROFILE[m] *= SECOND_HALF_STOPPAGE;
+            }
+            total += PROFILE[m];
+        }
+        for (int m = 0; m < PROFILE.length; m++) {
+            PROFILE[m] /= total;
+            CUMULATIVE[m + 1] = CUMULATIVE[m] + PROFILE[m];
+        }
+        CUMULATIVE[PROFILE.length] = 1.0;
+        int m = 0;
+        for (int g = 0; g < GRID; g++) {
+            while (CUMULATIVE[m + 1] <= (double) g / GRID) {
+                m++;
+            }
+            MINUTE_AT[g] = m;
+        }
+    }
+
+    private final double scoreStateEffect;
+
+    public MatchEventEngine() {
+        this(0.0);
+    }
+
+    /**
+     * @param scoreStateEffect Fraction by which a trailing side's scoring rate
+     *                         rises and a leading side's falls, in [0, 1).
+     */
+    public MatchEventEngine(double scoreStateEffect) {
+        if (!(scoreStateEffect >= 0 && scoreStateEffect < 1)) {
+            throw new IllegalArgumentException("Score-state effect must be in [0, 1): " + scoreStateEffect);
+        }
+        this.scoreStateEffect = scoreStateEffect;
+    }
+
+    @Override
+    public String toString() {
+        return "MatchEventEngine[scoreStateEffect=" + scoreStateEffect + "]";
+    }
+
+    /**
+     * @return The calling thread's timeline, holding its last match.
+     */
+    public static MatchTimeline currentTimeline() {
+        return TIMELINES.get();
+    }
+
+    /**
+     * @return The share of a match's goals expected by the end of the given
+     *         minute, 0 to 90.
+     */
+    static double shareBy(int minute) {
+        return CUMULATIVE[Math.max(0, Math.min(minute, MatchTimeline.FULL_TIME))];
+    }
+
+    /**
+     * Plays a whole match.
+     * @param uniforms Source of uniforms in [0, 1).
+     * @return The calling thread's timeline, refilled with this match.
+     */
+    public MatchTimeline simulate(double homeLambda, double awayLambda, DoubleSupplier uniforms) {
+        return simulateFrom(homeLambda, awayLambda, 0, 0, 0, uniforms);
+    }
+
+    /**
+     * Plays the rest of a match in progress.
+     * @param minute    Minutes already played, 0 to 90.
+     * @param homeGoals Score at that point.
+     * @return The calling thread's timeline, holding the final score and the
+     *         goals after the given minute.
+     */
+    public MatchTimeline simulateFrom(double homeLambda, double awayLambda, int minute, int homeGoals,
+            int awayGoals, DoubleSupplier uniforms) {
+        MatchTimeline timeline = TIMELINES.get();
+        timeline.clear(homeGoals, awayGoals);
+        int m = Math.max(0, Math.min(minute, MatchTimeline.FULL_TIME));
+        double position = CUMULATIVE[m];
+        if (scoreStateEffect == 0) {
+            double remaining = 1 - position;
+            int homeToCome = poissonGoals(homeLambda * remaining, uniforms.getAsDouble(), homeGoals);
+            int awayToCome = poissonGoals(awayLambda * remaining, uniforms.getAsDouble(), awayGoals);
+            for (int i = 0; i < homeToCome + awayToCome; i++) {
+                timeline.add(secondAt(position + remaining * uniforms.getAsDouble(), m), i >= homeToCome);
+            }
+            timeline.sortByTime();
+            return timeline;
+        }
+        while (true) {
+            int lead = timeline.getHomeGoals() - timeline.getAwayGoals();
+            double homeBase = timeline.getHomeGoals() < MatchModel.MAX_GOALS ? Math.max(homeLambda, 0) : 0;
+            double awayBase = timeline.getAwayGoals() < MatchModel.MAX_GOALS ? Math.max(awayLambda, 0) : 0;
+            // The state factors only move the rate between the sides; the
+            // total stays homeBase + awayBase
+            double rate = homeBase + awayBase;
+            if (rate <= 0) {
+                break;
+            }
+            double homeRate = homeBase * stateFactor(lead);
+            double awayRate = awayBase * stateFactor(-lead);
+            // Below homeShare the home side scores next; either way the
+            // uniform's place within its side's share is a fresh uniform
+            double u = uniforms.getAsDouble();
+            double homeShare = homeRate / (homeRate + awayRate);
+            boolean awayGoal = u >= homeShare;
+            double step = awayGoal ? (u - homeShare) / (1 - homeShare) : u / homeShare;
+            position -= Math.log(1 - step) / rate;
+            if (position >= 1.0) {
+                break;
+            }
+            timeline.add(secondAt(position, m), awayGoal);
+        }
+        return timeline;
+    }
+
+    // Goals still to come for a side on `already`, capped as in MatchSimulator
+    private static int poissonGoals(double lambda, double u, int already) {
+        int goals = lambda > 0 ? MatchSimulator.poissonFromUniform(lambda, u) : 0;
+        return Math.max(0, Math.min(goals, MatchModel.MAX_GOALS - already));
+    }
+
+    // The second of the match at a position in [CUMULATIVE[from], 1) of the profile
+    private static int secondAt(double position, int from) {
+        int m = Math.max(from, MINUTE_AT[(int) (position * GRID)]);
+        while (CUMULATIVE[m + 1] <= position) {
+            m++;
+        }
+        int second = m * 60 + (int) ((position - CUMULATIVE[m]) / PROFILE[m] * 60);
+        return Math.min(second, SECONDS - 1);
+    }
+
+    private double stateFactor(int lead) {
+        if (lead == 0) {
+            return 1.0;
+        }
+        return lead > 0 ? 1 - scoreStateEffect : 1 + scoreStateEffect;
+    }
+}
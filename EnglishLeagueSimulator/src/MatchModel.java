@@ -0,0 +1,83 @@
+/**
+ * The distribution of a match's scoreline given each side's expected goals,
+ * the lambdas MatchSimulator.calculateLambda produces. Models give both an
+ * exact probability, used to build the frozen-ratings tables (see
+ * ScorelineTables), and a sampler that inverts the distribution with exactly
+ * two uniforms, home goals first, so a fixture always uses the same number of
+ * draws and common random numbers and antithetic pairs keep working.
+ * Models hold no mutable state, so one instance is shared by every thread.
+ * Installed per run with SimulationContext.withMatchModel.
+ *
+ * The default, POISSON, never goes through this interface: MatchSimulator
+ * keeps its own per-side Poisson draws for it, so the standard model's output
+ * is unchanged. The interface is sealed and MatchSimulator resolves the
+ * model to its concrete class once, when it is built, with a separate call
+ * site per class. A long-running process mixing models across runs therefore
+ * never makes the per-match call polymorphic.
+ *
+ * Models are named on the command line, the server and the daemon as
+ * poisson, dixon-coles:RHO, bivariate:COVARIANCE or negative-binomial:
+ * DISPERSION (see parse).
+ */
+public sealed interface MatchModel
+        permits PoissonModel, DixonColesModel, BivariatePoissonModel, NegativeBinomialModel {
+    /** Goal counts are capped here, as in MatchSimulator. */
+    int MAX_GOALS = 30;
+
+    /** Independent Poisson goals: the standard model. */
+    MatchModel POISSON = new PoissonModel();
+
+    /**
+     * @return P(home scores homeGoals and away scores awayGoals).
+     */
+    double probability(double homeLambda, double awayLambda, int homeGoals, int awayGoals);
+
+    /**
+     * @param homeUniform Uniform in [0, 1) that decides the home goals.
+     * @param awayUniform Uniform in [0, 1) that decides the away goals given
+     *                    the home goals.
+     * @return homeGoals << 16 | awayGoals
+     */
+    int sample(double homeLambda, double awayLambda, double homeUniform, double awayUniform);
+
+    /**
+     * @param spec poisson, dixon-coles:RHO, bivariate:COVARIANCE or
+     *             negative-binomial:DISPERSION.
+     */
+    static MatchModel parse(String spec) {
+        int colon = spec.indexOf(':');
+        String name = colon < 0 ? spec : spec.substring(0, colon);
+        if (name.equals("poisson") && colon < 0) {
+            return POISSON;
+        }
+        if (colon < 0) {
+            throw new IllegalArgumentException("Unknown match model: " + spec);
+        }
+        double parameter;
+        try {
+            parameter = Double.parseDouble(spec.substring(colon + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid match model parameter: " + spec);
+        }
+        return switch (name) {
+            case "dixon-coles" -> new DixonColesModel(parameter);
+            case "bivariate" -> new BivariatePoissonModel(parameter);
+            case "negative-binomial" -> new NegativeBinomialModel(parameter);
+            default -> throw new IllegalArgumentException("Unknown match model: " + spec);
+        };
+    }
+
+    /**
+     * @return Pois(k; lambda), 1 at k = 0 for lambda <= 0.
+     */
+    static double poisson(double lambda, int k) {
+        if (lambda <= 0) {
+            return k == 0 ? 1.0 : 0.0;
+        }
+        double probability = Math.exp(-lambda);
+        for (int i = 1; i <= k; i++) {
+            probability *= lambda / i;
+        }
+        return probability;
+    }
+}
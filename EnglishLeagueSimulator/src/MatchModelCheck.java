@@ -0,0 +1,75 @@
+import java.util.Random;
+
+/**
+ * Checks every scoreline model against its own exact distribution: the pmf
+ * (up to the goal cap) must sum to 1 and keep both sides' means, and the sampler's scoreline
+ * frequencies must match the pmf (largest standardised cell deviation below
+ * MAX_Z over the cells expected to hold at least 20 draws). Also prints the
+ * cost of a draw. Exits with status 1 if any check fails.
+ *
+ * Usage: MatchModelCheck [samples] [model...]
+ *   e.g. MatchModelCheck 10000000 poisson dixon-coles:-0.13 bivariate:0.15
+ */
+public class MatchModelCheck {
+    private static final double MAX_Z = 5.0;
+    private static final double[][] LAMBDAS = { { 1.7, 0.9 }, { 1.3, 1.3 }, { 0.4, 3.1 }, { 5.3, 0.3 } };
+    private static final String[] DEFAULT_MODELS = { "poisson", "dixon-coles:-0.13", "bivariate:0.15",
+            "negative-binomial:8" };
+
+    public static void main(String[] args) {
+        int samples = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        String[] specs = args.length > 1 ? java.util.Arrays.copyOfRange(args, 1, args.length) : DEFAULT_MODELS;
+        boolean passed = true;
+        for (String spec : specs) {
+            MatchModel model = MatchModel.parse(spec);
+            for (double[] lambdas : LAMBDAS) {
+                passed &= check(model, lambdas[0], lambdas[1], samples, new Random(17));
+            }
+        }
+        System.out.println(passed ? "All checks passed" : "CHECKS FAILED");
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean check(MatchModel model, double homeLambda, double awayLambda, int samples,
+            Random random) {
+        int side = MatchModel.MAX_GOALS + 1;
+        double total = 0;
+        double homeMean = 0;
+        double awayMean = 0;
+        for (int home = 0; home < side; home++) {
+            for (int away = 0; away < side; away++) {
+                double p = model.probability(homeLambda, awayLambda, home, away);
+                total += p;
+                homeMean += home * p;
+                awayMean += away * p;
+            }
+        }
+        long[] counts = new long[side * side];
+        long start = System.nanoTime();
+        for (int i = 0; i < samples; i++) {
+            int score = model.sample(homeLambda, awayLambda, random.nextDouble(), random.nextDouble());
+            counts[(score >>> 16) * side + (score & 0xFFFF)]++;
+        }
+        double nanosPerDraw = (double) (System.nanoTime() - start) / samples;
+        double maxZ = 0;
+        int cells = 0;
+        for (int home = 0; home < side; home++) {
+            for (int away = 0; away < side; away++) {
+                double expected = model.probability(homeLambda, awayLambda, home, away) * samples;
+                if (expected >= 20) {
+                    cells++;
+                    maxZ = Math.max(maxZ, Math.abs(counts[home * side + away] - expected) / Math.sqrt(expected));
+                }
+            }
+        }
+        // The pmf is summed up to the goal cap, so heavy tails lose a little
+        boolean passed = Math.abs(total - 1) < 1e-6 && Math.abs(homeMean - homeLambda) < 1e-4
+                && Math.abs(awayMean - awayLambda) < 1e-4 && maxZ < MAX_Z;
+        System.out.printf("%-4s %-40s lambdas %.1f/%.1f  sum %.10f  means %.4f %.4f  max |z| %.2f over %d cells"
+                + "  %.0f ns/draw%n", passed ? "ok" : "FAIL", model, homeLambda, awayLambda, total, homeMean,
+                awayMean, maxZ, cells, nanosPerDraw);
+        return passed;
+    }
+}
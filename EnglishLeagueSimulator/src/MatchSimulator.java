@@ -1,7 +1,76 @@
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
+import java.util.function.DoubleSupplier;
 
 public class MatchSimulator {
-    protected final Random random = new Random();
+    protected final Random random;
+    protected final double homeAdvantage;
+    private final boolean antithetic;
+    // When seeded, each match re-seeds the stream so that two scenarios run from
+    // the same seed see identical random numbers fixture by fixture
+    private final boolean reseedPerMatch;
+    private final long streamSeed;
+    private long matchesStarted;
+    private final SimulationContext context;
+    private final boolean tilted;
+    private final boolean traced;
+    private final MatchSink matchSink;
+    // Frozen-ratings mode: no Elo updates, goals drawn from cached tables
+    private final ScorelineTables frozenRatings;
+    // The scoreline model; poissonGoals marks the standard one, which keeps
+    // the per-side draws of sampleGoals. Any other model is held in the one
+    // field of its own class, so each has its own monomorphic call site.
+    private final MatchModel matchModel;
+    private final boolean poissonGoals;
+    private final DixonColesModel dixonColes;
+    private final BivariatePoissonModel bivariatePoisson;
+    private final NegativeBinomialModel negativeBinomial;
+    // Frozen ratings without tilts (or Sobol points, for the Poisson model):
+    // whole scorelines are drawn from the joint tables, one random long per match
+    private final boolean jointScorelines;
+    // Event mode: matches are played goal by goal (see MatchEventEngine)
+    private final MatchEventEngine matchEvents;
+    private final DoubleSupplier uniforms = this::nextUniform;
+    private final NormalSampler normalSampler;
+    // Quasi-random mode: how often each (team1, team2) pairing has been played,
+    // so repeat meetings get their own block of the Sobol stream
+    private final Map<Long, Integer> pairingsPlayed;
+
+    public MatchSimulator() {
+        SimulationContext context = SimulationContext.current();
+        this.context = context;
+        this.tilted = context.hasLambdaTilts();
+        this.traced = context.isTracing();
+        this.matchSink = context.getMatchSink();
+        this.frozenRatings = context.getFrozenRatings();
+        this.normalSampler = context.isQuasiRandom() ? NormalSampler.JDK : context.getNormalSampler();
+        this.reseedPerMatch = context.isSeeded();
+        this.streamSeed = context.isSeeded() ? context.nextStreamSeed() : 0;
+        if (context.isQuasiRandom()) {
+            this.random = context.instrument(new SobolRandom(context.getQuasiRandomPoint(),
+                    context.getQuasiRandomLog2Points(), streamSeed));
+            this.pairingsPlayed = new HashMap<>();
+        } else {
+            this.random = context.instrument(context.isSeeded() ? new Random(streamSeed) : new Random());
+            this.pairingsPlayed = null;
+        }
+        this.homeAdvantage = context.getHomeAdvantage();
+        this.antithetic = context.isAntithetic();
+        this.matchModel = frozenRatings != null ? frozenRatings.getMatchModel() : context.getMatchModel();
+        this.poissonGoals = matchModel instanceof PoissonModel;
+        this.dixonColes = matchModel instanceof DixonColesModel model ? model : null;
+        this.bivariatePoisson = matchModel instanceof BivariatePoissonModel model ? model : null;
+        this.negativeBinomial = matchModel instanceof NegativeBinomialModel model ? model : null;
+        if (tilted && !poissonGoals) {
+            throw new IllegalStateException("Lambda tilts need the Poisson match model, not " + matchModel);
+        }
+        this.jointScorelines = frozenRatings != null && !tilted && (!context.isQuasiRandom() || !poissonGoals);
+        this.matchEvents = context.getMatchEvents();
+        if (matchEvents != null && (frozenRatings != null || tilted || !poissonGoals)) {
+            throw new IllegalStateException("Match events need live ratings, no tilts and the Poisson match model");
+        }
+    }
 
     /**
      * NEW METHOD: Simulates a match and returns the updated Match object with
@@ -12,49 +81,130 @@ public class MatchSimulator {
      * @return The same Match object, now populated with the result.
      */
     public Match simulateMatch(Match match) {
-        double homeLambda = calculateLambda(match.homeTeam, match.awayTeam, 1.25);
-        double awayLambda = calculateLambda(match.awayTeam, match.homeTeam, 1.0);
-        int homeGoals = getPoisson(homeLambda);
-        int awayGoals = getPoisson(awayLambda);
+        int result = playLeagueMatch(match.homeTeam, match.awayTeam);
 
         // Populate the match object with the results
-        match.homeGoals = homeGoals;
-        match.awayGoals = awayGoals;
+        match.homeGoals = result >>> 16;
+        match.awayGoals = result & 0xFFFF;
+        return match;
+    }
 
-        // Update stats and Elo ratings
-        updateEloRatings(match.homeTeam, match.awayTeam, homeGoals, awayGoals);
-        match.homeTeam.recordMatchResult(homeGoals, awayGoals);
-        match.awayTeam.recordMatchResult(awayGoals, homeGoals);
+    /**
+     * Simulates a fixture in a FixtureBuffer and writes the score back into
+     * it, exactly as simulateMatch does for a Match.
+     */
+    public void simulateFixture(FixtureBuffer fixtures, int fixture) {
+        int result = playLeagueMatch(fixtures.getHomeTeam(fixture), fixtures.getAwayTeam(fixture));
+        fixtures.setResult(fixture, result >>> 16, result & 0xFFFF);
+    }
 
-        return match;
+    /**
+     * Simulates every fixture in the buffer in order.
+     */
+    public void simulateFixtures(FixtureBuffer fixtures) {
+        for (int i = 0; i < fixtures.size(); i++) {
+            simulateFixture(fixtures, i);
+        }
+    }
+
+    // Plays a league match, updating Elo and both teams' records; returns
+    // homeGoals << 16 | awayGoals so no result object is needed
+    private int playLeagueMatch(Team homeTeam, Team awayTeam) {
+        beginMatch(homeTeam, awayTeam);
+        int homeGoals;
+        int awayGoals;
+        int[] fixedResult = context.getFixedResult(homeTeam, awayTeam);
+        if (fixedResult != null) {
+            homeGoals = fixedResult[0];
+            awayGoals = fixedResult[1];
+        } else {
+            int score = sampleScore(homeTeam, awayTeam, homeAdvantage);
+            homeGoals = score >>> 16;
+            awayGoals = score & 0xFFFF;
+        }
+
+        // Update stats and Elo ratings
+        updateEloRatings(homeTeam, awayTeam, homeGoals, awayGoals);
+        homeTeam.recordMatchResult(homeGoals, awayGoals);
+        awayTeam.recordMatchResult(awayGoals, homeGoals);
+        recordResult(homeTeam, awayTeam, homeGoals, awayGoals);
+        return (homeGoals << 16) | awayGoals;
     }
 
     public void simulateSingleMatch(Team team1, Team team2, boolean updateStats) {
-        double lambda1 = calculateLambda(team1, team2, 1.25); // Assume home advantage for team1
-        double lambda2 = calculateLambda(team2, team2, 1.0); // No home advantage for away team
-        int goals1 = getPoisson(lambda1);
-        int goals2 = getPoisson(lambda2);
+        beginMatch(team1, team2);
+        int score = sampleScore(team1, team2, homeAdvantage); // Assume home advantage for team1
+        int goals1 = score >>> 16;
+        int goals2 = score & 0xFFFF;
 
         if (updateStats) {
             team1.recordMatchResult(goals1, goals2);
             team2.recordMatchResult(goals2, goals1);
         }
         updateEloRatings(team1, team2, goals1, goals2);
+        recordResult(team1, team2, goals1, goals2);
     }
 
     public Team simulateSingleMatch(Team team1, Team team2) {
-        double lambda1 = calculateLambda(team1, team2, 1.0); // Neutral venue
-        double lambda2 = calculateLambda(team2, team1, 1.0);
-        int goals1 = getPoisson(lambda1);
-        int goals2 = getPoisson(lambda2);
+        beginMatch(team1, team2);
+        int score = sampleScore(team1, team2, 1.0); // Neutral venue
+        int goals1 = score >>> 16;
+        int goals2 = score & 0xFFFF;
 
         System.out.printf("%s %d - %d %s", team1.name, goals1, goals2, team2.name);
+        Team winner;
         if (goals1 == goals2) {
-            return resolveWithPenalties(team1, team2);
+            winner = resolveWithPenalties(team1, team2);
         } else {
             System.out.println("");
             updateEloRatings(team1, team2, goals1, goals2);
-            return goals1 > goals2 ? team1 : team2;
+            winner = goals1 > goals2 ? team1 : team2;
+        }
+        recordResult(team1, team2, goals1, goals2);
+        return winner;
+    }
+
+    /**
+     * Plays the rest of a match in progress goal by goal, for in-play odds.
+     * Neither team's record or Elo rating is touched and nothing reaches the
+     * match sink. Needs match events (see SimulationContext.withMatchEvents).
+     * @param minute Minutes played, 0 to 90.
+     * @return The calling thread's timeline (see MatchEventEngine.simulateFrom).
+     */
+    public MatchTimeline simulateInPlay(Team homeTeam, Team awayTeam, int minute, int homeGoals, int awayGoals) {
+        if (matchEvents == null) {
+            throw new IllegalStateException("In-play simulation needs match events");
+        }
+        beginMatch(homeTeam, awayTeam);
+        double homeLambda = calculateLambda(homeTeam, awayTeam, homeAdvantage);
+        double awayLambda = calculateLambda(awayTeam, homeTeam, 1.0);
+        return matchEvents.simulateFrom(homeLambda, awayLambda, minute, homeGoals, awayGoals, uniforms);
+    }
+
+    /**
+     * Marks the start of a new fixture. In a seeded context the random stream is
+     * re-seeded from (stream seed, match number) so every fixture draws from its
+     * own sub-stream, however many numbers earlier fixtures consumed.
+     * In quasi-random mode the sub-stream is keyed by the pairing instead of
+     * the match number, so a fixture keeps its Sobol block even when the draw
+     * or fixture order differs between runs.
+     */
+    protected void beginMatch(Team team1, Team team2) {
+        if (pairingsPlayed != null) {
+            long pairing = ((long) team1.name.hashCode() << 32) | (team2.name.hashCode() & 0xFFFFFFFFL);
+            int meeting = pairingsPlayed.merge(pairing, 1, Integer::sum);
+            random.setSeed(SimulationContext.mix(SimulationContext.mix(streamSeed, pairing), meeting));
+        } else if (reseedPerMatch) {
+            random.setSeed(SimulationContext.mix(streamSeed, ++matchesStarted));
+        }
+    }
+
+    /**
+     * Passes a finished match to the run's match sink, if there is one.
+     */
+    protected void recordResult(Team homeTeam, Team awayTeam, int homeGoals, int awayGoals) {
+        if (matchSink != null) {
+            matchSink.record(homeTeam, awayTeam, homeGoals, awayGoals);
         }
     }
 
@@ -72,32 +222,137 @@ public class MatchSimulator {
         return team1Pens > team2Pens ? team1 : team2;
     }
 
+    /**
+     * Draws the score of a match, homeGoals << 16 | awayGoals. In the joint
+     * scoreline mode this is a single alias-table draw; in event mode the
+     * match is played goal by goal and its timeline left in
+     * MatchEventEngine.currentTimeline(); with the Poisson model each side's
+     * goals are drawn in turn by sampleGoals; any other model draws both from
+     * the two lambdas with two uniforms.
+     */
+    protected int sampleScore(Team homeTeam, Team awayTeam, double advantageScaler) {
+        int homeGoals;
+        int awayGoals;
+        if (jointScorelines) {
+            long bits = random.nextLong();
+            int cell = frozenRatings.scorelineTable(homeTeam, awayTeam, advantageScaler)
+                    .sample(antithetic ? ~bits : bits);
+            homeGoals = ScorelineAliasTable.homeGoals(cell);
+            awayGoals = ScorelineAliasTable.awayGoals(cell);
+        } else if (matchEvents != null) {
+            double homeLambda = calculateLambda(homeTeam, awayTeam, advantageScaler);
+            double awayLambda = calculateLambda(awayTeam, homeTeam, 1.0);
+            MatchTimeline timeline = matchEvents.simulate(homeLambda, awayLambda, uniforms);
+            homeGoals = timeline.getHomeGoals();
+            awayGoals = timeline.getAwayGoals();
+        } else if (poissonGoals) {
+            homeGoals = sampleGoals(homeTeam, awayTeam, advantageScaler);
+            return (homeGoals << 16) | sampleGoals(awayTeam, homeTeam, 1.0);
+        } else {
+            double homeLambda = calculateLambda(homeTeam, awayTeam, advantageScaler);
+            double awayLambda = calculateLambda(awayTeam, homeTeam, 1.0);
+            double homeUniform = nextUniform();
+            double awayUniform = nextUniform();
+            int score;
+            if (dixonColes != null) {
+                score = dixonColes.sample(homeLambda, awayLambda, homeUniform, awayUniform);
+            } else if (bivariatePoisson != null) {
+                score = bivariatePoisson.sample(homeLambda, awayLambda, homeUniform, awayUniform);
+            } else {
+                score = negativeBinomial.sample(homeLambda, awayLambda, homeUniform, awayUniform);
+            }
+            homeGoals = score >>> 16;
+            awayGoals = score & 0xFFFF;
+        }
+        if (traced) {
+            context.traceGoals(homeGoals);
+            context.traceGoals(awayGoals);
+        }
+        return (homeGoals << 16) | awayGoals;
+    }
+
+    /**
+     * Draws the goals one side scores in a match.
+     * If the context tilts either team's lambda (importance sampling), the goals
+     * are drawn from the tilted Poisson and the likelihood ratio of the draw
+     * under the real model is added to the run's weight.
+     * With ratings frozen (and no tilt), the goals come straight from the
+     * pairing's cached distribution, jitter included, with a single uniform.
+     * When the run is being recorded or replayed the goal count is traced too.
+     */
+    protected int sampleGoals(Team attackingTeam, Team defendingTeam, double advantageScaler) {
+        int goals;
+        if (frozenRatings != null && !tilted) {
+            goals = ScorelineTables.sample(frozenRatings.goalsCdf(attackingTeam, defendingTeam, advantageScaler),
+                    nextUniform());
+        } else if (!tilted) {
+            goals = getPoisson(calculateLambda(attackingTeam, defendingTeam, advantageScaler));
+        } else {
+            double lambda = calculateLambda(attackingTeam, defendingTeam, advantageScaler);
+            double tilt = context.getLambdaTilt(attackingTeam) / context.getLambdaTilt(defendingTeam);
+            goals = getPoisson(lambda * tilt);
+            // log[ Pois(k; lambda) / Pois(k; lambda * tilt) ] = -k ln(tilt) + lambda (tilt - 1)
+            context.addLogWeight(lambda * (tilt - 1) - goals * Math.log(tilt));
+        }
+        if (traced) {
+            context.traceGoals(goals);
+        }
+        return goals;
+    }
+
     protected double calculateLambda(Team attackingTeam, Team defendingTeam, double advantageScaler) {
         double baseLambda = 1.3;
-        double strengthRatio = (double) attackingTeam.getAttackStrength() / (double) defendingTeam.getDefenceStrength();
-        double strengthFactor = Math.pow(strengthRatio, 1.5);
+        double strengthFactor = StrengthFactors.strengthFactor(attackingTeam.attackStrength,
+                defendingTeam.defenceStrength);
         double eloDifference = attackingTeam.getEloRating() - defendingTeam.getEloRating();
         // Increased eloFactor multiplier from 0.4 to 0.6
         double eloFactor = 1 + (eloDifference / 400.0) * 0.6;
         double finalLambda = baseLambda * strengthFactor * eloFactor * advantageScaler;
-        finalLambda *= (1 + (random.nextGaussian() * 0.02));
+        finalLambda *= (1 + (nextGaussian() * 0.02));
         return finalLambda;
     }
 
+    /**
+     * Draws a Poisson variate by inverting the CDF with a single uniform.
+     * Using exactly one uniform per draw (rather than multiplying uniforms until
+     * the product drops below e^-lambda) keeps the number of draws per fixture
+     * fixed and makes the goal count monotone in u, which is what common random
+     * numbers and antithetic pairing rely on.
+     */
     protected int getPoisson(double lambda) {
         if (lambda <= 0)
             return 0;
-        double l = Math.exp(-lambda);
+        return poissonFromUniform(lambda, nextUniform());
+    }
+
+    static int poissonFromUniform(double lambda, double u) {
+        double probability = Math.exp(-lambda);
+        double cumulative = probability;
         int k = 0;
-        double p = 1.0;
-        do {
+        while (u >= cumulative && k < MAX_GOALS) {
             k++;
-            p *= random.nextDouble();
-        } while (p > l);
-        return k - 1;
+            probability *= lambda / k;
+            cumulative += probability;
+        }
+        return k;
+    }
+
+    private static final int MAX_GOALS = 30;
+
+    protected double nextUniform() {
+        double u = random.nextDouble();
+        return antithetic ? 1.0 - u : u;
+    }
+
+    protected double nextGaussian() {
+        double z = normalSampler.nextGaussian(random);
+        return antithetic ? -z : z;
     }
 
     protected void updateEloRatings(Team team1, Team team2, int goals1, int goals2) {
+        if (frozenRatings != null) {
+            return;
+        }
         double result1 = 0.5;
         if (goals1 > goals2)
             result1 = 1.0;
@@ -0,0 +1,15 @@
+/**
+ * Receives every match result the simulators produce in a run, e.g. to
+ * archive it (see OffHeapMatchStore). Installed per run with
+ * SimulationContext.withMatchSink; a sink is only used by the thread running
+ * that run.
+ */
+public interface MatchSink {
+
+    /**
+     * Called once per match (once per leg of a two-legged tie), after any
+     * Elo update for it. Ties settled on penalties are recorded
+     * with the score before the shoot-out.
+     */
+    void record(Team homeTeam, Team awayTeam, int homeGoals, int awayGoals);
+}
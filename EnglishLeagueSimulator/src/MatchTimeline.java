@@ -0,0 +1,100 @@
+/**
+ * The goals of one match in the order they were scored, packed into one int
+ * per goal instead of an event object:
+ *
+ *   bits 1-31 second of the match the goal came in (0 .. 5399), bit 0 set
+ *   for an away goal
+ *
+ * Stoppage time is counted in the 45th and 90th minutes. A timeline is
+ * refilled for every match (see MatchEventEngine), so read it before the next
+ * match on the same thread or copy what is needed.
+ */
+public final class MatchTimeline {
+    public static final int HALF_TIME = 45;
+    public static final int FULL_TIME = 90;
+
+    private final int[] events = new int[2 * MatchModel.MAX_GOALS];
+    private int size;
+    private int homeGoals;
+    private int awayGoals;
+
+    void clear(int homeGoals, int awayGoals) {
+        this.size = 0;
+        this.homeGoals = homeGoals;
+        this.awayGoals = awayGoals;
+    }
+
+    void add(int second, boolean awayGoal) {
+        events[size++] = (second << 1) | (awayGoal ? 1 : 0);
+        if (awayGoal) {
+            awayGoals++;
+        } else {
+            homeGoals++;
+        }
+    }
+
+    // Puts goals added out of order back in time order
+    void sortByTime() {
+        for (int i = 1; i < size; i++) {
+            int event = events[i];
+            int j = i - 1;
+            while (j >= 0 && events[j] > event) {
+                events[j + 1] = events[j];
+                j--;
+            }
+            events[j + 1] = event;
+        }
+    }
+
+    /**
+     * @return Goals in the timeline; for an in-play simulation this excludes
+     *         the goals already scored when it started.
+     */
+    public int size() { return size; }
+
+    /**
+     * @return The minute of the i-th goal, 1 to 90.
+     */
+    public int getMinute(int i) {
+        return (events[i] >>> 1) / 60 + 1;
+    }
+
+    public int getSecond(int i) {
+        return events[i] >>> 1;
+    }
+
+    public boolean isAwayGoal(int i) {
+        return (events[i] & 1) != 0;
+    }
+
+    public int getHomeGoals() { return homeGoals; }
+    public int getAwayGoals() { return awayGoals; }
+
+    /**
+     * @return Home goals by the end of the given minute (e.g. HALF_TIME).
+     */
+    public int getHomeGoalsAt(int minute) {
+        return homeGoals - goalsAfter(minute, false);
+    }
+
+    public int getAwayGoalsAt(int minute) {
+        return awayGoals - goalsAfter(minute, true);
+    }
+
+    /**
+     * @return True if either side scored after the given minute.
+     */
+    public boolean hasGoalAfter(int minute) {
+        return size > 0 && getMinute(size - 1) > minute;
+    }
+
+    private int goalsAfter(int minute, boolean away) {
+        int goals = 0;
+        for (int i = size - 1; i >= 0 && getMinute(i) > minute; i--) {
+            if (isAwayGoal(i) == away) {
+                goals++;
+            }
+        }
+        return goals;
+    }
+}
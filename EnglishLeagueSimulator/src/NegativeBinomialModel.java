@@ -0,0 +1,52 @@
+/**
+ * Independent negative binomial goals: each side's mean is its lambda but the
+ * variance is lambda + lambda^2 / dispersion, for leagues whose scores are
+ * more spread out than Poisson. As the dispersion grows this tends to the
+ * standard model.
+ */
+public record NegativeBinomialModel(double dispersion) implements MatchModel {
+
+    public NegativeBinomialModel {
+        if (!(dispersion > 0)) {
+            throw new IllegalArgumentException("Dispersion must be positive: " + dispersion);
+        }
+    }
+
+    @Override
+    public double probability(double homeLambda, double awayLambda, int homeGoals, int awayGoals) {
+        return probability(homeLambda, homeGoals) * probability(awayLambda, awayGoals);
+    }
+
+    @Override
+    public int sample(double homeLambda, double awayLambda, double homeUniform, double awayUniform) {
+        return (goalsFromUniform(homeLambda, homeUniform) << 16) | goalsFromUniform(awayLambda, awayUniform);
+    }
+
+    private double probability(double lambda, int k) {
+        if (lambda <= 0) {
+            return k == 0 ? 1.0 : 0.0;
+        }
+        double probability = Math.pow(dispersion / (dispersion + lambda), dispersion);
+        double ratio = lambda / (dispersion + lambda);
+        for (int i = 0; i < k; i++) {
+            probability *= (i + dispersion) / (i + 1) * ratio;
+        }
+        return probability;
+    }
+
+    private int goalsFromUniform(double lambda, double u) {
+        if (lambda <= 0) {
+            return 0;
+        }
+        double ratio = lambda / (dispersion + lambda);
+        double probability = Math.pow(dispersion / (dispersion + lambda), dispersion);
+        double cumulative = probability;
+        int k = 0;
+        while (u >= cumulative && k < MAX_GOALS) {
+            probability *= (k + dispersion) / (k + 1) * ratio;
+            cumulative += probability;
+            k++;
+        }
+        return k;
+    }
+}
@@ -0,0 +1,23 @@
+import java.util.Random;
+
+/**
+ * Draws standard normal variates from a simulator's Random, e.g. for the
+ * lambda jitter in MatchSimulator.calculateLambda. Samplers hold no mutable
+ * state, so one instance is shared by every thread; all state lives in the
+ * Random passed in, which each simulator owns.
+ * Installed per run with SimulationContext.withNormalSampler.
+ */
+public interface NormalSampler {
+
+    /**
+     * Random.nextGaussian: the polar method, two uniforms plus a log and a
+     * sqrt per pair, behind a synchronized method. Quasi-random runs always
+     * use it, since SobolRandom answers nextGaussian from a single coordinate.
+     */
+    NormalSampler JDK = Random::nextGaussian;
+
+    /** The default (see ZigguratSampler). */
+    NormalSampler ZIGGURAT = ZigguratSampler.INSTANCE;
+
+    double nextGaussian(Random random);
+}
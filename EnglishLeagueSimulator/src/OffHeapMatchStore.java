@@ -0,0 +1,327 @@
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Append-only store of every simulated match, kept outside the Java heap so
+ * billions of results cost no GC time.
+ *
+ * Each match is a fixed 16-byte record (little-endian):
+ *   run id (int), fixture id (unsigned short), home goals (byte),
+ *   away goals (byte), home Elo after (float), away Elo after (float).
+ * A fixture id stands for an ordered (home team, away team) pair and is
+ * handed out the first time the pair plays, so repeat meetings in a run
+ * (cups, splits) share an id. Records live in 64 MB blocks that are
+ * allocated from a shared Arena, or mapped from a file when the store must
+ * outgrow memory, as they are first needed.
+ *
+ * Simulation threads append through their own Writer, which buffers a batch
+ * of records and claims space for the whole batch at once. Once the appends
+ * are finished, the store can be scanned in order, and buildFixtureIndex
+ * groups the records by fixture so that queries such as scorelineDistribution
+ * read only the matching records.
+ */
+public class OffHeapMatchStore implements AutoCloseable {
+    public static final int RECORD_BYTES = 16;
+    private static final int BLOCK_SHIFT = 22; // 4M records = 64 MB per block
+    private static final long BLOCK_RECORDS = 1L << BLOCK_SHIFT;
+    private static final long BLOCK_BYTES = BLOCK_RECORDS * RECORD_BYTES;
+    private static final int MAX_FIXTURES = 0xFFFF;
+    private static final int WRITER_BUFFER_RECORDS = 1024;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT_UNALIGNED = INT.withByteAlignment(1);
+    private static final ValueLayout.OfShort SHORT_UNALIGNED = SHORT.withByteAlignment(1);
+    private static final ValueLayout.OfFloat FLOAT_UNALIGNED = FLOAT.withByteAlignment(1);
+
+    private final Arena arena = Arena.ofShared();
+    private final FileChannel file;
+    private final long capacity;
+    private final AtomicReferenceArray<MemorySegment> blocks;
+    private final AtomicLong size = new AtomicLong();
+    private final Map<String, Map<String, Integer>> fixtureIds = new ConcurrentHashMap<>();
+    private final List<String[]> fixtures = new ArrayList<>();
+    private MemorySegment fixtureIndex;
+    private long[] fixtureStarts;
+
+    /**
+     * Visits one record; the arguments are the record's fields.
+     */
+    public interface RecordVisitor {
+        void visit(int run, int fixture, int homeGoals, int awayGoals, float homeElo, float awayElo);
+    }
+
+    /**
+     * Creates an in-memory store.
+     * @param capacity Maximum number of records. Memory is only allocated,
+     *                 block by block, as records arrive.
+     */
+    public OffHeapMatchStore(long capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * @param file If not null, the records are written to this file through
+     *             memory-mapped blocks instead of anonymous memory. On close
+     *             the file is truncated to exactly the records appended.
+     */
+    public OffHeapMatchStore(long capacity, Path file) {
+        this.capacity = capacity;
+        this.blocks = new AtomicReferenceArray<>((int) ((capacity + BLOCK_RECORDS - 1) >>> BLOCK_SHIFT));
+        try {
+            this.file = file == null ? null : FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot open match store file " + file, e);
+        }
+    }
+
+    public long size() { return size.get(); }
+    public long getCapacity() { return capacity; }
+    public int getFixtureCount() { return fixtures.size(); }
+
+    /**
+     * @return The fixture's id, assigning the next free id on first use.
+     */
+    public int fixtureId(String homeTeam, String awayTeam) {
+        Map<String, Integer> byAway = fixtureIds.get(homeTeam);
+        Integer id = byAway == null ? null : byAway.get(awayTeam);
+        return id != null ? id : assignFixtureId(homeTeam, awayTeam);
+    }
+
+    private synchronized int assignFixtureId(String homeTeam, String awayTeam) {
+        Map<String, Integer> byAway = fixtureIds.computeIfAbsent(homeTeam, team -> new ConcurrentHashMap<>());
+        Integer id = byAway.get(awayTeam);
+        if (id != null) {
+            return id;
+        }
+        if (fixtures.size() == MAX_FIXTURES) {
+            throw new IllegalStateException("More than " + MAX_FIXTURES + " distinct fixtures");
+        }
+        fixtures.add(new String[] { homeTeam, awayTeam });
+        byAway.put(awayTeam, fixtures.size() - 1);
+        return fixtures.size() - 1;
+    }
+
+    /**
+     * @return The fixture's id, or -1 if the pair never played.
+     */
+    public int findFixture(String homeTeam, String awayTeam) {
+        Map<String, Integer> byAway = fixtureIds.get(homeTeam);
+        Integer id = byAway == null ? null : byAway.get(awayTeam);
+        return id == null ? -1 : id;
+    }
+
+    public synchronized String[] getFixture(int fixture) {
+        return fixtures.get(fixture).clone();
+    }
+
+    // --- WRITING ---
+
+    /**
+     * @return A new writer. Writers are not thread-safe: give each thread its
+     *         own and flush it when the thread is done.
+     */
+    public Writer newWriter() {
+        return new Writer();
+    }
+
+    /**
+     * Buffers records on the heap and appends them to the store in batches,
+     * so the threads contend for space once per batch rather than per match.
+     */
+    public class Writer implements MatchSink {
+        private final MemorySegment buffer = MemorySegment.ofArray(new byte[WRITER_BUFFER_RECORDS * RECORD_BYTES]);
+        private int buffered;
+        private int run;
+
+        /**
+         * Sets the run id stamped on the records that follow.
+         */
+        public void setRun(int run) {
+            this.run = run;
+        }
+
+        @Override
+        public void record(Team homeTeam, Team awayTeam, int homeGoals, int awayGoals) {
+            add(run, fixtureId(homeTeam.getName(), awayTeam.getName()), homeGoals, awayGoals,
+                    (float) homeTeam.getEloRating(), (float) awayTeam.getEloRating());
+        }
+
+        public void add(int run, int fixture, int homeGoals, int awayGoals, float homeElo, float awayElo) {
+            long offset = (long) buffered * RECORD_BYTES;
+            buffer.set(INT_UNALIGNED, offset, run);
+            buffer.set(SHORT_UNALIGNED, offset + 4, (short) fixture);
+            buffer.set(ValueLayout.JAVA_BYTE, offset + 6, (byte) Math.min(homeGoals, Byte.MAX_VALUE));
+            buffer.set(ValueLayout.JAVA_BYTE, offset + 7, (byte) Math.min(awayGoals, Byte.MAX_VALUE));
+            buffer.set(FLOAT_UNALIGNED, offset + 8, homeElo);
+            buffer.set(FLOAT_UNALIGNED, offset + 12, awayElo);
+            if (++buffered == WRITER_BUFFER_RECORDS) {
+                flush();
+            }
+        }
+
+        /**
+         * Appends the buffered records to the store.
+         */
+        public void flush() {
+            if (buffered == 0) {
+                return;
+            }
+            // Reserve the records only if they fit, so a full store keeps its
+            // size and stays readable
+            long first;
+            do {
+                first = size.get();
+                if (first + buffered > capacity) {
+                    throw new IllegalStateException("Match store is full (" + capacity + " records)");
+                }
+            } while (!size.compareAndSet(first, first + buffered));
+            long copied = 0;
+            while (copied < buffered) {
+                long index = first + copied;
+                long inBlock = Math.min(buffered - copied, BLOCK_RECORDS - (index & (BLOCK_RECORDS - 1)));
+                MemorySegment.copy(buffer, copied * RECORD_BYTES, block(index), offsetInBlock(index),
+                        inBlock * RECORD_BYTES);
+                copied += inBlock;
+            }
+            buffered = 0;
+        }
+    }
+
+    private MemorySegment block(long index) {
+        int b = (int) (index >>> BLOCK_SHIFT);
+        MemorySegment block = blocks.get(b);
+        return block != null ? block : allocateBlock(b);
+    }
+
+    private synchronized MemorySegment allocateBlock(int b) {
+        MemorySegment block = blocks.get(b);
+        if (block != null) {
+            return block;
+        }
+        if (file == null) {
+            block = arena.allocate(BLOCK_BYTES, RECORD_BYTES);
+        } else {
+            try {
+                block = file.map(FileChannel.MapMode.READ_WRITE, b * BLOCK_BYTES, BLOCK_BYTES, arena);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot map block " + b + " of the match store file", e);
+            }
+        }
+        blocks.set(b, block);
+        return block;
+    }
+
+    private static long offsetInBlock(long index) {
+        return (index & (BLOCK_RECORDS - 1)) * RECORD_BYTES;
+    }
+
+    // --- READING ---
+
+    /**
+     * Visits one record by its position in append order.
+     */
+    public void read(long index, RecordVisitor visitor) {
+        MemorySegment block = block(index);
+        long offset = offsetInBlock(index);
+        visitor.visit(block.get(INT, offset), Short.toUnsignedInt(block.get(SHORT, offset + 4)),
+                block.get(ValueLayout.JAVA_BYTE, offset + 6), block.get(ValueLayout.JAVA_BYTE, offset + 7),
+                block.get(FLOAT, offset + 8), block.get(FLOAT, offset + 12));
+    }
+
+    /**
+     * Visits every record in append order. Call once appends have finished.
+     */
+    public void scan(RecordVisitor visitor) {
+        long records = size.get();
+        for (long index = 0; index < records; index++) {
+            read(index, visitor);
+        }
+    }
+
+    /**
+     * Groups the record positions by fixture (a counting sort into an
+     * off-heap array of longs), so forEachOfFixture reads only the records of
+     * one fixture. Call once appends have finished; a later append makes the
+     * index stale and drops it.
+     */
+    public synchronized void buildFixtureIndex() {
+        long records = size.get();
+        long[] starts = new long[fixtures.size() + 1];
+        scan((run, fixture, homeGoals, awayGoals, homeElo, awayElo) -> starts[fixture + 1]++);
+        for (int f = 0; f < fixtures.size(); f++) {
+            starts[f + 1] += starts[f];
+        }
+        long[] next = starts.clone();
+        MemorySegment index = arena.allocate(Math.max(records, 1) * Long.BYTES, Long.BYTES);
+        for (long position = 0; position < records; position++) {
+            MemorySegment block = block(position);
+            int fixture = Short.toUnsignedInt(block.get(SHORT, offsetInBlock(position) + 4));
+            index.set(LONG, next[fixture]++ * Long.BYTES, position);
+        }
+        this.fixtureIndex = index;
+        this.fixtureStarts = starts;
+    }
+
+    /**
+     * Visits every record of one fixture, through the fixture index if it is
+     * up to date and by a full scan otherwise.
+     */
+    public void forEachOfFixture(int fixture, RecordVisitor visitor) {
+        long[] starts = fixtureStarts;
+        if (starts != null && starts[starts.length - 1] == size.get() && fixture < starts.length - 1) {
+            for (long i = starts[fixture]; i < starts[fixture + 1]; i++) {
+                read(fixtureIndex.get(LONG, i * Long.BYTES), visitor);
+            }
+            return;
+        }
+        scan((run, f, homeGoals, awayGoals, homeElo, awayElo) -> {
+            if (f == fixture) {
+                visitor.visit(run, f, homeGoals, awayGoals, homeElo, awayElo);
+            }
+        });
+    }
+
+    /**
+     * @return counts[h][a] = number of meetings of homeTeam v awayTeam that
+     *         ended h-a, with scores above maxGoals counted at maxGoals.
+     */
+    public long[][] scorelineDistribution(String homeTeam, String awayTeam, int maxGoals) {
+        long[][] counts = new long[maxGoals + 1][maxGoals + 1];
+        int fixture = findFixture(homeTeam, awayTeam);
+        if (fixture >= 0) {
+            forEachOfFixture(fixture, (run, f, homeGoals, awayGoals, homeElo, awayElo) ->
+                    counts[Math.min(homeGoals, maxGoals)][Math.min(awayGoals, maxGoals)]++);
+        }
+        return counts;
+    }
+
+    /**
+     * Releases the memory (unmapping a file-backed store and trimming the file
+     * to the records written). Writers must have been flushed.
+     */
+    @Override
+    public void close() throws IOException {
+        arena.close();
+        if (file != null) {
+            try (FileChannel channel = file) {
+                channel.truncate(size.get() * RECORD_BYTES);
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Compares two scenarios using common random numbers.
+ * For every run the baseline and the variant are simulated from the same seed,
+ * and the simulators re-seed per fixture, so both seasons see identical random
+ * numbers match by match and only the scenario change moves the outcome. The
+ * per-run differences therefore have far lower variance than the difference
+ * of two independent estimates. Optionally each run is also paired with its
+ * antithetic partner (every uniform u replaced by 1 - u).
+ *
+ * Usage: PairedScenarioRunner [league] [runs] [variantHomeAdvantage] [antithetic] [threads]
+ */
+public class PairedScenarioRunner {
+    static final int TITLE = 0;
+    static final int UCL = 1;
+    static final int RELEGATED = 2;
+    static final int POINTS = 3;
+    static final int METRICS = 4;
+    private static final String[] METRIC_NAMES = { "Title", "UCL", "Relegated", "Points" };
+
+    /**
+     * Running sums for one worker; merged at the end.
+     */
+    static class PairedStats {
+        final int teamCount;
+        final double[] sumBaseline;
+        final double[] sumSquaresBaseline;
+        final double[] sumVariant;
+        final double[] sumSquaresVariant;
+        final double[] sumDelta;
+        final double[] sumSquaresDelta;
+        long runs;
+
+        PairedStats(int teamCount) {
+            this.teamCount = teamCount;
+            int size = teamCount * METRICS;
+            this.sumBaseline = new double[size];
+            this.sumSquaresBaseline = new double[size];
+            this.sumVariant = new double[size];
+            this.sumSquaresVariant = new double[size];
+            this.sumDelta = new double[size];
+            this.sumSquaresDelta = new double[size];
+        }
+
+        void add(double[] baseline, double[] variant) {
+            for (int i = 0; i < baseline.length; i++) {
+                double delta = variant[i] - baseline[i];
+                sumBaseline[i] += baseline[i];
+                sumSquaresBaseline[i] += baseline[i] * baseline[i];
+                sumVariant[i] += variant[i];
+                sumSquaresVariant[i] += variant[i] * variant[i];
+                sumDelta[i] += delta;
+                sumSquaresDelta[i] += delta * delta;
+            }
+            runs++;
+        }
+
+        void merge(PairedStats other) {
+            for (int i = 0; i < sumDelta.length; i++) {
+                sumBaseline[i] += other.sumBaseline[i];
+                sumSquaresBaseline[i] += other.sumSquaresBaseline[i];
+                sumVariant[i] += other.sumVariant[i];
+                sumSquaresVariant[i] += other.sumSquaresVariant[i];
+                sumDelta[i] += other.sumDelta[i];
+                sumSquaresDelta[i] += other.sumSquaresDelta[i];
+            }
+            runs += other.runs;
+        }
+
+        double mean(double[] sums, int team, int metric) {
+            return sums[team * METRICS + metric] / runs;
+        }
+
+        private double variance(double[] sums, double[] sumSquares, int index) {
+            double mean = sums[index] / runs;
+            return Math.max(0.0, (sumSquares[index] / runs - mean * mean) * runs / Math.max(1, runs - 1));
+        }
+
+        double deltaStandardError(int team, int metric) {
+            return Math.sqrt(variance(sumDelta, sumSquaresDelta, team * METRICS + metric) / runs);
+        }
+
+        /**
+         * @return Standard error the same delta would have had if the two
+         *         scenarios had been run independently with the same run count.
+         */
+        double independentStandardError(int team, int metric) {
+            int index = team * METRICS + metric;
+            return Math.sqrt((variance(sumBaseline, sumSquaresBaseline, index)
+                    + variance(sumVariant, sumSquaresVariant, index)) / runs);
+        }
+    }
+
+    public static void main(String[] args) {
+        String leagueName = args.length > 0 ? args[0] : "Premier_League";
+        long runs = args.length > 1 ? Long.parseLong(args[1]) : 10_000;
+        double variantHomeAdvantage = args.length > 2 ? Double.parseDouble(args[2]) : 1.15;
+        boolean antithetic = args.length > 3 && Boolean.parseBoolean(args[3]);
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        Scenario baseline = new Scenario("Baseline");
+        Scenario variant = new Scenario("Home advantage " + variantHomeAdvantage)
+                .withHomeAdvantage(variantHomeAdvantage);
+
+        long start = System.nanoTime();
+        List<String> teamNames = LeagueMonteCarlo.teamNamesOf(() -> DomesticLeague.create(leagueName));
+        PairedStats stats = run(() -> DomesticLeague.create(leagueName), teamNames, baseline, variant, runs,
+                antithetic, 1L, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("--- %s: '%s' vs '%s', %d paired runs%s in %.1fs ---%n", leagueName, variant.getName(),
+                baseline.getName(), stats.runs, antithetic ? " (antithetic)" : "", seconds);
+        printDeltas(teamNames, stats);
+    }
+
+    /**
+     * Runs the paired comparison.
+     * @param teamNames  Team list defining the result indices.
+     * @param baseSeed   Seed from which every run's seed is derived.
+     * @param antithetic If true, each run is averaged with its antithetic
+     *                   partner before the difference is taken.
+     */
+    static PairedStats run(Supplier<DomesticLeague> leagueFactory, List<String> teamNames, Scenario baseline,
+            Scenario variant, long runs, boolean antithetic, long baseSeed, int threads) {
+        AtomicLong nextRun = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        SilentOutput.begin();
+        try {
+            List<Future<PairedStats>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(pool.submit(() -> {
+                    PairedStats stats = new PairedStats(teamNames.size());
+                    long run;
+                    while ((run = nextRun.getAndIncrement()) < runs) {
+                        long seed = SimulationContext.mix(baseSeed, run);
+                        double[] baselineOutcome = simulate(leagueFactory, teamNames, baseline, seed, antithetic);
+                        double[] variantOutcome = simulate(leagueFactory, teamNames, variant, seed, antithetic);
+                        stats.add(baselineOutcome, variantOutcome);
+                    }
+                    return stats;
+                }));
+            }
+            PairedStats merged = new PairedStats(teamNames.size());
+            for (Future<PairedStats> worker : workers) {
+                merged.merge(worker.get());
+            }
+            return merged;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Paired run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Paired run worker failed", e.getCause());
+        } finally {
+            SilentOutput.end();
+            pool.shutdown();
+        }
+    }
+
+    private static double[] simulate(Supplier<DomesticLeague> leagueFactory, List<String> teamNames,
+            Scenario scenario, long seed, boolean antithetic) {
+        double[] outcome = simulateOnce(leagueFactory, teamNames, scenario, scenario.newContext(seed, false));
+        if (antithetic) {
+            double[] mirrored = simulateOnce(leagueFactory, teamNames, scenario, scenario.newContext(seed, true));
+            for (int i = 0; i < outcome.length; i++) {
+                outcome[i] = (outcome[i] + mirrored[i]) / 2;
+            }
+        }
+        return outcome;
+    }
+
+    private static double[] simulateOnce(Supplier<DomesticLeague> leagueFactory, List<String> teamNames,
+            Scenario scenario, SimulationContext context) {
+        double[] outcome = new double[teamNames.size() * METRICS];
+        context.run(() -> {
+            DomesticLeague league = leagueFactory.get();
+            league.setupTeams();
+            scenario.applyTo(league.getTeams());
+            league.simulateFullSeason();
+
+            List<Team> standings = league.getFinalStandings();
+            for (int position = 0; position < standings.size(); position++) {
+                Team team = standings.get(position);
+                int t = teamNames.indexOf(team.getName());
+                outcome[t * METRICS + TITLE] = position == 0 ? 1 : 0;
+                outcome[t * METRICS + RELEGATED] = position >= standings.size() - league.getRelegationPlaces() ? 1 : 0;
+                outcome[t * METRICS + POINTS] = team.getPoints();
+            }
+            for (Team team : league.getUclTeams()) {
+                outcome[teamNames.indexOf(team.getName()) * METRICS + UCL] = 1;
+            }
+        });
+        return outcome;
+    }
+
+    private static void printDeltas(List<String> teamNames, PairedStats stats) {
+        System.out.printf("%-26s", "Team");
+        for (String metric : METRIC_NAMES) {
+            System.out.printf(" | %-19s", "d" + metric + " (SE)");
+        }
+        System.out.println();
+        double pairedVariance = 0;
+        double independentVariance = 0;
+        for (int t = 0; t < teamNames.size(); t++) {
+            System.out.printf("%-26s", teamNames.get(t));
+            for (int m = 0; m < METRICS; m++) {
+                double scale = m == POINTS ? 1 : 100;
+                String unit = m == POINTS ? "" : "%";
+                double se = stats.deltaStandardError(t, m);
+                System.out.printf(" | %+8.3f%s (%6.3f%s)%s", scale * stats.mean(stats.sumDelta, t, m), unit,
+                        scale * se, unit, m == POINTS ? "  " : "");
+                pairedVariance += se * se;
+                double independentSe = stats.independentStandardError(t, m);
+                independentVariance += independentSe * independentSe;
+            }
+            System.out.println();
+        }
+        if (pairedVariance > 0) {
+            System.out.printf("Variance reduction vs independent runs: %.1fx (same precision with %.0f%% of the runs)%n",
+                    independentVariance / pairedVariance, 100 * pairedVariance / independentVariance);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+/**
+ * Independent Poisson goals for the two sides; MatchModel.POISSON.
+ */
+public record PoissonModel() implements MatchModel {
+
+    @Override
+    public double probability(double homeLambda, double awayLambda, int homeGoals, int awayGoals) {
+        return MatchModel.poisson(homeLambda, homeGoals) * MatchModel.poisson(awayLambda, awayGoals);
+    }
+
+    @Override
+    public int sample(double homeLambda, double awayLambda, double homeUniform, double awayUniform) {
+        int homeGoals = homeLambda > 0 ? MatchSimulator.poissonFromUniform(homeLambda, homeUniform) : 0;
+        int awayGoals = awayLambda > 0 ? MatchSimulator.poissonFromUniform(awayLambda, awayUniform) : 0;
+        return (homeGoals << 16) | awayGoals;
+    }
+}
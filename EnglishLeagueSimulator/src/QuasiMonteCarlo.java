@@ -0,0 +1,105 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Randomised quasi-Monte Carlo estimates of a league season.
+ * Each replicate runs 2^m consecutive points of a Sobol sequence (see
+ * SobolRandom) under its own random scramble; the spread of the replicate
+ * means gives an honest standard error. The same number of seasons is also
+ * run with ordinary pseudo-random numbers so the two standard errors can be
+ * compared directly.
+ *
+ * Usage: QuasiMonteCarlo [league] [log2PointsPerReplicate] [replicates] [threads]
+ */
+public class QuasiMonteCarlo {
+
+    public static void main(String[] args) {
+        String leagueName = args.length > 0 ? args[0] : "Premier_League";
+        int log2Points = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int replicates = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Supplier<DomesticLeague> leagueFactory = () -> DomesticLeague.create(leagueName);
+
+        long start = System.nanoTime();
+        List<String> teamNames = LeagueMonteCarlo.teamNamesOf(leagueFactory);
+        List<SeasonAccumulator> quasiRandom = run(leagueFactory, teamNames, log2Points, replicates, true, 1L, threads);
+        List<SeasonAccumulator> pseudoRandom = run(leagueFactory, teamNames, log2Points, replicates, false, 1L, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("--- %s: %d replicates x %d seasons, quasi-random vs pseudo-random, %.1fs ---%n",
+                leagueName, replicates, 1L << log2Points, seconds);
+        System.out.printf("%-26s | %-21s | %-9s | %-21s | %-9s%n", "Team", "Exp. points (QMC SE)", "MC SE",
+                "Top 4 % (QMC SE)", "MC SE");
+        double quasiVariance = 0;
+        double pseudoVariance = 0;
+        for (int team = 0; team < teamNames.size(); team++) {
+            final int t = team;
+            double[] points1 = meanAndError(quasiRandom, acc -> acc.getExpectedPoints(t));
+            double[] points2 = meanAndError(pseudoRandom, acc -> acc.getExpectedPoints(t));
+            double[] top1 = meanAndError(quasiRandom, acc -> 100 * acc.probability(acc.getTopCount(t, 4)));
+            double[] top2 = meanAndError(pseudoRandom, acc -> 100 * acc.probability(acc.getTopCount(t, 4)));
+            System.out.printf("%-26s | %7.2f (%6.3f)      | %9.3f | %6.2f%% (%6.3f)     | %9.3f%n",
+                    teamNames.get(team), points1[0], points1[1], points2[1], top1[0], top1[1], top2[1]);
+            quasiVariance += points1[1] * points1[1];
+            pseudoVariance += points2[1] * points2[1];
+        }
+        if (quasiVariance > 0) {
+            System.out.printf("Expected points variance reduction: %.1fx%n", pseudoVariance / quasiVariance);
+        }
+    }
+
+    /**
+     * Runs independent replicates of a season estimate.
+     * @param log2Points  Seasons per replicate, as a power of two (Sobol
+     *                    points are only balanced in blocks of 2^m).
+     * @param quasiRandom If true each replicate walks the Sobol sequence under
+     *                    its own scramble, otherwise every season is an
+     *                    independent pseudo-random run.
+     * @return One accumulator per replicate.
+     */
+    public static List<SeasonAccumulator> run(Supplier<DomesticLeague> leagueFactory, List<String> teamNames,
+            int log2Points, int replicates, boolean quasiRandom, long baseSeed, int threads) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<SeasonAccumulator> results = new ArrayList<>();
+            for (int r = 0; r < replicates; r++) {
+                long scramble = SimulationContext.mix(baseSeed, r);
+                LongFunction<SimulationContext> contextForRun = quasiRandom
+                        ? point -> new SimulationContext(scramble, SimulationContext.DEFAULT_HOME_ADVANTAGE, false)
+                                .withQuasiRandomPoint(point, log2Points)
+                        : run -> new SimulationContext(SimulationContext.mix(~scramble, run),
+                                SimulationContext.DEFAULT_HOME_ADVANTAGE, false);
+                results.add(LeagueMonteCarlo.run(leagueFactory, teamNames, contextForRun, 1L << log2Points, pool,
+                        threads));
+            }
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private interface Statistic {
+        double of(SeasonAccumulator accumulator);
+    }
+
+    /**
+     * @return {mean, standard error} of a statistic over the replicates.
+     */
+    private static double[] meanAndError(List<SeasonAccumulator> replicates, Statistic statistic) {
+        double sum = 0;
+        double sumSquares = 0;
+        for (SeasonAccumulator replicate : replicates) {
+            double value = statistic.of(replicate);
+            sum += value;
+            sumSquares += value * value;
+        }
+        int n = replicates.size();
+        double mean = sum / n;
+        double variance = n > 1 ? Math.max(0.0, (sumSquares - n * mean * mean) / (n - 1)) : Double.NaN;
+        return new double[] { mean, Math.sqrt(variance / n) };
+    }
+}
@@ -0,0 +1,87 @@
+import java.util.Random;
+
+/**
+ * Wraps a simulator's Random and appends every value it hands out to a
+ * ReplayLog. The values themselves are unchanged, so a recorded run is
+ * exactly the run that would have happened anyway.
+ */
+public class RecordingRandom extends Random {
+    private static final long serialVersionUID = 1L;
+
+    private final Random delegate;
+    private final transient ReplayLog log;
+    private final int stream;
+
+    public RecordingRandom(Random delegate, ReplayLog log, int stream) {
+        super(0);
+        this.delegate = delegate;
+        this.log = log;
+        this.stream = stream;
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        // Called by the Random constructor before the fields are assigned
+        if (delegate == null) {
+            return;
+        }
+        delegate.setSeed(seed);
+        log.append(ReplayLog.SEED, stream, seed);
+    }
+
+    @Override
+    protected int next(int bits) {
+        int value = delegate.nextInt() >>> (32 - bits);
+        log.appendSmall(ReplayLog.BITS, stream, bits, value);
+        return value;
+    }
+
+    @Override
+    public double nextDouble() {
+        double value = delegate.nextDouble();
+        log.append(ReplayLog.DOUBLE, stream, Double.doubleToRawLongBits(value));
+        return value;
+    }
+
+    @Override
+    public double nextGaussian() {
+        double value = delegate.nextGaussian();
+        log.append(ReplayLog.GAUSSIAN, stream, Double.doubleToRawLongBits(value));
+        return value;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        int value = delegate.nextInt(bound);
+        log.appendSmall(ReplayLog.BOUNDED_INT, stream, bound, value);
+        return value;
+    }
+
+    @Override
+    public int nextInt() {
+        int value = delegate.nextInt();
+        log.append(ReplayLog.INT, stream, value);
+        return value;
+    }
+
+    @Override
+    public long nextLong() {
+        long value = delegate.nextLong();
+        log.append(ReplayLog.LONG, stream, value);
+        return value;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        boolean value = delegate.nextBoolean();
+        log.append(ReplayLog.BOOLEAN, stream, value ? 1 : 0);
+        return value;
+    }
+
+    @Override
+    public float nextFloat() {
+        float value = delegate.nextFloat();
+        log.append(ReplayLog.FLOAT, stream, Float.floatToRawIntBits(value));
+        return value;
+    }
+}
@@ -0,0 +1,209 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Compact binary log of every random value drawn during one run, so the run
+ * can be re-executed exactly (see RecordingRandom, ReplayRandom and
+ * SeasonReplay).
+ * Entries are appended in call order. Each is a kind byte, the id of the
+ * random stream that produced it (streams are numbered in creation order)
+ * and the value: doubles and longs as 8 raw bytes, bounded ints (shuffle
+ * indices, penalties) and goal counts as varints. SEED entries mark a stream
+ * being re-seeded, i.e. its position, and GOALS entries hold the goals drawn
+ * from the values before them, so a replay can tell exactly where it stops
+ * matching the recording.
+ */
+public class ReplayLog {
+    private static final int MAGIC = 0x52504C47; // "RPLG"
+    private static final int VERSION = 1;
+
+    static final byte SEED = 0;
+    static final byte DOUBLE = 1;
+    static final byte GAUSSIAN = 2;
+    static final byte BOUNDED_INT = 3;
+    static final byte INT = 4;
+    static final byte LONG = 5;
+    static final byte BOOLEAN = 6;
+    static final byte FLOAT = 7;
+    static final byte BITS = 8;
+    static final byte GOALS = 9;
+    private static final String[] KIND_NAMES = {
+        "seed", "double", "gaussian", "bounded int", "int", "long", "boolean", "float", "bits", "goals" };
+
+    private final String scope;
+    private final double homeAdvantage;
+    private final boolean antithetic;
+    private byte[] data;
+    private int length;
+    private int entries;
+
+    /**
+     * @param scope What was simulated, e.g. "Premier_League" or "Europe"
+     *              (see SeasonReplay).
+     */
+    public ReplayLog(String scope, double homeAdvantage, boolean antithetic) {
+        this(scope, homeAdvantage, antithetic, new byte[4096], 0, 0);
+    }
+
+    private ReplayLog(String scope, double homeAdvantage, boolean antithetic, byte[] data, int length,
+            int entries) {
+        this.scope = scope;
+        this.homeAdvantage = homeAdvantage;
+        this.antithetic = antithetic;
+        this.data = data;
+        this.length = length;
+        this.entries = entries;
+    }
+
+    public String getScope() { return scope; }
+    public double getHomeAdvantage() { return homeAdvantage; }
+    public boolean isAntithetic() { return antithetic; }
+    public int getEntryCount() { return entries; }
+    public int getByteCount() { return length; }
+
+    // --- WRITING ---
+
+    void append(byte kind, int stream, long value) {
+        ensureCapacity(1 + 5 + 8);
+        data[length++] = kind;
+        putVarint(stream);
+        for (int shift = 0; shift < 64; shift += 8) {
+            data[length++] = (byte) (value >>> shift);
+        }
+        entries++;
+    }
+
+    void appendSmall(byte kind, int stream, int bound, int value) {
+        ensureCapacity(1 + 5 + 5 + 5);
+        data[length++] = kind;
+        putVarint(stream);
+        putVarint(bound);
+        putVarint(value);
+        entries++;
+    }
+
+    private void putVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeInt(MAGIC);
+        dataOut.writeInt(VERSION);
+        dataOut.writeUTF(scope);
+        dataOut.writeDouble(homeAdvantage);
+        dataOut.writeBoolean(antithetic);
+        dataOut.writeInt(entries);
+        dataOut.writeInt(length);
+        dataOut.write(data, 0, length);
+        dataOut.flush();
+    }
+
+    public static ReplayLog readFrom(InputStream in) throws IOException {
+        DataInputStream dataIn = new DataInputStream(in);
+        if (dataIn.readInt() != MAGIC) {
+            throw new IOException("Not a replay log");
+        }
+        int version = dataIn.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported replay log version " + version);
+        }
+        String scope = dataIn.readUTF();
+        double homeAdvantage = dataIn.readDouble();
+        boolean antithetic = dataIn.readBoolean();
+        int entries = dataIn.readInt();
+        byte[] data = new byte[dataIn.readInt()];
+        dataIn.readFully(data);
+        return new ReplayLog(scope, homeAdvantage, antithetic, data, data.length, entries);
+    }
+
+    // --- READING ---
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Reads the entries back in order, checking that each one is the kind of
+     * draw, from the stream, that the replaying code asks for.
+     */
+    public class Cursor {
+        private int position;
+        private int entry;
+
+        long next(byte kind, int stream) {
+            expect(kind, stream);
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 8) {
+                value |= (data[position++] & 0xFFL) << shift;
+            }
+            entry++;
+            return value;
+        }
+
+        int nextSmall(byte kind, int stream, int bound) {
+            expect(kind, stream);
+            int loggedBound = getVarint();
+            int value = getVarint();
+            if (loggedBound != bound) {
+                throw diverged(KIND_NAMES[kind] + " with bound " + bound, "bound " + loggedBound);
+            }
+            entry++;
+            return value;
+        }
+
+        void checkGoals(int goals) {
+            int logged = nextSmall(GOALS, 0, 0);
+            if (logged != goals) {
+                entry--;
+                throw diverged(goals + " goals", logged + " goals");
+            }
+        }
+
+        private void expect(byte kind, int stream) {
+            if (position >= length) {
+                throw diverged(KIND_NAMES[kind] + " on stream " + stream, "end of log");
+            }
+            byte loggedKind = data[position++];
+            int loggedStream = getVarint();
+            if (loggedKind != kind || loggedStream != stream) {
+                throw diverged(KIND_NAMES[kind] + " on stream " + stream,
+                        KIND_NAMES[loggedKind] + " on stream " + loggedStream);
+            }
+        }
+
+        private int getVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        private IllegalStateException diverged(String requested, String logged) {
+            return new IllegalStateException("Replay diverged at entry " + entry + ": the code drew a " + requested
+                    + " but the log has " + logged);
+        }
+
+        public boolean isFinished() { return position >= length; }
+        public int getEntriesRead() { return entry; }
+    }
+}
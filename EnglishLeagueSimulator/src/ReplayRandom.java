@@ -0,0 +1,68 @@
+import java.util.Random;
+
+/**
+ * Plays a recorded stream back: every call returns the next value that the
+ * matching RecordingRandom logged, and fails as soon as the code asks for a
+ * different kind of draw, or asks a different stream, than the recording did.
+ */
+public class ReplayRandom extends Random {
+    private static final long serialVersionUID = 1L;
+
+    private final transient ReplayLog.Cursor cursor;
+    private final int stream;
+
+    public ReplayRandom(ReplayLog.Cursor cursor, int stream) {
+        super(0);
+        this.cursor = cursor;
+        this.stream = stream;
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        // Called by the Random constructor before the fields are assigned
+        if (cursor == null) {
+            return;
+        }
+        cursor.next(ReplayLog.SEED, stream);
+    }
+
+    @Override
+    protected int next(int bits) {
+        return cursor.nextSmall(ReplayLog.BITS, stream, bits);
+    }
+
+    @Override
+    public double nextDouble() {
+        return Double.longBitsToDouble(cursor.next(ReplayLog.DOUBLE, stream));
+    }
+
+    @Override
+    public double nextGaussian() {
+        return Double.longBitsToDouble(cursor.next(ReplayLog.GAUSSIAN, stream));
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return cursor.nextSmall(ReplayLog.BOUNDED_INT, stream, bound);
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) cursor.next(ReplayLog.INT, stream);
+    }
+
+    @Override
+    public long nextLong() {
+        return cursor.next(ReplayLog.LONG, stream);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return cursor.next(ReplayLog.BOOLEAN, stream) != 0;
+    }
+
+    @Override
+    public float nextFloat() {
+        return Float.intBitsToFloat((int) cursor.next(ReplayLog.FLOAT, stream));
+    }
+}
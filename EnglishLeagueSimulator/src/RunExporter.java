@@ -0,0 +1,216 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulates many seasons and writes every run's outcome to a columnar file
+ * (see RunOutcomeWriter) for downstream analysis.
+ * For each team there are four columns: final position (0 = champion),
+ * points, best domestic cup stage (Team.CUP_WINNER = won a cup) and European
+ * qualification (0 none, 1 UCL, 2 UEL, 3 UECL). In "Europe" mode every league
+ * is simulated, the European column holds the competition the club actually
+ * entered once the places were distributed, and three more columns hold the
+ * UCL, UEL and UECL winners as indices into the file's team dictionary (-1 if
+ * not played). Positions and points are always the domestic ones.
+ *
+ * Usage: RunExporter [league|Europe] [runs] [file] [compress] [threads]
+ */
+public class RunExporter {
+    public static final String EUROPE = "Europe";
+    private static final int COLUMNS_PER_TEAM = 4;
+    private static final int ROWS_PER_HANDOFF = 256;
+
+    private final List<String> leagueNames;
+    private final List<String> teamNames = new ArrayList<>();
+    private final Map<String, Integer> teamIndex = new HashMap<>();
+    private final List<RunOutcomeWriter.Column> columns = new ArrayList<>();
+    private final boolean europe;
+
+    public RunExporter(String scope) {
+        this.europe = scope.equals(EUROPE);
+        this.leagueNames = europe ? List.of(DomesticLeague.ALL_LEAGUES) : List.of(scope);
+        for (String leagueName : leagueNames) {
+            for (String team : LeagueMonteCarlo.teamNamesOf(() -> DomesticLeague.create(leagueName))) {
+                teamIndex.put(team, teamNames.size());
+                teamNames.add(team);
+                columns.add(new RunOutcomeWriter.Column("pos:" + team, 1));
+                columns.add(new RunOutcomeWriter.Column("pts:" + team, 2));
+                columns.add(new RunOutcomeWriter.Column("cup:" + team, 1));
+                columns.add(new RunOutcomeWriter.Column("euro:" + team, 1));
+            }
+        }
+        if (europe) {
+            columns.add(new RunOutcomeWriter.Column("ucl_winner", 2));
+            columns.add(new RunOutcomeWriter.Column("uel_winner", 2));
+            columns.add(new RunOutcomeWriter.Column("uecl_winner", 2));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String scope = args.length > 0 ? args[0] : "Premier_League";
+        long runs = args.length > 1 ? Long.parseLong(args[1]) : 10_000;
+        Path file = Path.of(args.length > 2 ? args[2] : "runs.fsim");
+        boolean compress = args.length > 3 && Boolean.parseBoolean(args[3]);
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        RunExporter exporter = new RunExporter(scope);
+        long start = System.nanoTime();
+        try (RunOutcomeWriter writer = new RunOutcomeWriter(file, exporter.columns, exporter.teamNames, compress)) {
+            exporter.export(writer, runs, threads);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        try (RunOutcomeReader reader = new RunOutcomeReader(file)) {
+            System.out.printf("--- %s: %d runs x %d columns written to %s (%,d bytes%s) in %.1fs ---%n", scope,
+                    reader.getRunCount(), reader.getColumnCount(), file, Files.size(file),
+                    compress ? ", varint/delta" : "", seconds);
+            String summaryColumn = exporter.europe ? "ucl_winner" : null;
+            int[] winners = new int[exporter.teamNames.size()];
+            if (summaryColumn != null) {
+                for (int winner : reader.readColumn(reader.columnIndex(summaryColumn))) {
+                    if (winner >= 0) {
+                        winners[winner]++;
+                    }
+                }
+            } else {
+                for (int t = 0; t < exporter.teamNames.size(); t++) {
+                    for (int position : reader.readColumn(reader.columnIndex("pos:" + exporter.teamNames.get(t)))) {
+                        if (position == 0) {
+                            winners[t]++;
+                        }
+                    }
+                }
+            }
+            System.out.println(exporter.europe ? "Champions League winners read back:" : "Titles read back:");
+            for (int t = 0; t < winners.length; t++) {
+                if (winners[t] > 0) {
+                    System.out.printf("  %-26s %6.2f%%%n", reader.getDictionary().get(t),
+                            100.0 * winners[t] / reader.getRunCount());
+                }
+            }
+        }
+    }
+
+    public List<RunOutcomeWriter.Column> getColumns() { return columns; }
+    public List<String> getTeamNames() { return teamNames; }
+
+    /**
+     * Simulates the runs on a pool of threads and streams them to the writer.
+     * Rows are handed over in small batches so the writer lock is rarely
+     * contended.
+     */
+    public void export(RunOutcomeWriter writer, long runs, int threads) throws IOException {
+        AtomicLong remaining = new AtomicLong(runs);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        SilentOutput.begin();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(pool.submit(() -> {
+                    List<int[]> rows = new ArrayList<>();
+                    while (remaining.getAndDecrement() > 0) {
+                        rows.add(simulateRow());
+                        if (rows.size() == ROWS_PER_HANDOFF) {
+                            writeRows(writer, rows);
+                        }
+                    }
+                    writeRows(writer, rows);
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Export interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IllegalStateException("Export worker failed", e.getCause());
+        } finally {
+            SilentOutput.end();
+            pool.shutdown();
+        }
+    }
+
+    private static void writeRows(RunOutcomeWriter writer, List<int[]> rows) {
+        try {
+            writer.writeRows(rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rows.clear();
+    }
+
+    private int[] simulateRow() {
+        int[] row = new int[columns.size()];
+        if (europe) {
+            EuropeanCompetitionSimulator.ContinentResult season = EuropeanCompetitionSimulator.simulateContinent();
+            for (DomesticLeague league : season.domesticLeagues) {
+                fillStandings(row, league);
+            }
+            markEntrants(row, season.championsLeague, 1);
+            markEntrants(row, season.europaLeague, 2);
+            markEntrants(row, season.europaConferenceLeague, 3);
+            int winners = teamNames.size() * COLUMNS_PER_TEAM;
+            row[winners] = winnerIndex(season.championsLeague == null ? null : season.championsLeague.getWinner());
+            row[winners + 1] = winnerIndex(season.europaLeague == null ? null : season.europaLeague.getWinner());
+            row[winners + 2] = winnerIndex(season.europaConferenceLeague == null ? null
+                    : season.europaConferenceLeague.getWinner());
+        } else {
+            DomesticLeague league = DomesticLeague.create(leagueNames.get(0));
+            league.setupTeams();
+            league.simulateFullSeason();
+            fillStandings(row, league);
+            markQualifiers(row, league.getUclTeams(), 1);
+            markQualifiers(row, league.getUelTeams(), 2);
+            markQualifiers(row, league.getUeclTeams(), 3);
+        }
+        return row;
+    }
+
+    private void fillStandings(int[] row, DomesticLeague league) {
+        List<Team> standings = league.getFinalStandings();
+        for (int position = 0; position < standings.size(); position++) {
+            Team team = standings.get(position);
+            int base = teamIndex.get(team.getName()) * COLUMNS_PER_TEAM;
+            row[base] = position;
+            row[base + 1] = team.getPoints();
+            row[base + 2] = team.getCupRoundReached();
+        }
+    }
+
+    private void markQualifiers(int[] row, List<Team> qualifiers, int competition) {
+        for (Team team : qualifiers) {
+            row[teamIndex.get(team.getName()) * COLUMNS_PER_TEAM + 3] = competition;
+        }
+    }
+
+    private void markEntrants(int[] row, EuropeanCompetitionEngine competition, int code) {
+        if (competition == null) {
+            return;
+        }
+        for (int p = 0; p < competition.getParticipantCount(); p++) {
+            Integer team = teamIndex.get(competition.getParticipant(p).getName());
+            if (team != null) {
+                row[team * COLUMNS_PER_TEAM + 3] = code;
+            }
+        }
+    }
+
+    private int winnerIndex(Team winner) {
+        return winner == null ? -1 : teamIndex.getOrDefault(winner.getName(), -1);
+    }
+}
@@ -0,0 +1,164 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads files written by RunOutcomeWriter. The file is memory-mapped, and
+ * column segments are handed out as slices of the mapping, so nothing is
+ * copied until a value is actually read.
+ */
+public class RunOutcomeReader implements Closeable {
+    private final FileChannel channel;
+    private final MappedByteBuffer mapping;
+    private final boolean compressed;
+    private final List<RunOutcomeWriter.Column> columns = new ArrayList<>();
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+    private final List<String> dictionary = new ArrayList<>();
+    private final int chunkRows;
+    private final List<int[]> chunkSegmentOffsets = new ArrayList<>(); // per chunk, per column
+    private final List<Integer> chunkRowCounts = new ArrayList<>();
+    private long runCount;
+
+    public RunOutcomeReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        if (channel.size() > Integer.MAX_VALUE) {
+            throw new IOException("Run outcome files larger than 2 GB must be split: " + file);
+        }
+        this.mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        mapping.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (mapping.getInt() != RunOutcomeWriter.MAGIC) {
+            throw new IOException("Not a run outcome file: " + file);
+        }
+        short version = mapping.getShort();
+        if (version != RunOutcomeWriter.VERSION) {
+            throw new IOException("Unsupported run outcome file version " + version + ": " + file);
+        }
+        this.compressed = (mapping.getShort() & RunOutcomeWriter.COMPRESSED) != 0;
+        this.chunkRows = mapping.getInt();
+        int columnCount = mapping.getInt();
+        for (int c = 0; c < columnCount; c++) {
+            int width = mapping.get();
+            RunOutcomeWriter.Column column = new RunOutcomeWriter.Column(readString(), width);
+            columns.add(column);
+            columnIndex.put(column.getName(), c);
+        }
+        int dictionarySize = mapping.getInt();
+        for (int i = 0; i < dictionarySize; i++) {
+            dictionary.add(readString());
+        }
+
+        // Index the chunks by hopping over the segment lengths
+        while (mapping.remaining() > 0) {
+            int rows = mapping.getInt();
+            int[] offsets = new int[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                int length = mapping.getInt();
+                offsets[c] = mapping.position();
+                mapping.position(mapping.position() + length);
+            }
+            chunkRowCounts.add(rows);
+            chunkSegmentOffsets.add(offsets);
+            runCount += rows;
+        }
+    }
+
+    private String readString() {
+        byte[] bytes = new byte[mapping.getShort() & 0xFFFF];
+        mapping.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public long getRunCount() { return runCount; }
+    public int getColumnCount() { return columns.size(); }
+    public String getColumnName(int column) { return columns.get(column).getName(); }
+    public List<String> getDictionary() { return dictionary; }
+    public boolean isCompressed() { return compressed; }
+    public int getChunkCount() { return chunkRowCounts.size(); }
+    public int getChunkRowCount(int chunk) { return chunkRowCounts.get(chunk); }
+
+    /**
+     * @return The column's index, or -1 if the file has no such column.
+     */
+    public int columnIndex(String name) {
+        return columnIndex.getOrDefault(name, -1);
+    }
+
+    /**
+     * @return A read-only view of one column of one chunk, without copying.
+     *         Fixed-width values for uncompressed files, varints otherwise.
+     */
+    public ByteBuffer columnSegment(int chunk, int column) {
+        int start = chunkSegmentOffsets.get(chunk)[column];
+        int length = mapping.getInt(start - 4);
+        return mapping.slice(start, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Decodes one column of one chunk into values.
+     * @param target Receives getChunkRowCount(chunk) values from offset 0.
+     */
+    public void readSegment(int chunk, int column, int[] target) {
+        ByteBuffer segment = columnSegment(chunk, column);
+        int rows = chunkRowCounts.get(chunk);
+        if (compressed) {
+            int value = 0;
+            for (int r = 0; r < rows; r++) {
+                int zigzag = getVarint(segment);
+                value += (zigzag >>> 1) ^ -(zigzag & 1);
+                target[r] = value;
+            }
+            return;
+        }
+        int width = columns.get(column).getWidth();
+        for (int r = 0; r < rows; r++) {
+            target[r] = width == 1 ? segment.get() : width == 2 ? segment.getShort() : segment.getInt();
+        }
+    }
+
+    /**
+     * @return Every run's value of one column.
+     */
+    public int[] readColumn(int column) {
+        if (runCount > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many runs to read into one array: " + runCount);
+        }
+        int[] values = new int[(int) runCount];
+        int[] segment = new int[chunkRows];
+        int offset = 0;
+        for (int chunk = 0; chunk < chunkRowCounts.size(); chunk++) {
+            readSegment(chunk, column, segment);
+            int rows = chunkRowCounts.get(chunk);
+            System.arraycopy(segment, 0, values, offset, rows);
+            offset += rows;
+        }
+        return values;
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,212 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes per-run simulation outcomes as a columnar binary file.
+ *
+ * Layout (little-endian):
+ *   header: magic "FSIM", version (short), flags (short), rows per chunk (int),
+ *           column count (int), then per column its width in bytes (1, 2 or 4)
+ *           and name; then a dictionary of strings (e.g. team names that
+ *           winner columns index into).
+ *   chunks: row count (int), then for every column a segment length (int)
+ *           followed by the column's values for those rows.
+ * Rows are buffered column by column and written a chunk at a time, so every
+ * column of a chunk is one contiguous, fixed-width block that a reader can
+ * map and scan without decoding. With COMPRESSED set, each segment instead
+ * holds zigzag varints of the difference from the previous row's value.
+ * RunOutcomeReader reads the files back.
+ */
+public class RunOutcomeWriter implements Closeable {
+    static final int MAGIC = 0x4D495346; // "FSIM" in little-endian order
+    static final short VERSION = 1;
+    static final short COMPRESSED = 1;
+    public static final int DEFAULT_CHUNK_ROWS = 4096;
+
+    /**
+     * One output column: a name and a fixed width of 1, 2 or 4 bytes.
+     */
+    public static class Column {
+        final String name;
+        final int width;
+
+        public Column(String name, int width) {
+            if (width != 1 && width != 2 && width != 4) {
+                throw new IllegalArgumentException("Column width must be 1, 2 or 4 bytes: " + name);
+            }
+            this.name = name;
+            this.width = width;
+        }
+
+        public String getName() { return name; }
+        public int getWidth() { return width; }
+    }
+
+    private final FileChannel channel;
+    private final List<Column> columns;
+    private final boolean compressed;
+    private final int chunkRows;
+    private final int[][] pending; // [column][row within chunk]
+    private int pendingRows;
+    private long rowsWritten;
+    private final ByteBuffer buffer;
+
+    public RunOutcomeWriter(Path file, List<Column> columns, List<String> dictionary, boolean compressed)
+            throws IOException {
+        this(file, columns, dictionary, compressed, DEFAULT_CHUNK_ROWS);
+    }
+
+    public RunOutcomeWriter(Path file, List<Column> columns, List<String> dictionary, boolean compressed,
+            int chunkRows) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.columns = new ArrayList<>(columns);
+        this.compressed = compressed;
+        this.chunkRows = chunkRows;
+        this.pending = new int[columns.size()][chunkRows];
+        int rowBytes = 0;
+        for (Column column : columns) {
+            // A zigzag varint of a 32-bit delta takes at most 5 bytes
+            rowBytes += compressed ? 5 : column.width;
+        }
+        this.buffer = ByteBuffer.allocateDirect(4 + 4 * columns.size() + rowBytes * chunkRows)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        writeHeader(dictionary);
+    }
+
+    private void writeHeader(List<String> dictionary) throws IOException {
+        List<byte[]> columnNames = new ArrayList<>();
+        List<byte[]> entries = new ArrayList<>();
+        int size = 4 + 2 + 2 + 4 + 4 + 4;
+        for (Column column : columns) {
+            byte[] name = column.name.getBytes(StandardCharsets.UTF_8);
+            columnNames.add(name);
+            size += 1 + 2 + name.length;
+        }
+        for (String entry : dictionary) {
+            byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            entries.add(bytes);
+            size += 2 + bytes.length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putShort(VERSION).putShort(compressed ? COMPRESSED : 0);
+        header.putInt(chunkRows).putInt(columns.size());
+        for (int c = 0; c < columns.size(); c++) {
+            header.put((byte) columns.get(c).width);
+            header.putShort((short) columnNames.get(c).length).put(columnNames.get(c));
+        }
+        header.putInt(entries.size());
+        for (byte[] entry : entries) {
+            header.putShort((short) entry.length).put(entry);
+        }
+        header.flip();
+        writeFully(header);
+    }
+
+    /**
+     * Appends one run. Safe to call from several worker threads.
+     * @param values One value per column, in schema order.
+     */
+    public synchronized void writeRow(int[] values) throws IOException {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values, got " + values.length);
+        }
+        for (int c = 0; c < values.length; c++) {
+            Column column = columns.get(c);
+            int bits = 8 * column.width;
+            if (bits < 32 && (values[c] < -(1 << (bits - 1)) || values[c] >= 1 << (bits - 1))) {
+                throw new IllegalArgumentException("Value " + values[c] + " does not fit column " + column.name);
+            }
+            pending[c][pendingRows] = values[c];
+        }
+        pendingRows++;
+        rowsWritten++;
+        if (pendingRows == chunkRows) {
+            flushChunk();
+        }
+    }
+
+    /**
+     * Appends a batch of runs under one lock acquisition.
+     */
+    public synchronized void writeRows(List<int[]> rows) throws IOException {
+        for (int[] row : rows) {
+            writeRow(row);
+        }
+    }
+
+    public synchronized long getRowsWritten() { return rowsWritten; }
+
+    private void flushChunk() throws IOException {
+        if (pendingRows == 0) {
+            return;
+        }
+        buffer.clear();
+        buffer.putInt(pendingRows);
+        for (int c = 0; c < columns.size(); c++) {
+            int lengthPosition = buffer.position();
+            buffer.putInt(0);
+            int start = buffer.position();
+            int[] values = pending[c];
+            if (compressed) {
+                int previous = 0;
+                for (int r = 0; r < pendingRows; r++) {
+                    putVarint(buffer, zigzag(values[r] - previous));
+                    previous = values[r];
+                }
+            } else {
+                Column column = columns.get(c);
+                for (int r = 0; r < pendingRows; r++) {
+                    putFixed(buffer, column, values[r]);
+                }
+            }
+            buffer.putInt(lengthPosition, buffer.position() - start);
+        }
+        buffer.flip();
+        writeFully(buffer);
+        pendingRows = 0;
+    }
+
+    private static void putFixed(ByteBuffer buffer, Column column, int value) {
+        switch (column.width) {
+            case 1: buffer.put((byte) value); break;
+            case 2: buffer.putShort((short) value); break;
+            default: buffer.putInt(value);
+        }
+    }
+
+    static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flushChunk();
+        } finally {
+            channel.close();
+        }
+    }
+}
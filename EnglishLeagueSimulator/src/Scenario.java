@@ -0,0 +1,138 @@
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A named set of changes to the standard model: a different home advantage,
+ * overridden team strengths (e.g. after a transfer) and/or league fixtures
+ * whose result is fixed. The baseline is simply a Scenario with no changes.
+ */
+public class Scenario {
+    private final String name;
+    private double homeAdvantage = SimulationContext.DEFAULT_HOME_ADVANTAGE;
+    private final Map<String, Integer> attackOverrides = new LinkedHashMap<>();
+    private final Map<String, Integer> defenceOverrides = new LinkedHashMap<>();
+    private final Map<String, Double> eloOverrides = new LinkedHashMap<>();
+    private final Map<String, int[]> fixedResults = new LinkedHashMap<>();
+    private ScorelineTables frozenRatings;
+    private MatchModel matchModel = MatchModel.POISSON;
+    private MatchEventEngine matchEvents;
+
+    public Scenario(String name) {
+        this.name = name;
+    }
+
+    public Scenario withHomeAdvantage(double homeAdvantage) {
+        this.homeAdvantage = homeAdvantage;
+        return this;
+    }
+
+    public Scenario withAttackStrength(String teamName, int attackStrength) {
+        attackOverrides.put(teamName, attackStrength);
+        return this;
+    }
+
+    public Scenario withDefenceStrength(String teamName, int defenceStrength) {
+        defenceOverrides.put(teamName, defenceStrength);
+        return this;
+    }
+
+    public Scenario withEloRating(String teamName, double eloRating) {
+        eloOverrides.put(teamName, eloRating);
+        return this;
+    }
+
+    /**
+     * Fixes the score of the league fixture homeTeam v awayTeam.
+     */
+    public Scenario withFixedResult(String homeTeam, String awayTeam, int homeGoals, int awayGoals) {
+        fixedResults.put(homeTeam + " v " + awayTeam, new int[] { homeGoals, awayGoals });
+        return this;
+    }
+
+    /**
+     * Runs the scenario with ratings frozen at their starting values (see
+     * SimulationContext.withFrozenRatings). Tables are keyed by the model
+     * inputs, so one instance can serve every scenario and league of a
+     * long-running process.
+     */
+    public Scenario withFrozenRatings(ScorelineTables tables) {
+        this.frozenRatings = tables;
+        return this;
+    }
+
+    /**
+     * Plays the scenario with a different scoreline model (see MatchModel).
+     * With frozen ratings, give the tables the same model.
+     */
+    public Scenario withMatchModel(MatchModel model) {
+        this.matchModel = model;
+        return this;
+    }
+
+    /**
+     * Plays every match goal by goal (see SimulationContext.withMatchEvents).
+     */
+    public Scenario withMatchEvents(MatchEventEngine engine) {
+        this.matchEvents = engine;
+        return this;
+    }
+
+    public String getName() { return name; }
+    public boolean hasFrozenRatings() { return frozenRatings != null; }
+    public double getHomeAdvantage() { return homeAdvantage; }
+
+    /**
+     * Applies the strength overrides to freshly set-up teams.
+     * @param teams The league's teams, straight after setupTeams.
+     */
+    public void applyTo(List<Team> teams) {
+        for (Team team : teams) {
+            Integer attack = attackOverrides.get(team.getName());
+            if (attack != null) {
+                team.attackStrength = attack;
+            }
+            Integer defence = defenceOverrides.get(team.getName());
+            if (defence != null) {
+                team.defenceStrength = defence;
+            }
+            Double elo = eloOverrides.get(team.getName());
+            if (elo != null) {
+                team.setEloRating(elo);
+            }
+        }
+    }
+
+    /**
+     * @return A fresh context for one run of this scenario.
+     */
+    public SimulationContext newContext(Long seed, boolean antithetic) {
+        SimulationContext context = new SimulationContext(seed, homeAdvantage, antithetic);
+        fixedResults.forEach((fixture, score) -> {
+            String[] teams = fixture.split(" v ", 2);
+            context.withFixedResult(teams[0], teams[1], score[0], score[1]);
+        });
+        if (frozenRatings != null) {
+            context.withFrozenRatings(frozenRatings);
+        }
+        context.withMatchModel(matchModel);
+        if (matchEvents != null) {
+            context.withMatchEvents(matchEvents);
+        }
+        return context;
+    }
+
+    /**
+     * Canonical text form, used as a cache / batch key.
+     */
+    @Override
+    public String toString() {
+        StringBuilder results = new StringBuilder();
+        fixedResults.forEach((fixture, score) -> results.append(results.length() == 0 ? "" : ", ")
+                .append(fixture).append('=').append(score[0]).append(':').append(score[1]));
+        return name + "{home=" + homeAdvantage + ", attack=" + attackOverrides + ", defence=" + defenceOverrides
+                + ", elo=" + eloOverrides + ", results={" + results + "}" + (frozenRatings != null ? ", frozen" : "")
+                + (matchModel instanceof PoissonModel ? "" : ", model=" + matchModel)
+                + (matchEvents != null ? ", events=" + matchEvents : "") + "}";
+    }
+}
@@ -0,0 +1,219 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs many scenarios of one league as a single batch, for risk jobs that
+ * submit hundreds of small perturbations at once.
+ * Everything that does not depend on the scenario is prepared once per batch
+ * instead of once per scenario: the league's team catalogue (set up once,
+ * then copied into each run's league instead of calling setupTeams), each
+ * scenario's strengths resolved to team positions, one thread pool and one
+ * silenced console. Round-robin schedules come from FixtureBuffer's shared
+ * per-size template. The work is then cut into small chunks of runs that interleave the
+ * scenarios, so every worker stays busy until the whole batch is done and no
+ * scenario waits for another to finish. With a base seed, run r of every
+ * scenario uses the same seed (common random numbers), so differences between
+ * scenarios are not swamped by simulation noise.
+ *
+ * Usage: ScenarioBatch [league] [runsPerScenario] [threads]
+ */
+public class ScenarioBatch {
+    private static final int CHUNK_RUNS = 32;
+
+    private final Supplier<DomesticLeague> leagueFactory;
+    private final List<String> teamNames;
+    // The league's teams as setupTeams creates them; never simulated
+    private final List<Team> catalogue;
+
+    /**
+     * Prepares the parts shared by every scenario of the league.
+     * @param leagueFactory Creates a new, un-simulated league for each run.
+     */
+    public ScenarioBatch(Supplier<DomesticLeague> leagueFactory) {
+        this.leagueFactory = leagueFactory;
+        DomesticLeague template = leagueFactory.get();
+        SilentOutput.begin();
+        try {
+            template.setupTeams();
+        } finally {
+            SilentOutput.end();
+        }
+        this.catalogue = List.copyOf(template.getTeams());
+        List<String> names = new ArrayList<>();
+        for (Team team : catalogue) {
+            names.add(team.getName());
+        }
+        names.sort(null);
+        this.teamNames = List.copyOf(names);
+    }
+
+    public List<String> getTeamNames() { return teamNames; }
+
+    public static void main(String[] args) {
+        String leagueName = args.length > 0 ? args[0] : "Premier_League";
+        long runs = args.length > 1 ? Long.parseLong(args[1]) : 1_000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        ScenarioBatch batch = new ScenarioBatch(() -> DomesticLeague.create(leagueName));
+        DomesticLeague prototype = DomesticLeague.create(leagueName);
+        prototype.setupTeams();
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new Scenario("Baseline"));
+        for (Team team : prototype.getTeams()) {
+            scenarios.add(new Scenario(team.getName() + " attack +5")
+                    .withAttackStrength(team.getName(), team.getAttackStrength() + 5));
+        }
+
+        long start = System.nanoTime();
+        List<SeasonAccumulator> results = batch.run(scenarios, runs, 1L, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        SeasonAccumulator baseline = results.get(0);
+        System.out.printf("--- %s: %d scenarios x %d runs in %.1fs (%.1f ms per scenario) ---%n", leagueName,
+                scenarios.size(), runs, seconds, 1000 * seconds / scenarios.size());
+        System.out.printf("%-40s | %-12s | %-12s%n", "Scenario", "dExp. points", "dTop 4 %");
+        for (int s = 1; s < scenarios.size(); s++) {
+            SeasonAccumulator result = results.get(s);
+            int team = result.indexOf(prototype.getTeams().get(s - 1).getName());
+            System.out.printf("%-40s | %+12.2f | %+11.2f%%%n", scenarios.get(s).getName(),
+                    result.getExpectedPoints(team) - baseline.getExpectedPoints(team),
+                    100 * (result.probability(result.getTopCount(team, 4))
+                            - baseline.probability(baseline.getTopCount(team, 4))));
+        }
+    }
+
+    /**
+     * Simulates every scenario runsPerScenario times.
+     * @param baseSeed Seed for common random numbers across the scenarios, or
+     *                 null for independent unseeded runs.
+     * @return One accumulator per scenario, in the order given.
+     */
+    public List<SeasonAccumulator> run(List<Scenario> scenarios, long runsPerScenario, Long baseSeed, int threads) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            return run(scenarios, runsPerScenario, baseSeed, pool, threads);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * As above, on an existing pool, so a long-running process (see
+     * SimulationDaemon) doesn't start threads for every batch.
+     * @param workers Number of tasks to split the batch across.
+     */
+    public List<SeasonAccumulator> run(List<Scenario> scenarios, long runsPerScenario, Long baseSeed,
+            ExecutorService pool, int workers) {
+        List<ScenarioTeams> scenarioTeams = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            scenarioTeams.add(new ScenarioTeams(scenario));
+        }
+        int scenarioCount = scenarios.size();
+        long chunksPerScenario = (runsPerScenario + CHUNK_RUNS - 1) / CHUNK_RUNS;
+        long totalChunks = chunksPerScenario * scenarioCount;
+        AtomicLong nextChunk = new AtomicLong();
+
+        SilentOutput.begin();
+        try {
+            List<Future<SeasonAccumulator[]>> tasks = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                tasks.add(pool.submit(() -> {
+                    SeasonAccumulator[] accumulators = new SeasonAccumulator[scenarioCount];
+                    long chunk;
+                    while ((chunk = nextChunk.getAndIncrement()) < totalChunks) {
+                        // Scenario-minor order: chunk k of every scenario before chunk k + 1 of any
+                        int s = (int) (chunk % scenarioCount);
+                        long firstRun = (chunk / scenarioCount) * CHUNK_RUNS;
+                        long lastRun = Math.min(firstRun + CHUNK_RUNS, runsPerScenario);
+                        if (accumulators[s] == null) {
+                            accumulators[s] = new SeasonAccumulator(teamNames);
+                        }
+                        for (long run = firstRun; run < lastRun; run++) {
+                            simulate(scenarios.get(s), scenarioTeams.get(s), baseSeed, run, accumulators[s]);
+                        }
+                    }
+                    return accumulators;
+                }));
+            }
+            List<SeasonAccumulator> merged = new ArrayList<>();
+            for (int s = 0; s < scenarioCount; s++) {
+                merged.add(new SeasonAccumulator(teamNames));
+            }
+            for (Future<SeasonAccumulator[]> task : tasks) {
+                SeasonAccumulator[] accumulators = task.get();
+                for (int s = 0; s < scenarioCount; s++) {
+                    if (accumulators[s] != null) {
+                        merged.get(s).merge(accumulators[s]);
+                    }
+                }
+            }
+            return merged;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Scenario batch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scenario batch worker failed", e.getCause());
+        } finally {
+            SilentOutput.end();
+        }
+    }
+
+    private void simulate(Scenario scenario, ScenarioTeams teams, Long baseSeed, long run,
+            SeasonAccumulator accumulator) {
+        Long seed = baseSeed == null ? null : SimulationContext.mix(baseSeed, run);
+        scenario.newContext(seed, false).run(() -> {
+            DomesticLeague league = leagueFactory.get();
+            teams.addTo(league.getTeams());
+            league.simulateFullSeason();
+            accumulator.record(league);
+        });
+    }
+
+    /**
+     * The catalogue with a scenario's strength overrides applied, held as
+     * arrays in setupTeams order, so a run's teams are built with one
+     * constructor call each instead of a setupTeams and a map lookup per team.
+     */
+    private class ScenarioTeams {
+        final String[] names;
+        final int[] attack;
+        final int[] defence;
+        final double[] elo;
+
+        ScenarioTeams(Scenario scenario) {
+            int teamCount = catalogue.size();
+            List<Team> teams = new ArrayList<>();
+            for (Team team : catalogue) {
+                teams.add(new Team(team.getName(), team.getAttackStrength(), team.getDefenceStrength(),
+                        team.getEloRating()));
+            }
+            scenario.applyTo(teams);
+            names = new String[teamCount];
+            attack = new int[teamCount];
+            defence = new int[teamCount];
+            elo = new double[teamCount];
+            for (int i = 0; i < teamCount; i++) {
+                Team team = teams.get(i);
+                names[i] = team.getName();
+                attack[i] = team.getAttackStrength();
+                defence[i] = team.getDefenceStrength();
+                elo[i] = team.getEloRating();
+            }
+        }
+
+        /**
+         * Fills a new league's empty team list, as setupTeams would.
+         */
+        void addTo(List<Team> teams) {
+            for (int i = 0; i < names.length; i++) {
+                teams.add(new Team(names[i], attack[i], defence[i], elo[i]));
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * A whole-match scoreline distribution, 0-0 to MAX_GOALS-MAX_GOALS, set up
+ * for Walker's alias method (built with Vose's algorithm) so a scoreline is
+ * drawn with one random long: the high 32 bits pick a cell, the low 32 bits
+ * decide between the cell and its alias. Each cell is a single long holding
+ * both, so a draw is one array read.
+ *
+ * The table takes any joint distribution, so correlated scoreline models
+ * (see MatchModel) cost the same to sample as independent Poisson goals.
+ * Callers fold any mass beyond MAX_GOALS onto the last row and column (see
+ * ScorelineTables), so means are only shifted by scores above 20 goals: under
+ * 1e-5 of a goal even at the largest lambdas this model produces (about 5.3,
+ * Bayern Munich at home to Schalke). Tables are immutable and can be shared
+ * between threads.
+ */
+public final class ScorelineAliasTable {
+    public static final int MAX_GOALS = 20;
+    private static final int SIDE = MAX_GOALS + 1;
+    private static final int CELLS = SIDE * SIDE;
+    private static final double SCALE = 4294967296.0; // 2^32
+
+    private static final int ALIAS_BITS = 16;
+    private static final long ALIAS_MASK = (1L << ALIAS_BITS) - 1;
+
+    // [cell] = acceptance threshold (0 .. 2^32, unsigned) << ALIAS_BITS | alias cell
+    private final long[] cells = new long[CELLS];
+
+    /**
+     * @param joint P(home goals = cell / SIDE, away goals = cell % SIDE) for
+     *              the (MAX_GOALS + 1)^2 cells; need not sum to 1.
+     */
+    public ScorelineAliasTable(double[] joint) {
+        if (joint.length != CELLS) {
+            throw new IllegalArgumentException("Expected " + CELLS + " scoreline probabilities, got " + joint.length);
+        }
+        double total = 0;
+        for (double p : joint) {
+            total += p;
+        }
+        double[] scaled = new double[CELLS];
+        int[] small = new int[CELLS];
+        int[] large = new int[CELLS];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < CELLS; i++) {
+            scaled[i] = joint[i] * CELLS / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            cells[less] = (threshold(scaled[less]) << ALIAS_BITS) | more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is full up to rounding error
+        while (largeCount > 0) {
+            int cell = large[--largeCount];
+            cells[cell] = ((long) SCALE << ALIAS_BITS) | cell;
+        }
+        while (smallCount > 0) {
+            int cell = small[--smallCount];
+            cells[cell] = ((long) SCALE << ALIAS_BITS) | cell;
+        }
+    }
+
+    private static long threshold(double probability) {
+        return Math.min((long) (probability * SCALE), (long) SCALE);
+    }
+
+    /**
+     * Independent goals for the two sides.
+     * @param homePmf P(home goals = k); entries beyond MAX_GOALS are added to
+     *                MAX_GOALS.
+     */
+    public static ScorelineAliasTable independent(double[] homePmf, double[] awayPmf) {
+        double[] home = fold(homePmf);
+        double[] away = fold(awayPmf);
+        double[] joint = new double[CELLS];
+        for (int h = 0; h < SIDE; h++) {
+            for (int a = 0; a < SIDE; a++) {
+                joint[h * SIDE + a] = home[h] * away[a];
+            }
+        }
+        return new ScorelineAliasTable(joint);
+    }
+
+    private static double[] fold(double[] pmf) {
+        double[] folded = new double[SIDE];
+        for (int k = 0; k < pmf.length; k++) {
+            folded[Math.min(k, MAX_GOALS)] += pmf[k];
+        }
+        return folded;
+    }
+
+    /**
+     * @param bits A uniformly random long.
+     * @return The scoreline cell; see homeGoals and awayGoals.
+     */
+    public int sample(long bits) {
+        int column = (int) (((bits >>> 32) * CELLS) >>> 32);
+        long cell = cells[column];
+        return (bits & 0xFFFFFFFFL) < (cell >>> ALIAS_BITS) ? column : (int) (cell & ALIAS_MASK);
+    }
+
+    public static int homeGoals(int cell) {
+        return cell / SIDE;
+    }
+
+    public static int awayGoals(int cell) {
+        return cell % SIDE;
+    }
+}
@@ -0,0 +1,225 @@
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Goal distributions for the frozen-ratings mode (see
+ * SimulationContext.withFrozenRatings), shared by every run of a batch.
+ *
+ * With ratings frozen, a side's lambda depends only on the attacking team's
+ * attack strength, the defending team's defence strength, the Elo difference
+ * between them and the venue, all fixed for the season. So the distribution
+ * of goals can be worked out once per pairing and reused: drawing the goals is
+ * then a single uniform looked up in a cumulative table.
+ * The 2% Gaussian jitter on lambda is folded in analytically rather than
+ * drawn. Tables are cached per mean lambda quantised to 1/LAMBDA_STEPS, so
+ * pairings with (nearly) the same lambda share one. Each table is the Poisson mixture
+ *   P(k) = E_z[ Pois(k; lambda (1 + 0.02 z)) ],  z ~ N(0, 1)
+ * evaluated by Gauss-Hermite quadrature, which is exact to far below the
+ * Monte Carlo error at this jitter size. The draws therefore have the same
+ * distribution as the unfrozen model with Elo updates switched off, but a
+ * given seed gives different draws (one uniform per side, no Gaussian).
+ *
+ * League matches sample the whole scoreline at once instead: scorelineTable
+ * gives an alias table over the joint distribution of both sides' goals (see
+ * ScorelineAliasTable), cached per pair of mean lambdas quantised to
+ * 1/LAMBDA_STEPS, and a match is one random long. The quantisation moves a
+ * lambda by at most 1/2048, a tenth of the jitter's standard deviation at the
+ * smallest lambdas. The joint tables follow the tables' MatchModel, with the
+ * jitter mixed over both sides; the per-side tables are only used with the
+ * standard Poisson model.
+ *
+ * A long-lived set of tables (the server's and daemon's) sees every scenario
+ * that is ever run, so each cache holds at most MAX_TABLES entries and is
+ * emptied when it fills; the tables are rebuilt as they are needed again.
+ */
+public class ScorelineTables {
+    private static final double BASE_LAMBDA = 1.3;
+    private static final double JITTER = 0.02;
+    private static final int MAX_GOALS = 30;
+    // Tail mass below which a table stops, so most tables are ~10 entries long
+    private static final double TAIL = 1e-12;
+
+    // Nodes and weights of the 5-point Gauss-Hermite rule for the standard
+    // normal (probabilists' Hermite polynomials)
+    private static final double[] NODES = { -2.8569700138728056, -1.3556261799742659, 0.0, 1.3556261799742659,
+            2.8569700138728056 };
+    private static final double[] WEIGHTS = { 0.011257411327720691, 0.2220759220056126, 0.5333333333333333,
+            0.2220759220056126, 0.011257411327720691 };
+    // The 3-point rule, used for the joint tables of other match models where
+    // every node pair costs a grid of model probabilities; at 2% jitter it is
+    // still exact to around 1e-10
+    private static final double[] JOINT_NODES = { -1.7320508075688772, 0.0, 1.7320508075688772 };
+    private static final double[] JOINT_WEIGHTS = { 1.0 / 6, 2.0 / 3, 1.0 / 6 };
+
+    private static final int LAMBDA_STEPS = 1024;
+    // A league season needs a few hundred tables; a joint table is 3.5 KB
+    private static final int MAX_TABLES = 4096;
+
+    // Quantised lambda -> per-side goals cdf
+    private final Map<Integer, double[]> tables = new ConcurrentHashMap<>();
+    // Quantised home lambda << 32 | quantised away lambda -> joint scoreline table
+    private final Map<Long, ScorelineAliasTable> scorelines = new ConcurrentHashMap<>();
+    private final MatchModel matchModel;
+
+    public ScorelineTables() {
+        this(MatchModel.POISSON);
+    }
+
+    /**
+     * @param matchModel The scoreline model every run using these tables
+     *                   plays with, whatever its context says.
+     */
+    public ScorelineTables(MatchModel matchModel) {
+        this.matchModel = matchModel;
+    }
+
+    public MatchModel getMatchModel() { return matchModel; }
+
+    /**
+     * @return P(goals <= k) for k = 0, 1, ...; the last entry is 1.
+     */
+    public double[] goalsCdf(Team attackingTeam, Team defendingTeam, double advantageScaler) {
+        int steps = quantise(meanLambda(attackingTeam, defendingTeam, advantageScaler));
+        double[] cdf = tables.get(steps);
+        return cdf != null ? cdf : cached(tables, steps, k -> buildCdf((double) steps / LAMBDA_STEPS));
+    }
+
+    /**
+     * @return The joint distribution of the goals in a match between the two
+     *         teams, jitter included, ready for a single draw.
+     */
+    public ScorelineAliasTable scorelineTable(Team homeTeam, Team awayTeam, double homeAdvantage) {
+        int homeSteps = quantise(meanLambda(homeTeam, awayTeam, homeAdvantage));
+        int awaySteps = quantise(meanLambda(awayTeam, homeTeam, 1.0));
+        long key = ((long) homeSteps << 32) | awaySteps;
+        ScorelineAliasTable table = scorelines.get(key);
+        return table != null ? table : cached(scorelines, key, k -> buildScoreline(homeSteps, awaySteps));
+    }
+
+    // Two threads filling a full cache at once may both clear it; either way
+    // it stays within a few entries of MAX_TABLES
+    private static <K, V> V cached(Map<K, V> cache, K key, Function<K, V> build) {
+        if (cache.size() >= MAX_TABLES) {
+            cache.clear();
+        }
+        return cache.computeIfAbsent(key, build);
+    }
+
+    private static int quantise(double lambda) {
+        return (int) Math.round(Math.max(lambda, 0) * LAMBDA_STEPS);
+    }
+
+    /**
+     * @return Number of distinct tables built so far, per-side and joint.
+     */
+    public int size() {
+        return tables.size() + scorelines.size();
+    }
+
+    /**
+     * @param u A uniform in [0, 1).
+     * @return The smallest k with u < P(goals <= k).
+     */
+    static int sample(double[] cdf, double u) {
+        int k = 0;
+        while (u >= cdf[k] && k < cdf.length - 1) {
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * Same formula as MatchSimulator.calculateLambda, without the jitter.
+     */
+    private static double meanLambda(Team attackingTeam, Team defendingTeam, double advantageScaler) {
+        double strengthFactor = StrengthFactors.strengthFactor(attackingTeam.getAttackStrength(),
+                defendingTeam.getDefenceStrength());
+        double eloDifference = attackingTeam.getEloRating() - defendingTeam.getEloRating();
+        double eloFactor = 1 + (eloDifference / 400.0) * 0.6;
+        return BASE_LAMBDA * strengthFactor * eloFactor * advantageScaler;
+    }
+
+    private ScorelineAliasTable buildScoreline(int homeSteps, int awaySteps) {
+        double homeLambda = (double) homeSteps / LAMBDA_STEPS;
+        double awayLambda = (double) awaySteps / LAMBDA_STEPS;
+        if (matchModel instanceof PoissonModel) {
+            return ScorelineAliasTable.independent(mixturePmf(homeLambda), mixturePmf(awayLambda));
+        }
+        // Each side's jitter is independent, so the mixture runs over every
+        // pair of quadrature nodes. Scores up to the simulators' cap are
+        // tabulated and those past the table's edge folded onto it, as the
+        // per-side tables fold their tail onto the last count. Scorelines go
+        // in order of total goals and stop once all but TAIL of the mass is
+        // in, which skips most of the grid.
+        int side = ScorelineAliasTable.MAX_GOALS + 1;
+        double[] joint = new double[side * side];
+        for (int i = 0; i < JOINT_NODES.length; i++) {
+            double homeNode = Math.max(homeLambda * (1 + JITTER * JOINT_NODES[i]), 0);
+            for (int j = 0; j < JOINT_NODES.length; j++) {
+                double awayNode = Math.max(awayLambda * (1 + JITTER * JOINT_NODES[j]), 0);
+                double weight = JOINT_WEIGHTS[i] * JOINT_WEIGHTS[j];
+                double covered = 0;
+                for (int goals = 0; goals <= 2 * MAX_GOALS && covered < 1 - TAIL; goals++) {
+                    for (int home = Math.max(0, goals - MAX_GOALS); home <= Math.min(goals, MAX_GOALS); home++) {
+                        double p = matchModel.probability(homeNode, awayNode, home, goals - home);
+                        covered += p;
+                        joint[Math.min(home, side - 1) * side + Math.min(goals - home, side - 1)] += weight * p;
+                    }
+                }
+            }
+        }
+        return new ScorelineAliasTable(joint);
+    }
+
+    // P(k) for k = 0 .. ScorelineAliasTable.MAX_GOALS under the jitter
+    // mixture, the last entry holding the whole tail from there on
+    private static double[] mixturePmf(double lambda) {
+        double[] probabilities = new double[NODES.length];
+        double[] lambdas = new double[NODES.length];
+        for (int i = 0; i < NODES.length; i++) {
+            lambdas[i] = Math.max(lambda * (1 + JITTER * NODES[i]), 0);
+            probabilities[i] = Math.exp(-lambdas[i]);
+        }
+        double[] pmf = new double[ScorelineAliasTable.MAX_GOALS + 1];
+        double cumulative = 0;
+        for (int k = 0; k < pmf.length - 1; k++) {
+            for (int i = 0; i < NODES.length; i++) {
+                pmf[k] += WEIGHTS[i] * probabilities[i];
+                probabilities[i] *= lambdas[i] / (k + 1);
+            }
+            cumulative += pmf[k];
+        }
+        pmf[pmf.length - 1] = Math.max(1.0 - cumulative, 0);
+        return pmf;
+    }
+
+    private static double[] buildCdf(double lambda) {
+        double[] probabilities = new double[NODES.length];
+        double[] lambdas = new double[NODES.length];
+        for (int i = 0; i < NODES.length; i++) {
+            lambdas[i] = Math.max(lambda * (1 + JITTER * NODES[i]), 0);
+            probabilities[i] = Math.exp(-lambdas[i]);
+        }
+        double[] cdf = new double[MAX_GOALS + 1];
+        double cumulative = 0;
+        int k = 0;
+        while (true) {
+            double p = 0;
+            for (int i = 0; i < NODES.length; i++) {
+                p += WEIGHTS[i] * probabilities[i];
+                probabilities[i] *= lambdas[i] / (k + 1);
+            }
+            cumulative += p;
+            cdf[k] = cumulative;
+            if (k == MAX_GOALS || cumulative >= 1 - TAIL) {
+                break;
+            }
+            k++;
+        }
+        // Whatever tail is left is given to the last count, as the unfrozen model caps at MAX_GOALS
+        cdf[k] = 1.0;
+        return Arrays.copyOf(cdf, k + 1);
+    }
+}
@@ -0,0 +1,208 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-memory tally of many simulated seasons of one domestic league.
+ * All counts live in flat long[] histograms indexed by team, so the memory
+ * used is O(teams x bins) however many runs are recorded. Each worker thread
+ * should own its own accumulator; results are combined with merge(), and the
+ * whole accumulator is Serializable so shards from separate processes or
+ * machines can be written out and merged later.
+ */
+public class SeasonAccumulator implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int UCL = 0;
+    public static final int UEL = 1;
+    public static final int UECL = 2;
+    private static final int COMPETITIONS = 3;
+
+    // Histogram ranges; values outside are clamped into the end bins
+    public static final int MAX_POINTS = 150;
+    public static final int MAX_GOAL_DIFFERENCE = 150;
+    private static final int POINTS_BINS = MAX_POINTS + 1;
+    private static final int GOAL_DIFFERENCE_BINS = 2 * MAX_GOAL_DIFFERENCE + 1;
+
+    private final String[] teamNames;
+    private final long[] positionCounts;      // [team * teamCount + position]
+    private final long[] pointsCounts;        // [team * POINTS_BINS + points]
+    private final long[] goalDifferenceCounts; // [team * GOAL_DIFFERENCE_BINS + gd + MAX_GOAL_DIFFERENCE]
+    private final long[] cupStageCounts;      // [team * Team.CUP_STAGES + stage]
+    private final long[] qualificationCounts; // [team * COMPETITIONS + competition]
+    private long runs;
+
+    private transient Map<String, Integer> teamIndex;
+
+    /**
+     * @param teamNames The league's team names; their order fixes the team
+     *                  indices used by every getter.
+     */
+    public SeasonAccumulator(List<String> teamNames) {
+        this.teamNames = teamNames.toArray(new String[0]);
+        int teamCount = this.teamNames.length;
+        this.positionCounts = new long[teamCount * teamCount];
+        this.pointsCounts = new long[teamCount * POINTS_BINS];
+        this.goalDifferenceCounts = new long[teamCount * GOAL_DIFFERENCE_BINS];
+        this.cupStageCounts = new long[teamCount * Team.CUP_STAGES];
+        this.qualificationCounts = new long[teamCount * COMPETITIONS];
+    }
+
+    /**
+     * Adds the outcome of one fully simulated season.
+     * @param league A league after simulateFullSeason has run.
+     */
+    public void record(DomesticLeague league) {
+        List<Team> standings = league.getFinalStandings();
+        int teamCount = teamNames.length;
+        for (int position = 0; position < standings.size(); position++) {
+            Team team = standings.get(position);
+            int t = indexOf(team.getName());
+            positionCounts[t * teamCount + position]++;
+            int points = Math.max(0, Math.min(MAX_POINTS, team.getPoints()));
+            pointsCounts[t * POINTS_BINS + points]++;
+            int goalDifference = Math.max(-MAX_GOAL_DIFFERENCE, Math.min(MAX_GOAL_DIFFERENCE, team.getGoalDifference()));
+            goalDifferenceCounts[t * GOAL_DIFFERENCE_BINS + goalDifference + MAX_GOAL_DIFFERENCE]++;
+            cupStageCounts[t * Team.CUP_STAGES + team.getCupRoundReached()]++;
+        }
+        recordQualifiers(league.getUclTeams(), UCL);
+        recordQualifiers(league.getUelTeams(), UEL);
+        recordQualifiers(league.getUeclTeams(), UECL);
+        runs++;
+    }
+
+    private void recordQualifiers(List<Team> qualifiers, int competition) {
+        for (Team team : qualifiers) {
+            qualificationCounts[indexOf(team.getName()) * COMPETITIONS + competition]++;
+        }
+    }
+
+    /**
+     * Adds another accumulator's counts into this one.
+     * @param other An accumulator for the same league (same team order).
+     */
+    public void merge(SeasonAccumulator other) {
+        if (!Arrays.equals(teamNames, other.teamNames)) {
+            throw new IllegalArgumentException("Cannot merge accumulators for different team lists");
+        }
+        addInto(positionCounts, other.positionCounts);
+        addInto(pointsCounts, other.pointsCounts);
+        addInto(goalDifferenceCounts, other.goalDifferenceCounts);
+        addInto(cupStageCounts, other.cupStageCounts);
+        addInto(qualificationCounts, other.qualificationCounts);
+        runs += other.runs;
+    }
+
+    private static void addInto(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += source[i];
+        }
+    }
+
+    // --- QUERIES ---
+
+    public long getRuns() { return runs; }
+    public int getTeamCount() { return teamNames.length; }
+    public String getTeamName(int team) { return teamNames[team]; }
+
+    public int indexOf(String teamName) {
+        if (teamIndex == null) {
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < teamNames.length; i++) {
+                index.put(teamNames[i], i);
+            }
+            teamIndex = index;
+        }
+        Integer index = teamIndex.get(teamName);
+        if (index == null) {
+            throw new IllegalArgumentException("Team not tracked by this accumulator: " + teamName);
+        }
+        return index;
+    }
+
+    /**
+     * @param position Zero-based final position (0 = champion).
+     */
+    public long getPositionCount(int team, int position) {
+        return positionCounts[team * teamNames.length + position];
+    }
+
+    /**
+     * @return Number of runs in which the team finished at or above the given
+     *         zero-based position.
+     */
+    public long getTopCount(int team, int positions) {
+        long count = 0;
+        for (int p = 0; p < positions; p++) {
+            count += getPositionCount(team, p);
+        }
+        return count;
+    }
+
+    public long getBottomCount(int team, int positions) {
+        long count = 0;
+        for (int p = teamNames.length - positions; p < teamNames.length; p++) {
+            count += getPositionCount(team, p);
+        }
+        return count;
+    }
+
+    public long getPointsCount(int team, int points) {
+        return pointsCounts[team * POINTS_BINS + points];
+    }
+
+    public long getGoalDifferenceCount(int team, int goalDifference) {
+        return goalDifferenceCounts[team * GOAL_DIFFERENCE_BINS + goalDifference + MAX_GOAL_DIFFERENCE];
+    }
+
+    public long getCupStageCount(int team, int stage) {
+        return cupStageCounts[team * Team.CUP_STAGES + stage];
+    }
+
+    public long getQualificationCount(int team, int competition) {
+        return qualificationCounts[team * COMPETITIONS + competition];
+    }
+
+    public double probability(long count) {
+        return runs == 0 ? 0.0 : (double) count / runs;
+    }
+
+    public double getExpectedPoints(int team) {
+        double total = 0;
+        for (int points = 0; points < POINTS_BINS; points++) {
+            total += (double) points * getPointsCount(team, points);
+        }
+        return runs == 0 ? 0.0 : total / runs;
+    }
+
+    public double getExpectedPosition(int team) {
+        double total = 0;
+        for (int position = 0; position < teamNames.length; position++) {
+            total += (position + 1.0) * getPositionCount(team, position);
+        }
+        return runs == 0 ? 0.0 : total / runs;
+    }
+
+    // --- SHARDS ---
+
+    public void writeTo(OutputStream out) throws IOException {
+        ObjectOutputStream objectOut = new ObjectOutputStream(out);
+        objectOut.writeObject(this);
+        objectOut.flush();
+    }
+
+    public static SeasonAccumulator readFrom(InputStream in) throws IOException {
+        try {
+            return (SeasonAccumulator) new ObjectInputStream(in).readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Not a SeasonAccumulator shard", e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Records seasons to replay logs (see ReplayLog) and replays them, so an odd
+ * result from a large batch can be re-run draw for draw with the commentary
+ * switched on.
+ * Recording is decided per run: a run without a log pays nothing beyond one
+ * flag check per simulator, so a batch can keep, say, one run in 10,000. A
+ * replay checks every draw against the log and stops at the first one the
+ * code asks for differently, which pinpoints where a change to the
+ * simulators altered the run.
+ *
+ * Usage:
+ *   SeasonReplay record [league|Europe] [runs] [sampleEvery] [directory]
+ *   SeasonReplay replay [file]
+ */
+public class SeasonReplay {
+    public static final String EUROPE = "Europe";
+
+    public static void main(String[] args) throws IOException {
+        String mode = args.length > 0 ? args[0] : "record";
+        if (mode.equals("replay")) {
+            Path file = Path.of(args.length > 1 ? args[1] : "replays/run-0.replay");
+            ReplayLog log;
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                log = ReplayLog.readFrom(in);
+            }
+            String outcome = replay(log);
+            System.out.printf("%n--- Replayed %s (%s): %d draws matched the log ---%n", file, outcome,
+                    log.getEntryCount());
+            return;
+        }
+
+        String scope = args.length > 1 ? args[1] : "Premier_League";
+        long runs = args.length > 2 ? Long.parseLong(args[2]) : 1_000;
+        long sampleEvery = args.length > 3 ? Long.parseLong(args[3]) : 100;
+        Path directory = Path.of(args.length > 4 ? args[4] : "replays");
+        Files.createDirectories(directory);
+
+        long recordedNanos = 0;
+        long plainNanos = 0;
+        long recorded = 0;
+        long bytes = 0;
+        SilentOutput.begin();
+        try {
+            for (long run = 0; run < runs; run++) {
+                boolean sampled = run % sampleEvery == 0;
+                long start = System.nanoTime();
+                if (sampled) {
+                    ReplayLog log = record(scope, SimulationContext.DEFAULT_HOME_ADVANTAGE);
+                    recordedNanos += System.nanoTime() - start;
+                    try (OutputStream out = new BufferedOutputStream(
+                            Files.newOutputStream(directory.resolve("run-" + run + ".replay")))) {
+                        log.writeTo(out);
+                    }
+                    recorded++;
+                    bytes += log.getByteCount();
+                } else {
+                    new SimulationContext().run(() -> simulate(scope));
+                    plainNanos += System.nanoTime() - start;
+                }
+            }
+        } finally {
+            SilentOutput.end();
+        }
+
+        System.out.printf("--- %s: %d runs, %d recorded to %s ---%n", scope, runs, recorded, directory);
+        if (recorded > 0) {
+            System.out.printf("Average log size: %,d bytes%n", bytes / recorded);
+            System.out.printf("Recorded run: %.2f ms", recordedNanos / 1e6 / recorded);
+            if (runs > recorded) {
+                System.out.printf(", plain run: %.2f ms", plainNanos / 1e6 / (runs - recorded));
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Simulates one season with every draw recorded.
+     */
+    public static ReplayLog record(String scope, double homeAdvantage) {
+        ReplayLog log = new ReplayLog(scope, homeAdvantage, false);
+        new SimulationContext(null, homeAdvantage, false).withRecording(log).run(() -> simulate(scope));
+        return log;
+    }
+
+    /**
+     * Re-runs a recorded season on the calling thread, printing as it goes.
+     * @return A one-line summary of the outcome.
+     * @throws IllegalStateException if the run draws differently from the log.
+     */
+    public static String replay(ReplayLog log) {
+        SimulationContext context = new SimulationContext(null, log.getHomeAdvantage(), log.isAntithetic())
+                .withReplay(log);
+        String[] outcome = new String[1];
+        context.run(() -> outcome[0] = simulate(log.getScope()));
+        ReplayLog.Cursor cursor = context.getReplayCursor();
+        if (!cursor.isFinished()) {
+            throw new IllegalStateException("Replay finished after " + cursor.getEntriesRead() + " of "
+                    + log.getEntryCount() + " logged draws");
+        }
+        return outcome[0];
+    }
+
+    private static String simulate(String scope) {
+        if (scope.equals(EUROPE)) {
+            EuropeanCompetitionSimulator.ContinentResult season = EuropeanCompetitionSimulator.simulateContinent();
+            Team winner = season.championsLeague == null ? null : season.championsLeague.getWinner();
+            return "Champions League winner: " + (winner == null ? "none" : winner.getName());
+        }
+        DomesticLeague league = DomesticLeague.create(scope);
+        league.setupTeams();
+        league.simulateFullSeason();
+        return "Champion: " + league.getFinalStandings().get(0).getName();
+    }
+}
@@ -15,11 +15,11 @@ import java.util.stream.Collectors;
  * NOTE: This class has been refactored to work with the
  * EuropeanCompetitionSimulator.
  */
-public class SerieA_League {
+public class SerieA_League implements DomesticLeague {
     private final List<Team> teams;
-    private final List<Match> fixtures;
+    private FixtureBuffer fixtures;
     private final MatchSimulator matchSimulator;
-    private final Random random = new Random();
+    private final Random random = SimulationContext.current().newRandom();
 
     private Team coppaItaliaWinner;
     private Team titlePlayoffWinner = null;
@@ -32,7 +32,6 @@ public class SerieA_League {
 
     public SerieA_League() {
         this.teams = new ArrayList<>();
-        this.fixtures = new ArrayList<>();
         this.matchSimulator = new MatchSimulator();
     }
 
@@ -49,6 +48,43 @@ public class SerieA_League {
         return ueclTeams;
     }
 
+    // --- DOMESTIC LEAGUE CONTRACT ---
+    @Override
+    public String getName() {
+        return "SerieA_League";
+    }
+
+    @Override
+    public int getRelegationPlaces() {
+        return 3;
+    }
+
+    @Override
+    public List<Team> getTeams() {
+        return this.teams;
+    }
+
+    @Override
+    public void simulateFullSeason() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Coppa Italia");
+        simulateCoppaItalia();
+        stage = stage.next("Fixtures");
+        generateFixtures();
+        stage = stage.next("Season");
+        simulateSeason();
+        stage = stage.next("Playoffs");
+        checkForAndSimulatePlayoffs();
+        stage = stage.next("European spots");
+        determineEuropeanSpots();
+        stage.end();
+    }
+
+    @Override
+    public List<Team> getFinalStandings() {
+        sortFinalTable();
+        return new ArrayList<>(this.teams);
+    }
+
     public static void main(String[] args) {
         SerieA_League serieA = new SerieA_League();
 
@@ -75,6 +111,7 @@ public class SerieA_League {
     }
 
     public void setupTeams() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Setup");
         double initialElo = 1500;
         this.teams.add(new Team("Inter Milan", 92, 89, initialElo + 290)); // Adjusted
         this.teams.add(new Team("AC Milan", 89, 85, initialElo + 270)); // Adjusted
@@ -97,6 +134,7 @@ public class SerieA_League {
         this.teams.add(new Team("Cagliari", 68, 71, initialElo - 200));
         this.teams.add(new Team("Frosinone", 67, 69, initialElo - 220));
         System.out.println("20 Serie A teams have been created.");
+        stage.end();
     }
 
     public void simulateCoppaItalia() {
@@ -111,6 +149,7 @@ public class SerieA_League {
         List<Team> finalists = simulateKnockoutRound(semiFinalists);
         System.out.println("\n** Coppa Italia Final **");
         this.coppaItaliaWinner = matchSimulator.simulateSingleMatch(finalists.get(0), finalists.get(1));
+        this.coppaItaliaWinner.reachCupRound(1);
         System.out.println("\nCoppa Italia Winner: " + this.coppaItaliaWinner.getName());
     }
 
@@ -133,32 +172,29 @@ public class SerieA_League {
     private List<Team> simulateKnockoutRound(List<Team> teamsInRound) {
         List<Team> winners = new ArrayList<>();
         Collections.shuffle(teamsInRound, random);
+        for (Team team : teamsInRound) {
+            team.reachCupRound(teamsInRound.size());
+        }
         for (int i = 0; i < teamsInRound.size(); i += 2) {
             winners.add(matchSimulator.simulateSingleMatch(teamsInRound.get(i), teamsInRound.get(i + 1)));
         }
+        for (Team winner : winners) {
+            winner.reachCupRound(winners.size());
+        }
         return winners;
     }
 
     public void generateFixtures() {
-        for (Team homeTeam : this.teams) {
-            for (Team awayTeam : this.teams) {
-                if (!homeTeam.equals(awayTeam)) {
-                    this.fixtures.add(new Match(homeTeam, awayTeam));
-                }
-            }
-        }
+        this.fixtures = FixtureBuffer.roundRobin(this.teams);
         System.out.println(this.fixtures.size() + " league matches have been scheduled.");
     }
 
     public void simulateSeason() {
-        for (Match match : this.fixtures) {
-            matchSimulator.simulateMatch(match);
-        }
+        matchSimulator.simulateFixtures(this.fixtures);
     }
 
     public void checkForAndSimulatePlayoffs() {
-        this.teams.sort(Comparator.comparingInt(Team::getPoints).reversed()
-                .thenComparingInt(Team::getGoalDifference).reversed());
+        StandingsSorter.sort(this.teams);
 
         Team first = this.teams.get(0);
         Team second = this.teams.get(1);
@@ -181,9 +217,7 @@ public class SerieA_League {
     public void determineEuropeanSpots() {
         // Sort table using the standard tie-breakers first to determine initial
         // placings
-        this.teams.sort(Comparator.comparingInt(Team::getPoints).reversed()
-                .thenComparingInt(Team::getGoalDifference).reversed()
-                .thenComparingInt(Team::getGoalsFor).reversed());
+        StandingsSorter.sort(this.teams);
 
         Set<Team> qualifiedForEurope = new HashSet<>();
 
@@ -219,7 +253,7 @@ public class SerieA_League {
         }
     }
 
-    public void displayTable() {
+    private void sortFinalTable() {
         // Final sort of the table, accounting for playoffs
         this.teams.sort((t1, t2) -> {
             if (t1.getPoints() != t2.getPoints())
@@ -239,6 +273,10 @@ public class SerieA_League {
                 return Integer.compare(t2.getGoalsFor(), t1.getGoalsFor());
             return t1.getName().compareTo(t2.getName());
         });
+    }
+
+    public void displayTable() {
+        sortFinalTable();
 
         System.out.println("Pos | Team                     | P  | W  | D  | L  | GF | GA | GD  | Pts | Elo ");
         System.out.println("------------------------------------------------------------------------------------");
@@ -0,0 +1,65 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Swallows the simulators' console commentary during batch runs.
+ * The league and competition classes print every match as they go, which is
+ * what we want for a single season but dominates the cost of a Monte Carlo
+ * run. While silenced, System.out is replaced by a stream whose print methods
+ * return immediately, so not even the printf formatting is paid for.
+ */
+public final class SilentOutput {
+    private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream()) {
+        @Override public void print(String s) { }
+        @Override public void print(Object obj) { }
+        @Override public void print(int i) { }
+        @Override public void print(long l) { }
+        @Override public void print(double d) { }
+        @Override public void print(boolean b) { }
+        @Override public void print(char c) { }
+        @Override public void println() { }
+        @Override public void println(String x) { }
+        @Override public void println(Object x) { }
+        @Override public void println(int x) { }
+        @Override public void println(long x) { }
+        @Override public void println(double x) { }
+        @Override public void println(boolean x) { }
+        @Override public void println(char x) { }
+        @Override public PrintStream printf(String format, Object... args) { return this; }
+        @Override public PrintStream printf(Locale l, String format, Object... args) { return this; }
+        @Override public PrintStream format(String format, Object... args) { return this; }
+        @Override public PrintStream format(Locale l, String format, Object... args) { return this; }
+    };
+
+    private static PrintStream originalOut;
+    private static int depth;
+
+    private SilentOutput() {
+    }
+
+    /**
+     * Starts discarding console output. Calls nest; output is restored when
+     * the matching number of end() calls have been made.
+     */
+    public static synchronized void begin() {
+        if (depth++ == 0) {
+            originalOut = System.out;
+            System.setOut(DISCARD);
+        }
+    }
+
+    public static synchronized void end() {
+        if (depth > 0 && --depth == 0) {
+            System.setOut(originalOut);
+            originalOut = null;
+        }
+    }
+
+    /**
+     * @return The real console stream, even while output is silenced.
+     */
+    public static synchronized PrintStream console() {
+        return depth > 0 ? originalOut : System.out;
+    }
+}
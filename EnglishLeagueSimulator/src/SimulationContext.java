@@ -0,0 +1,310 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Per-thread settings that the simulators pick up when they are constructed.
+ * By default every simulator gets its own unseeded Random and the standard
+ * 1.25 home advantage, exactly as before. Batch tools install a context on a
+ * worker thread (see run) to make a season reproducible from a seed, or to
+ * change model parameters for a scenario, without threading extra arguments
+ * through every league class.
+ */
+public class SimulationContext {
+    public static final double DEFAULT_HOME_ADVANTAGE = 1.25;
+
+    private static final SimulationContext DEFAULT = new SimulationContext();
+    private static final ThreadLocal<SimulationContext> CURRENT = ThreadLocal.withInitial(() -> DEFAULT);
+
+    private final Long seed;
+    private final double homeAdvantage;
+    private final boolean antithetic;
+    private long streamsCreated;
+    private final Map<String, Double> lambdaTilts = new HashMap<>();
+    private double logWeight;
+    private final Map<String, int[]> fixedResults = new HashMap<>();
+    private long quasiRandomPoint = -1;
+    private int quasiRandomLog2Points;
+    private ReplayLog recording;
+    private ReplayLog.Cursor replay;
+    private int streamsInstrumented;
+    private MatchSink matchSink;
+    private ScorelineTables frozenRatings;
+    private AssociationCoefficients coefficients;
+    private NormalSampler normalSampler = NormalSampler.ZIGGURAT;
+    private MatchModel matchModel = MatchModel.POISSON;
+    private MatchEventEngine matchEvents;
+
+    public SimulationContext() {
+        this(null, DEFAULT_HOME_ADVANTAGE, false);
+    }
+
+    /**
+     * @param seed          Run seed, or null for unseeded randomness.
+     * @param homeAdvantage Multiplier applied to the home side's lambda.
+     * @param antithetic    If true, simulators mirror every uniform draw
+     *                      (u becomes 1 - u) to produce the antithetic
+     *                      partner of the run with the same seed.
+     */
+    public SimulationContext(Long seed, double homeAdvantage, boolean antithetic) {
+        this.seed = seed;
+        this.homeAdvantage = homeAdvantage;
+        this.antithetic = antithetic;
+    }
+
+    public static SimulationContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs a task with this context installed on the calling thread.
+     * Contexts hold per-run state, so use a new instance for every run.
+     */
+    public void run(Runnable task) {
+        SimulationContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            task.run();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    public boolean isSeeded() { return seed != null; }
+    public double getHomeAdvantage() { return homeAdvantage; }
+    public boolean isAntithetic() { return antithetic; }
+
+    /**
+     * Tilts a team's goal rates for importance sampling: the team's own lambda
+     * is multiplied by the tilt and its opponents' lambdas divided by it. The
+     * simulators then keep track of the likelihood-ratio weight of the run.
+     */
+    public SimulationContext withLambdaTilt(String teamName, double tilt) {
+        lambdaTilts.put(teamName, tilt);
+        return this;
+    }
+
+    public boolean hasLambdaTilts() { return !lambdaTilts.isEmpty(); }
+
+    public double getLambdaTilt(Team team) {
+        return lambdaTilts.getOrDefault(team.getName(), 1.0);
+    }
+
+    public void addLogWeight(double logLikelihoodRatio) {
+        logWeight += logLikelihoodRatio;
+    }
+
+    /**
+     * @return exp of the accumulated log likelihood ratio; 1.0 for untilted runs.
+     */
+    public double getWeight() { return Math.exp(logWeight); }
+
+    /**
+     * Fixes the score of a league fixture instead of simulating it, e.g. for
+     * scenarios that start from results already played.
+     */
+    public SimulationContext withFixedResult(String homeTeam, String awayTeam, int homeGoals, int awayGoals) {
+        fixedResults.put(homeTeam + '\u0000' + awayTeam, new int[] { homeGoals, awayGoals });
+        return this;
+    }
+
+    /**
+     * @return {homeGoals, awayGoals} if the fixture's score is fixed, otherwise null.
+     */
+    public int[] getFixedResult(Team homeTeam, Team awayTeam) {
+        if (fixedResults.isEmpty()) {
+            return null;
+        }
+        return fixedResults.get(homeTeam.getName() + '\u0000' + awayTeam.getName());
+    }
+
+    /**
+     * Switches the match simulators to quasi-random draws: this run becomes
+     * run 'point' of a batch of 2^log2Points runs that share a Sobol sequence
+     * (see SobolRandom) instead of using a pseudo-random stream. The context
+     * seed then acts as the scramble and must be the same for every run of the
+     * batch; league-level randomness (draws, fixture shuffles) still varies
+     * from run to run.
+     */
+    public SimulationContext withQuasiRandomPoint(long point, int log2Points) {
+        if (seed == null) {
+            throw new IllegalStateException("Quasi-random runs need a seeded context");
+        }
+        this.quasiRandomPoint = point;
+        this.quasiRandomLog2Points = log2Points;
+        return this;
+    }
+
+    public boolean isQuasiRandom() { return quasiRandomPoint >= 0; }
+    public long getQuasiRandomPoint() { return quasiRandomPoint; }
+    public int getQuasiRandomLog2Points() { return quasiRandomLog2Points; }
+
+    /**
+     * Passes every match result of this run to the sink (see MatchSink).
+     */
+    public SimulationContext withMatchSink(MatchSink sink) {
+        this.matchSink = sink;
+        return this;
+    }
+
+    /**
+     * @return The run's match sink, or null if results are not being kept.
+     */
+    public MatchSink getMatchSink() { return matchSink; }
+
+    /**
+     * Freezes ratings for the run: simulators stop updating Elo after each
+     * match, so every pairing's goal distribution is fixed for the season and
+     * is looked up in the shared tables instead of being recomputed (see
+     * ScorelineTables). Pass the same tables to every run of a batch.
+     */
+    public SimulationContext withFrozenRatings(ScorelineTables tables) {
+        this.frozenRatings = tables;
+        return this;
+    }
+
+    /**
+     * @return The frozen-ratings tables, or null if ratings are live.
+     */
+    public ScorelineTables getFrozenRatings() { return frozenRatings; }
+
+    /**
+     * Records the run's European results into the coefficients and lets them
+     * decide the European places (see AssociationCoefficients). Pass the same
+     * instance to every season of a multi-season run.
+     */
+    public SimulationContext withCoefficients(AssociationCoefficients coefficients) {
+        this.coefficients = coefficients;
+        return this;
+    }
+
+    /**
+     * @return The run's association coefficients, or null if none are kept.
+     */
+    public AssociationCoefficients getCoefficients() { return coefficients; }
+
+    /**
+     * Sets how simulators draw normal variates (the lambda jitter). The
+     * default is the ziggurat; NormalSampler.JDK gives Random.nextGaussian.
+     * Quasi-random runs ignore this (see NormalSampler.JDK).
+     */
+    public SimulationContext withNormalSampler(NormalSampler sampler) {
+        this.normalSampler = sampler;
+        return this;
+    }
+
+    public NormalSampler getNormalSampler() { return normalSampler; }
+
+    /**
+     * Sets the scoreline model (see MatchModel); the default is independent
+     * Poisson goals. Frozen-ratings runs use their tables' model instead, and
+     * lambda tilts need the Poisson model.
+     */
+    public SimulationContext withMatchModel(MatchModel model) {
+        this.matchModel = model;
+        return this;
+    }
+
+    public MatchModel getMatchModel() { return matchModel; }
+
+    /**
+     * Plays every match goal by goal with the engine, so each has a timeline
+     * (see MatchEventEngine). Needs live ratings, no lambda tilts and the
+     * Poisson match model.
+     */
+    public SimulationContext withMatchEvents(MatchEventEngine engine) {
+        this.matchEvents = engine;
+        return this;
+    }
+
+    /**
+     * @return The run's event engine, or null if only final scores are drawn.
+     */
+    public MatchEventEngine getMatchEvents() { return matchEvents; }
+
+    /**
+     * Seed for the next random stream handed out in this run. Streams are
+     * numbered in creation order, which is fixed by the season structure, so
+     * two runs with the same seed give every component the same stream.
+     */
+    public synchronized long nextStreamSeed() {
+        return mix(seed == null ? 0 : seed, ++streamsCreated);
+    }
+
+    /**
+     * @return A Random for a league or simulator: seeded from the run seed if
+     *         there is one, otherwise a fresh unseeded Random.
+     */
+    public Random newRandom() {
+        if (seed == null) {
+            return instrument(new Random());
+        }
+        long streamSeed = nextStreamSeed();
+        return instrument(new Random(isQuasiRandom() ? mix(streamSeed, quasiRandomPoint) : streamSeed));
+    }
+
+    /**
+     * Records every random value drawn in this run to the log (see
+     * SeasonReplay). The draws themselves are unchanged.
+     */
+    public SimulationContext withRecording(ReplayLog log) {
+        this.recording = log;
+        return this;
+    }
+
+    /**
+     * Replays a recorded run: every Random handed out by this context returns
+     * the logged values instead of its own, and the run fails with an
+     * IllegalStateException as soon as it asks for a draw the recording did not
+     * make.
+     */
+    public SimulationContext withReplay(ReplayLog log) {
+        this.replay = log.cursor();
+        return this;
+    }
+
+    public boolean isTracing() { return recording != null || replay != null; }
+
+    /**
+     * @return The cursor of a replay, or null if this context is not replaying.
+     */
+    public ReplayLog.Cursor getReplayCursor() { return replay; }
+
+    /**
+     * Wraps a stream for recording or replay if either is on, numbering the
+     * streams in the order they are created; otherwise returns it unchanged.
+     */
+    public Random instrument(Random random) {
+        if (recording != null) {
+            return new RecordingRandom(random, recording, streamsInstrumented++);
+        }
+        if (replay != null) {
+            return new ReplayRandom(replay, streamsInstrumented++);
+        }
+        return random;
+    }
+
+    /**
+     * Logs the goals a simulator drew, or checks them against the log when
+     * replaying, so a change to the match model shows up at the first goal
+     * count that differs rather than as a different final table.
+     */
+    public void traceGoals(int goals) {
+        if (recording != null) {
+            recording.appendSmall(ReplayLog.GOALS, 0, 0, goals);
+        } else if (replay != null) {
+            replay.checkGoals(goals);
+        }
+    }
+
+    /**
+     * SplitMix64-style finaliser, used to derive independent-looking seeds from
+     * (seed, counter) pairs.
+     */
+    public static long mix(long seed, long counter) {
+        long z = seed + counter * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,367 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.BindException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Long-running simulator that takes commands over a Unix domain socket, as an
+ * alternative to starting a JVM per batch job. The process keeps its
+ * JIT-compiled code, its simulation threads and each league's prepared
+ * ScenarioBatch (its team catalogue) between requests. Only the first
+ * request after start-up pays for warm-up.
+ *
+ * Protocol: one command per line (UTF-8). Tokens are separated by spaces;
+ * double quotes group a token that contains spaces, e.g.
+ * attack:"Manchester City"=95. Every response line is tab-separated and
+ * starts with a keyword. Each command ends with a "done" or "error" line, and
+ * the connection stays open for the next command.
+ *
+ *   simulate <league> <runs> [seed=N] [homeAdvantage=X] [attack:TEAM=N]
+ *            [defence:TEAM=N] [elo:TEAM=X] [result:HOME|AWAY=H-A]
+ *            [frozen=true] [model=dixon-coles:RHO|bivariate:X|negative-binomial:X]
+ *       -> progress  runsDone  runs  elapsedMs       (about ten times)
+ *          team  name  expPoints  expPosition  title  top4  relegated
+ *          done  runs  elapsedMs
+ *   leagues          -> league  name ... done
+ *   teams <league>   -> team  name  attack  defence  elo ... done
+ *   ping             -> pong
+ *   quit             closes the connection
+ *   shutdown         stops the daemon
+ *
+ * Usage:
+ *   SimulationDaemon serve [socketPath] [threads]
+ *   SimulationDaemon send [socketPath] command...
+ */
+public class SimulationDaemon {
+    public static final Path DEFAULT_SOCKET = Path.of(System.getProperty("java.io.tmpdir"), "football-simulator.sock");
+    private static final long MAX_RUNS = 10_000_000;
+    private static final int MAX_STRENGTH = 255;
+    private static final int MAX_GOALS = 99;
+    private static final int PROGRESS_UPDATES = 10;
+    private static final long MIN_SLICE_RUNS = 1_000;
+
+    private final Path socketPath;
+    private final ServerSocketChannel server;
+    private final ExecutorService simulationPool;
+    private final ExecutorService connectionExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int workers;
+    private final Map<String, ScenarioBatch> batches = new ConcurrentHashMap<>();
+    // Goal tables for frozen=true requests, kept across requests like the batches
+    private final ScorelineTables frozenRatings = new ScorelineTables();
+
+    public SimulationDaemon(Path socketPath, int workers) throws IOException {
+        this.socketPath = socketPath;
+        this.workers = workers;
+        this.simulationPool = Executors.newFixedThreadPool(workers);
+        deleteStaleSocket(socketPath);
+        this.server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socketPath));
+    }
+
+    /**
+     * Removes a socket file left behind by a daemon that was killed, which
+     * would make bind fail. A socket that still accepts connections belongs
+     * to a running daemon and is left alone.
+     */
+    private static void deleteStaleSocket(Path socketPath) throws IOException {
+        if (!Files.exists(socketPath)) {
+            return;
+        }
+        boolean listening;
+        try {
+            SocketChannel.open(UnixDomainSocketAddress.of(socketPath)).close();
+            listening = true;
+        } catch (IOException e) {
+            listening = false; // connection refused: nobody is listening
+        }
+        if (listening) {
+            throw new BindException("A daemon is already listening on " + socketPath);
+        }
+        Files.deleteIfExists(socketPath);
+    }
+
+    public static void main(String[] args) throws IOException {
+        String mode = args.length > 0 ? args[0] : "serve";
+        Path socketPath = args.length > 1 ? Path.of(args[1]) : DEFAULT_SOCKET;
+        if (mode.equals("send")) {
+            send(socketPath, String.join(" ", Arrays.copyOfRange(args, Math.min(2, args.length), args.length)));
+            return;
+        }
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        SimulationDaemon daemon = new SimulationDaemon(socketPath, threads);
+        System.out.println("Simulation daemon listening on " + socketPath + " with " + threads
+                + " simulation threads");
+        daemon.serve();
+    }
+
+    /**
+     * Sends one command to a running daemon and prints the response.
+     */
+    public static void send(Path socketPath, String command) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+            PrintWriter out = new PrintWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+            out.print(command + "\nquit\n");
+            out.flush();
+            BufferedReader in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                System.out.println(line);
+            }
+        }
+    }
+
+    /**
+     * Accepts connections until a shutdown command arrives, handling each on
+     * its own virtual thread.
+     */
+    public void serve() throws IOException {
+        try {
+            while (true) {
+                SocketChannel connection;
+                try {
+                    connection = server.accept();
+                } catch (ClosedChannelException e) {
+                    return; // shutdown
+                }
+                connectionExecutor.submit(() -> handle(connection));
+            }
+        } finally {
+            simulationPool.shutdown();
+            connectionExecutor.shutdown();
+            Files.deleteIfExists(socketPath);
+        }
+    }
+
+    public void shutdown() throws IOException {
+        server.close();
+    }
+
+    private Void handle(SocketChannel connection) throws IOException {
+        try (connection) {
+            BufferedReader in = new BufferedReader(Channels.newReader(connection, StandardCharsets.UTF_8));
+            PrintWriter out = new PrintWriter(Channels.newWriter(connection, StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                try {
+                    List<String> tokens = tokenize(line);
+                    if (tokens.isEmpty()) {
+                        continue;
+                    }
+                    String command = tokens.get(0);
+                    if (command.equals("quit")) {
+                        break;
+                    }
+                    switch (command) {
+                        case "simulate": simulate(tokens, out); break;
+                        case "leagues": leagues(out); break;
+                        case "teams": teams(tokens, out); break;
+                        case "ping": out.println("pong"); break;
+                        case "shutdown":
+                            out.println("done");
+                            out.flush();
+                            shutdown();
+                            return null;
+                        default: throw new IllegalArgumentException("Unknown command: " + command);
+                    }
+                } catch (RuntimeException e) {
+                    out.println("error\t" + String.valueOf(e.getMessage()).replace('\n', ' '));
+                }
+                out.flush();
+            }
+        }
+        return null;
+    }
+
+    // --- COMMANDS ---
+
+    private void simulate(List<String> tokens, PrintWriter out) {
+        if (tokens.size() < 3) {
+            throw new IllegalArgumentException("Usage: simulate <league> <runs> [options]");
+        }
+        String leagueName = tokens.get(1);
+        long runs = parseLong(tokens.get(2), "runs");
+        if (runs < 1 || runs > MAX_RUNS) {
+            throw new IllegalArgumentException("runs must be between 1 and " + MAX_RUNS);
+        }
+        Long seed = null;
+        boolean frozen = false;
+        MatchModel model = MatchModel.POISSON;
+        Scenario scenario = new Scenario("Request");
+        for (String option : tokens.subList(3, tokens.size())) {
+            int equals = option.lastIndexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Expected name=value: " + option);
+            }
+            String name = option.substring(0, equals);
+            String value = option.substring(equals + 1);
+            if (name.equals("seed")) {
+                seed = parseLong(value, name);
+            } else if (name.equals("frozen")) {
+                frozen = Boolean.parseBoolean(value);
+            } else if (name.equals("model")) {
+                model = MatchModel.parse(value);
+            } else if (name.equals("homeAdvantage")) {
+                scenario.withHomeAdvantage(parseDouble(value, name));
+            } else if (name.startsWith("attack:")) {
+                scenario.withAttackStrength(name.substring(7), parseInt(value, name, 1, MAX_STRENGTH));
+            } else if (name.startsWith("defence:")) {
+                scenario.withDefenceStrength(name.substring(8), parseInt(value, name, 1, MAX_STRENGTH));
+            } else if (name.startsWith("elo:")) {
+                scenario.withEloRating(name.substring(4), parseDouble(value, name));
+            } else if (name.startsWith("result:") && name.indexOf('|') > 0 && value.indexOf('-') > 0) {
+                String[] teams = name.substring(7).split("\\|", 2);
+                String[] goals = value.split("-", 2);
+                scenario.withFixedResult(teams[0], teams[1], parseInt(goals[0], name, 0, MAX_GOALS),
+                        parseInt(goals[1], name, 0, MAX_GOALS));
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+        scenario.withMatchModel(model);
+        if (frozen) {
+            // Only the standard model's tables are kept across requests
+            scenario.withFrozenRatings(model == MatchModel.POISSON ? frozenRatings : new ScorelineTables(model));
+        }
+
+        ScenarioBatch batch = batch(leagueName);
+        int relegationPlaces = DomesticLeague.create(leagueName).getRelegationPlaces();
+        long start = System.nanoTime();
+        long sliceRuns = Math.max(MIN_SLICE_RUNS, (runs + PROGRESS_UPDATES - 1) / PROGRESS_UPDATES);
+        SeasonAccumulator total = new SeasonAccumulator(batch.getTeamNames());
+        long done = 0;
+        for (long slice = 0; done < runs; slice++) {
+            long sliceSize = Math.min(sliceRuns, runs - done);
+            Long sliceSeed = seed == null ? null : SimulationContext.mix(seed, slice);
+            total.merge(batch.run(List.of(scenario), sliceSize, sliceSeed, simulationPool, workers).get(0));
+            done += sliceSize;
+            out.println("progress\t" + done + "\t" + runs + "\t" + (System.nanoTime() - start) / 1_000_000);
+            out.flush();
+        }
+        for (int team = 0; team < total.getTeamCount(); team++) {
+            out.printf("team\t%s\t%.3f\t%.3f\t%.5f\t%.5f\t%.5f%n", total.getTeamName(team),
+                    total.getExpectedPoints(team), total.getExpectedPosition(team),
+                    total.probability(total.getTopCount(team, 1)), total.probability(total.getTopCount(team, 4)),
+                    total.probability(total.getBottomCount(team, relegationPlaces)));
+        }
+        out.println("done\t" + total.getRuns() + "\t" + (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void leagues(PrintWriter out) {
+        for (String league : DomesticLeague.ALL_LEAGUES) {
+            out.println("league\t" + league);
+        }
+        out.println("done");
+    }
+
+    private void teams(List<String> tokens, PrintWriter out) {
+        if (tokens.size() < 2) {
+            throw new IllegalArgumentException("Usage: teams <league>");
+        }
+        DomesticLeague league = DomesticLeague.create(tokens.get(1));
+        SilentOutput.begin();
+        try {
+            league.setupTeams();
+        } finally {
+            SilentOutput.end();
+        }
+        for (Team team : league.getTeams()) {
+            out.println("team\t" + team.getName() + "\t" + team.getAttackStrength() + "\t"
+                    + team.getDefenceStrength() + "\t" + team.getEloRating());
+        }
+        out.println("done");
+    }
+
+    /**
+     * @return The league's prepared batch, built on first use and then kept
+     *         for the life of the daemon.
+     */
+    private ScenarioBatch batch(String leagueName) {
+        ScenarioBatch batch = batches.get(leagueName);
+        if (batch != null) {
+            return batch;
+        }
+        DomesticLeague.create(leagueName); // rejects unknown names before anything is cached
+        return batches.computeIfAbsent(leagueName, name -> new ScenarioBatch(() -> DomesticLeague.create(name)));
+    }
+
+    // --- PARSING ---
+
+    /**
+     * Splits a command line on spaces, treating double-quoted text (which may
+     * appear anywhere in a token) as part of the token.
+     */
+    static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        boolean quoted = false;
+        boolean inToken = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+                inToken = true;
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (inToken) {
+                    tokens.add(token.toString());
+                    token.setLength(0);
+                    inToken = false;
+                }
+            } else {
+                token.append(c);
+                inToken = true;
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote");
+        }
+        if (inToken) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    private static long parseLong(String value, String name) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static int parseInt(String value, String name, int min, int max) {
+        int parsed;
+        try {
+            parsed = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+        if (parsed < min || parsed > max) {
+            throw new IllegalArgumentException(name + " must be between " + min + " and " + max);
+        }
+        return parsed;
+    }
+
+    private static double parseDouble(String value, String name) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+}
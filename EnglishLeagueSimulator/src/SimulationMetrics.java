@@ -0,0 +1,288 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Stage-level timing of the simulators: how long setup, cups, fixture
+ * generation, league phases, splits, playoffs and European knockout rounds
+ * take, per competition.
+ * Two independent sinks:
+ *   - an in-process registry of latency histograms and counters, switched on
+ *     with -Dfootball.metrics=true and readable as a table (summary) or in
+ *     the Prometheus text format (writePrometheus, /metrics on
+ *     SimulationServer);
+ *   - a JFR event, football.Stage, emitted whenever a flight recording has it
+ *     enabled, e.g. -XX:StartFlightRecording:filename=run.jfr.
+ * With both off, begin returns a shared no-op stage after two field reads, so
+ * the instrumentation costs nothing measurable in a batch run.
+ */
+public final class SimulationMetrics {
+    public static final boolean ENABLED = Boolean.getBoolean("football.metrics");
+
+    // Bucket i counts stages that took at most 2^(FIRST_BUCKET_BITS + i) ns,
+    // i.e. from ~1 us up to ~137 s; the last bucket is everything slower
+    private static final int FIRST_BUCKET_BITS = 10;
+    private static final int BUCKETS = 28;
+
+    private static final EventType STAGE_EVENT = stageEventType();
+    private static final Map<String, StageTimings> STAGES = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Stage NOOP = new Stage(null, null, null, 0);
+
+    private SimulationMetrics() {
+    }
+
+    @Name("football.Stage")
+    @Label("Simulation Stage")
+    @Category("Football")
+    @Description("One stage of a domestic or European competition")
+    static class StageEvent extends Event {
+        @Label("Competition")
+        String competition;
+
+        @Label("Stage")
+        String stage;
+
+        @Label("Count")
+        @Description("Stage-specific count, e.g. scheduler retries while generating fixtures")
+        long count;
+    }
+
+    /**
+     * A stage in progress. Call end exactly once when it finishes.
+     */
+    public static final class Stage {
+        private final String competition;
+        private final StageTimings timings;
+        private final StageEvent event;
+        private final long start;
+        private long count;
+
+        private Stage(String competition, StageTimings timings, StageEvent event, long start) {
+            this.competition = competition;
+            this.timings = timings;
+            this.event = event;
+            this.start = start;
+        }
+
+        /**
+         * Attaches a stage-specific count to the JFR event, e.g. how many
+         * times a scheduler had to retry.
+         */
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public void end() {
+            if (this == NOOP) {
+                return;
+            }
+            if (timings != null) {
+                timings.record(System.nanoTime() - start);
+            }
+            if (event != null) {
+                event.count = count;
+                event.commit();
+            }
+        }
+
+        /**
+         * Ends this stage and starts the next one of the same competition, so
+         * a season's steps can be timed back to back. A chain begun while
+         * collection was off stays off.
+         */
+        public Stage next(String stage) {
+            if (this == NOOP) {
+                return NOOP;
+            }
+            end();
+            return begin(competition, stage);
+        }
+    }
+
+    private static EventType stageEventType() {
+        try {
+            return EventType.getEventType(StageEvent.class);
+        } catch (RuntimeException | InternalError e) {
+            return null; // e.g. a native image built without JFR support
+        }
+    }
+
+    /**
+     * Starts timing a stage of a competition.
+     */
+    public static Stage begin(String competition, String stage) {
+        boolean jfr = STAGE_EVENT != null && STAGE_EVENT.isEnabled();
+        if (!ENABLED && !jfr) {
+            return NOOP;
+        }
+        StageEvent event = null;
+        if (jfr) {
+            event = new StageEvent();
+            event.competition = competition;
+            event.stage = stage;
+            event.begin();
+        }
+        return new Stage(competition, ENABLED ? timings(competition, stage) : null, event, System.nanoTime());
+    }
+
+    /**
+     * Adds to a named counter of a competition, e.g. scheduler retries.
+     */
+    public static void count(String competition, String name, long delta) {
+        if (!ENABLED) {
+            return;
+        }
+        COUNTERS.computeIfAbsent(competition + '\u0000' + name, key -> new Counter(competition, name))
+                .value.add(delta);
+    }
+
+    private static StageTimings timings(String competition, String stage) {
+        String key = competition + '\u0000' + stage;
+        StageTimings timings = STAGES.get(key);
+        return timings != null ? timings : STAGES.computeIfAbsent(key, k -> new StageTimings(competition, stage));
+    }
+
+    /**
+     * Clears everything recorded so far.
+     */
+    public static void reset() {
+        STAGES.clear();
+        COUNTERS.clear();
+    }
+
+    /**
+     * @return One line per stage: calls, mean and approximate median and 99th
+     *         percentile (bucket upper bounds), then the counters.
+     */
+    public static String summary() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-26s | %-24s | %9s | %10s | %10s | %10s%n", "Competition", "Stage", "Calls",
+                "Mean ms", "~p50 ms", "~p99 ms"));
+        for (StageTimings timings : sorted(STAGES)) {
+            long calls = timings.count.sum();
+            if (calls == 0) {
+                continue;
+            }
+            long[] buckets = timings.snapshot();
+            out.append(String.format("%-26s | %-24s | %9d | %10.3f | %10.3f | %10.3f%n", timings.competition,
+                    timings.stage, calls, timings.totalNanos.sum() / 1e6 / calls,
+                    percentileNanos(buckets, calls, 0.50) / 1e6, percentileNanos(buckets, calls, 0.99) / 1e6));
+        }
+        for (Counter counter : sorted(COUNTERS)) {
+            out.append(String.format("%-26s | %-24s | %9d%n", counter.competition, counter.name, counter.value.sum()));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes the registry in the Prometheus text exposition format.
+     */
+    public static void writePrometheus(StringBuilder out) {
+        out.append("# HELP football_stage_duration_seconds Wall time of one simulation stage.\n");
+        out.append("# TYPE football_stage_duration_seconds histogram\n");
+        for (StageTimings timings : sorted(STAGES)) {
+            String labels = "competition=\"" + escape(timings.competition) + "\",stage=\"" + escape(timings.stage)
+                    + "\"";
+            long[] buckets = timings.snapshot();
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                cumulative += buckets[i];
+                out.append("football_stage_duration_seconds_bucket{").append(labels).append(",le=\"")
+                        .append((double) (1L << (FIRST_BUCKET_BITS + i)) / 1e9).append("\"} ").append(cumulative)
+                        .append('\n');
+            }
+            cumulative += buckets[BUCKETS];
+            out.append("football_stage_duration_seconds_bucket{").append(labels).append(",le=\"+Inf\"} ")
+                    .append(cumulative).append('\n');
+            out.append("football_stage_duration_seconds_sum{").append(labels).append("} ")
+                    .append(timings.totalNanos.sum() / 1e9).append('\n');
+            out.append("football_stage_duration_seconds_count{").append(labels).append("} ").append(cumulative)
+                    .append('\n');
+        }
+        out.append("# HELP football_events_total Counted events, e.g. fixture scheduler retries.\n");
+        out.append("# TYPE football_events_total counter\n");
+        for (Counter counter : sorted(COUNTERS)) {
+            out.append("football_events_total{competition=\"").append(escape(counter.competition))
+                    .append("\",event=\"").append(escape(counter.name)).append("\"} ").append(counter.value.sum())
+                    .append('\n');
+        }
+    }
+
+    private static <T> List<T> sorted(Map<String, T> registry) {
+        List<String> keys = new ArrayList<>(registry.keySet());
+        keys.sort(null);
+        List<T> values = new ArrayList<>();
+        for (String key : keys) {
+            values.add(registry.get(key));
+        }
+        return values;
+    }
+
+    private static double percentileNanos(long[] buckets, long calls, double quantile) {
+        long rank = (long) Math.ceil(quantile * calls);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += buckets[i];
+            if (cumulative >= rank) {
+                return 1L << (FIRST_BUCKET_BITS + i);
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static final class StageTimings {
+        final String competition;
+        final String stage;
+        final LongAdder[] buckets = new LongAdder[BUCKETS + 1];
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+
+        StageTimings(String competition, String stage) {
+            this.competition = competition;
+            this.stage = stage;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            int bucket = 64 - Long.numberOfLeadingZeros(Math.max(nanos - 1, 0)) - FIRST_BUCKET_BITS;
+            buckets[Math.min(Math.max(bucket, 0), BUCKETS)].increment();
+            count.increment();
+            totalNanos.add(nanos);
+        }
+
+        long[] snapshot() {
+            long[] values = new long[buckets.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = buckets[i].sum();
+            }
+            return values;
+        }
+    }
+
+    private static final class Counter {
+        final String competition;
+        final String name;
+        final LongAdder value = new LongAdder();
+
+        Counter(String competition, String name) {
+            this.competition = competition;
+            this.name = name;
+        }
+    }
+}
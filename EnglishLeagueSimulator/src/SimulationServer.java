@@ -0,0 +1,536 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Embedded HTTP service for dashboards, so they no longer need to run the
+ * command-line simulators and scrape their output. Requests are handled on
+ * virtual threads; the simulations themselves run on a fixed pool sized to
+ * the machine. Results are cached by their canonical request (league, runs
+ * and scenario), and a burst of identical requests shares one in-flight
+ * simulation instead of starting one each. The cache keeps the
+ * MAX_CACHE_ENTRIES most recently requested results.
+ *
+ * Endpoints (GET, JSON responses):
+ *   /league?league=Premier_League&runs=2000&homeAdvantage=1.25
+ *   /cup?league=Premier_League&runs=2000&homeAdvantage=1.25
+ *   /europe?runs=100 (at most MAX_EUROPE_RUNS, as each run is a whole continent)
+ *   /match?league=Premier_League&home=Arsenal&away=Chelsea&runs=10000&homeAdvantage=1.25
+ *   /inplay?league=Premier_League&home=Arsenal&away=Chelsea&minute=60&score=1-0&stateEffect=0.2&runs=10000
+ * frozen=true on /league, /cup and /match runs with ratings frozen at their
+ * starting values (see SimulationContext.withFrozenRatings), and
+ * model=dixon-coles:-0.1 (or bivariate:X, negative-binomial:X) plays them
+ * with a different scoreline model (see MatchModel). /inplay plays the rest
+ * of a match goal by goal from the given minute and score (see
+ * MatchEventEngine) and adds half-time, late-goal and per-period odds.
+ * /metrics returns the stage timings (see SimulationMetrics) in the
+ * Prometheus text format; start the server with -Dfootball.metrics=true to
+ * collect them.
+ *
+ * Usage: SimulationServer [port] [threads]
+ */
+public class SimulationServer {
+    private static final int MAX_RUNS = 1_000_000;
+    private static final int MAX_EUROPE_RUNS = 10_000;
+    private static final int MAX_CACHE_ENTRIES = 256;
+    // Goal tables for frozen=true requests (see ScorelineTables), shared by all of them
+    private static final ScorelineTables FROZEN_RATINGS = new ScorelineTables();
+
+    private final HttpServer server;
+    private final ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService simulationPool;
+    private final int workers;
+    // Access-ordered, so the first entry is the least recently requested;
+    // guarded by its own lock
+    private final LinkedHashMap<String, CompletableFuture<?>> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    public SimulationServer(int port, int workers) throws IOException {
+        this.workers = workers;
+        this.simulationPool = Executors.newFixedThreadPool(workers);
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(requestExecutor);
+        server.createContext("/league", exchange -> handle(exchange, this::leagueOdds));
+        server.createContext("/cup", exchange -> handle(exchange, this::cupOdds));
+        server.createContext("/europe", exchange -> handle(exchange, this::europeanOdds));
+        server.createContext("/match", exchange -> handle(exchange, this::matchPrediction));
+        server.createContext("/inplay", exchange -> handle(exchange, this::inPlayOdds));
+        server.createContext("/metrics", this::handleMetrics);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        SimulationServer simulationServer = new SimulationServer(port, threads);
+        simulationServer.start();
+        System.out.println("Simulation server listening on port " + port + " with " + threads + " simulation threads");
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        simulationPool.shutdown();
+        requestExecutor.shutdown();
+    }
+
+    private interface Endpoint {
+        String respond(Map<String, String> params);
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        int status;
+        String body;
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                status = 405;
+                body = error("Only GET is supported");
+            } else {
+                body = endpoint.respond(parseQuery(exchange.getRequestURI().getRawQuery()));
+                status = 200;
+            }
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            body = error(e.getMessage());
+        } catch (RuntimeException e) {
+            status = 500;
+            body = error(String.valueOf(e.getMessage()));
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        StringBuilder body = new StringBuilder();
+        if (!SimulationMetrics.ENABLED) {
+            body.append("# Stage metrics are disabled; start the server with -Dfootball.metrics=true\n");
+        }
+        SimulationMetrics.writePrometheus(body);
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // --- ENDPOINTS ---
+
+    private String leagueOdds(Map<String, String> params) {
+        SeasonAccumulator result = seasonOdds(params);
+        int relegationPlaces = DomesticLeague.create(params.get("league")).getRelegationPlaces();
+        StringBuilder json = new StringBuilder();
+        json.append("{\"league\":").append(quote(params.get("league")))
+                .append(",\"runs\":").append(result.getRuns()).append(",\"teams\":[");
+        for (int team = 0; team < result.getTeamCount(); team++) {
+            if (team > 0) {
+                json.append(',');
+            }
+            json.append("{\"team\":").append(quote(result.getTeamName(team)))
+                    .append(",\"expectedPoints\":").append(result.getExpectedPoints(team))
+                    .append(",\"expectedPosition\":").append(result.getExpectedPosition(team))
+                    .append(",\"title\":").append(result.probability(result.getTopCount(team, 1)))
+                    .append(",\"ucl\":").append(qualification(result, team, SeasonAccumulator.UCL))
+                    .append(",\"uel\":").append(qualification(result, team, SeasonAccumulator.UEL))
+                    .append(",\"uecl\":").append(qualification(result, team, SeasonAccumulator.UECL))
+                    .append(",\"relegation\":").append(result.probability(
+                            result.getBottomCount(team, relegationPlaces)))
+                    .append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static double qualification(SeasonAccumulator result, int team, int competition) {
+        return result.probability(result.getQualificationCount(team, competition));
+    }
+
+    private String cupOdds(Map<String, String> params) {
+        SeasonAccumulator result = seasonOdds(params);
+        StringBuilder json = new StringBuilder();
+        json.append("{\"league\":").append(quote(params.get("league")))
+                .append(",\"runs\":").append(result.getRuns()).append(",\"teams\":[");
+        for (int team = 0; team < result.getTeamCount(); team++) {
+            if (team > 0) {
+                json.append(',');
+            }
+            // Probability of reaching at least each stage, from the Round of 16 to winning
+            json.append("{\"team\":").append(quote(result.getTeamName(team))).append(",\"reached\":[");
+            long atLeast = 0;
+            double[] reached = new double[Team.CUP_STAGES];
+            for (int stage = Team.CUP_WINNER; stage >= 0; stage--) {
+                atLeast += result.getCupStageCount(team, stage);
+                reached[stage] = result.probability(atLeast);
+            }
+            for (int stage = 1; stage <= Team.CUP_WINNER; stage++) {
+                json.append(stage > 1 ? "," : "").append(reached[stage]);
+            }
+            json.append("],\"winner\":").append(reached[Team.CUP_WINNER]).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private String europeanOdds(Map<String, String> params) {
+        int runs = intParam(params, "runs", 100);
+        if (runs > MAX_EUROPE_RUNS) {
+            throw new IllegalArgumentException("runs must be between 1 and " + MAX_EUROPE_RUNS + " for /europe");
+        }
+        String key = "/europe?runs=" + runs;
+        ContinentAccumulator result = join(cached(key, requestExecutor,
+                () -> ContinentMonteCarlo.run(runs, null, simulationPool, workers)));
+
+        // Clubs that won anything, most Champions League wins first
+        List<Integer> winners = new ArrayList<>();
+        for (int team = 0; team < result.getTeamCount(); team++) {
+            if (wins(result, team, SeasonAccumulator.UCL) + wins(result, team, SeasonAccumulator.UEL)
+                    + wins(result, team, SeasonAccumulator.UECL) > 0) {
+                winners.add(team);
+            }
+        }
+        winners.sort((a, b) -> Long.compare(wins(result, b, SeasonAccumulator.UCL),
+                wins(result, a, SeasonAccumulator.UCL)));
+        StringBuilder json = new StringBuilder();
+        json.append("{\"runs\":").append(runs).append(",\"teams\":[");
+        for (int i = 0; i < winners.size(); i++) {
+            int team = winners.get(i);
+            json.append(i > 0 ? "," : "").append("{\"team\":").append(quote(result.getTeamName(team)))
+                    .append(",\"ucl\":").append(result.probability(wins(result, team, SeasonAccumulator.UCL)))
+                    .append(",\"uel\":").append(result.probability(wins(result, team, SeasonAccumulator.UEL)))
+                    .append(",\"uecl\":").append(result.probability(wins(result, team, SeasonAccumulator.UECL)))
+                    .append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static long wins(ContinentAccumulator result, int team, int competition) {
+        return result.getStageCount(team, competition, EuropeanCompetitionEngine.WINNER);
+    }
+
+    private String matchPrediction(Map<String, String> params) {
+        String leagueName = requiredParam(params, "league");
+        String homeName = requiredParam(params, "home");
+        String awayName = requiredParam(params, "away");
+        int runs = intParam(params, "runs", 10_000);
+        Scenario scenario = scenario(params);
+        String key = "/match?league=" + leagueName + "&home=" + homeName + "&away=" + awayName + "&runs=" + runs
+                + "&scenario=" + scenario;
+        double[] outcome = join(cached(key, simulationPool,
+                () -> simulateFixture(leagueName, homeName, awayName, runs, scenario)));
+
+        return "{\"home\":" + quote(homeName) + ",\"away\":" + quote(awayName) + ",\"runs\":" + runs
+                + ",\"homeWin\":" + outcome[0] + ",\"draw\":" + outcome[1] + ",\"awayWin\":" + outcome[2]
+                + ",\"expectedHomeGoals\":" + outcome[3] + ",\"expectedAwayGoals\":" + outcome[4] + "}";
+    }
+
+    private String inPlayOdds(Map<String, String> params) {
+        String leagueName = requiredParam(params, "league");
+        String homeName = requiredParam(params, "home");
+        String awayName = requiredParam(params, "away");
+        int runs = intParam(params, "runs", 10_000);
+        int minute = minuteParam(params);
+        int[] score = scoreParam(params);
+        double stateEffect = doubleParam(params, "stateEffect", 0.0);
+        if (params.containsKey("frozen") || params.containsKey("model")) {
+            throw new IllegalArgumentException("/inplay plays live ratings with the Poisson model");
+        }
+        Scenario scenario = scenario(params).withMatchEvents(new MatchEventEngine(stateEffect));
+        String key = "/inplay?league=" + leagueName + "&home=" + homeName + "&away=" + awayName + "&runs=" + runs
+                + "&minute=" + minute + "&score=" + score[0] + "-" + score[1] + "&scenario=" + scenario;
+        MatchEventAccumulator events = join(cached(key, simulationPool,
+                () -> simulateInPlay(leagueName, homeName, awayName, runs, minute, score, scenario)));
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\"home\":").append(quote(homeName)).append(",\"away\":").append(quote(awayName))
+                .append(",\"runs\":").append(runs).append(",\"minute\":").append(minute)
+                .append(",\"score\":").append(quote(score[0] + "-" + score[1]))
+                .append(",\"homeWin\":").append(events.getFullTimeProbability(MatchEventAccumulator.HOME_WIN))
+                .append(",\"draw\":").append(events.getFullTimeProbability(MatchEventAccumulator.DRAW))
+                .append(",\"awayWin\":").append(events.getFullTimeProbability(MatchEventAccumulator.AWAY_WIN));
+        if (minute < MatchTimeline.HALF_TIME) {
+            json.append(",\"halfTime\":{\"homeWin\":")
+                    .append(events.getHalfTimeProbability(MatchEventAccumulator.HOME_WIN))
+                    .append(",\"draw\":").append(events.getHalfTimeProbability(MatchEventAccumulator.DRAW))
+                    .append(",\"awayWin\":").append(events.getHalfTimeProbability(MatchEventAccumulator.AWAY_WIN))
+                    .append('}');
+        }
+        json.append(",\"lateGoal\":").append(events.getLateGoalProbability())
+                .append(",\"expectedHomeGoals\":").append(events.getExpectedHomeGoals())
+                .append(",\"expectedAwayGoals\":").append(events.getExpectedAwayGoals())
+                .append(",\"goalsByPeriod\":[");
+        for (int period = 0; period < MatchEventAccumulator.PERIODS; period++) {
+            json.append(period > 0 ? "," : "").append(events.getExpectedGoalsInPeriod(period));
+        }
+        return json.append("]}").toString();
+    }
+
+    // --- SIMULATIONS ---
+
+    private SeasonAccumulator seasonOdds(Map<String, String> params) {
+        String leagueName = requiredParam(params, "league");
+        DomesticLeague.create(leagueName); // rejects unknown leagues before anything is cached
+        int runs = intParam(params, "runs", 2_000);
+        Scenario scenario = scenario(params);
+        // /league and /cup render the same simulated seasons, so they share the cache entry
+        String key = "season?league=" + leagueName + "&runs=" + runs + "&scenario=" + scenario;
+        return join(cached(key, requestExecutor, () -> {
+            Supplier<DomesticLeague> leagueFactory = () -> DomesticLeague.create(leagueName);
+            List<String> teamNames = LeagueMonteCarlo.teamNamesOf(leagueFactory);
+            return LeagueMonteCarlo.run(leagueFactory, teamNames, run -> scenario.newContext(null, false), runs,
+                    simulationPool, workers);
+        }));
+    }
+
+    /**
+     * @return {P(home win), P(draw), P(away win), mean home goals, mean away goals}
+     */
+    private static double[] simulateFixture(String leagueName, String homeName, String awayName, int runs,
+            Scenario scenario) {
+        DomesticLeague league = DomesticLeague.create(leagueName);
+        league.setupTeams();
+        Team home = findTeam(league, homeName);
+        Team away = findTeam(league, awayName);
+        double[] outcome = new double[5];
+        scenario.newContext(null, false).run(() -> {
+            MatchSimulator matchSimulator = new MatchSimulator();
+            for (int i = 0; i < runs; i++) {
+                // Fresh copies, so Elo changes from one run don't leak into the next
+                Match match = new Match(copyOf(home), copyOf(away));
+                matchSimulator.simulateMatch(match);
+                outcome[match.homeGoals > match.awayGoals ? 0 : match.homeGoals == match.awayGoals ? 1 : 2]++;
+                outcome[3] += match.homeGoals;
+                outcome[4] += match.awayGoals;
+            }
+        });
+        for (int i = 0; i < outcome.length; i++) {
+            outcome[i] /= runs;
+        }
+        return outcome;
+    }
+
+    private static MatchEventAccumulator simulateInPlay(String leagueName, String homeName, String awayName,
+            int runs, int minute, int[] score, Scenario scenario) {
+        DomesticLeague league = DomesticLeague.create(leagueName);
+        league.setupTeams();
+        Team home = findTeam(league, homeName);
+        Team away = findTeam(league, awayName);
+        MatchEventAccumulator events = new MatchEventAccumulator();
+        scenario.newContext(null, false).run(() -> {
+            // In-play matches leave ratings alone, so the teams need no copies
+            MatchSimulator matchSimulator = new MatchSimulator();
+            for (int i = 0; i < runs; i++) {
+                events.record(matchSimulator.simulateInPlay(home, away, minute, score[0], score[1]));
+            }
+        });
+        return events;
+    }
+
+    private static Team findTeam(DomesticLeague league, String teamName) {
+        for (Team team : league.getTeams()) {
+            if (team.getName().equals(teamName)) {
+                return team;
+            }
+        }
+        throw new IllegalArgumentException("Unknown team in " + league.getName() + ": " + teamName);
+    }
+
+    private static Team copyOf(Team team) {
+        return new Team(team.getName(), team.getAttackStrength(), team.getDefenceStrength(), team.getEloRating());
+    }
+
+    // --- CACHE ---
+
+    /**
+     * Returns the cached (possibly still running) result for a key, starting
+     * the computation if there is none. Failed computations are dropped from
+     * the cache so the next request retries them.
+     * @param executor Where the computation runs: the simulation pool for
+     *                 one that simulates itself, the request executor for one
+     *                 that only splits work across the pool and waits for it
+     *                 (running that on the pool could leave no worker free).
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> cached(String key, Executor executor, Supplier<T> computation) {
+        CompletableFuture<T> future;
+        synchronized (cache) {
+            future = (CompletableFuture<T>) cache.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = CompletableFuture.supplyAsync(computation, executor);
+            cache.put(key, future);
+            if (cache.size() > MAX_CACHE_ENTRIES) {
+                // Requests already waiting on the evicted entry still get it
+                Iterator<CompletableFuture<?>> leastRecent = cache.values().iterator();
+                leastRecent.next();
+                leastRecent.remove();
+            }
+        }
+        CompletableFuture<T> started = future;
+        future.whenComplete((result, failure) -> {
+            if (failure != null) {
+                synchronized (cache) {
+                    cache.remove(key, started);
+                }
+            }
+        });
+        return future;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // --- REQUEST PARSING / JSON ---
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new TreeMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            params.put(name, value);
+        }
+        return params;
+    }
+
+    private static Scenario scenario(Map<String, String> params) {
+        Scenario scenario = new Scenario("Request");
+        String homeAdvantage = params.get("homeAdvantage");
+        if (homeAdvantage != null) {
+            try {
+                scenario.withHomeAdvantage(Double.parseDouble(homeAdvantage));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid homeAdvantage: " + homeAdvantage);
+            }
+        }
+        MatchModel model = params.containsKey("model") ? MatchModel.parse(params.get("model")) : MatchModel.POISSON;
+        scenario.withMatchModel(model);
+        if (Boolean.parseBoolean(params.get("frozen"))) {
+            // Tables for other models are per request, so odd parameters
+            // can't fill the shared ones
+            scenario.withFrozenRatings(model == MatchModel.POISSON ? FROZEN_RATINGS : new ScorelineTables(model));
+        }
+        return scenario;
+    }
+
+    private static String requiredParam(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 1 || parsed > MAX_RUNS) {
+                throw new IllegalArgumentException(name + " must be between 1 and " + MAX_RUNS);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static int minuteParam(Map<String, String> params) {
+        String value = params.get("minute");
+        if (value == null) {
+            return 0;
+        }
+        try {
+            int minute = Integer.parseInt(value);
+            if (minute < 0 || minute > MatchTimeline.FULL_TIME) {
+                throw new IllegalArgumentException("minute must be between 0 and " + MatchTimeline.FULL_TIME);
+            }
+            return minute;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid minute: " + value);
+        }
+    }
+
+    // score=H-A, the goals already scored
+    private static int[] scoreParam(Map<String, String> params) {
+        String value = params.getOrDefault("score", "0-0");
+        String[] goals = value.split("-", 2);
+        try {
+            int[] score = { Integer.parseInt(goals[0].trim()), Integer.parseInt(goals[goals.length - 1].trim()) };
+            if (goals.length != 2 || score[0] < 0 || score[1] < 0 || score[0] > MatchModel.MAX_GOALS
+                    || score[1] > MatchModel.MAX_GOALS) {
+                throw new IllegalArgumentException("score must be home-away goals, each 0 to " + MatchModel.MAX_GOALS);
+            }
+            return score;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid score: " + value);
+        }
+    }
+
+    private static double doubleParam(Map<String, String> params, String name, double defaultValue) {
+        String value = params.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + quote(message) + "}";
+    }
+
+    private static String quote(String text) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            switch (c) {
+                case '"': quoted.append("\\\""); break;
+                case '\\': quoted.append("\\\\"); break;
+                case '\n': quoted.append("\\n"); break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,201 @@
+import java.util.Random;
+
+/**
+ * A Random whose doubles and gaussians come from a digitally shifted Sobol
+ * sequence, for quasi-Monte Carlo runs.
+ * Each instance stands for one run of a batch of 2^m runs. The stream is
+ * split into blocks, one per fixture: setSeed starts a new block, and the
+ * block seed picks
+ *  - a random digital shift (XOR scramble) of the block's coordinates, and
+ *  - a pseudo-random permutation of the m-bit run index, so that run i uses a
+ *    different Sobol point in each block (Latin supercube sampling).
+ * Across the batch every fixture then sees a complete, shifted Sobol net, so
+ * each fixture is stratified; the permutation stops the blocks from all
+ * reusing the same point, which would couple the fixtures of a run (through
+ * Elo changes, for one) and can make the season estimate worse than plain
+ * Monte Carlo. Each single run is still an exact sample of the model,
+ * because every block gets an independent uniform shift.
+ *
+ * Only the first DIMENSIONS doubles/gaussians of a block are quasi-random;
+ * later ones, and everything drawn through next(bits) (nextInt, penalties
+ * etc.), fall back to the ordinary pseudo-random stream seeded from
+ * (block seed, point).
+ */
+public class SobolRandom extends Random {
+    private static final long serialVersionUID = 1L;
+
+    public static final int DIMENSIONS = 16;
+    private static final int BITS = 53;
+    private static final double SCALE = 0x1.0p-53;
+
+    // Primitive polynomials and initial direction numbers for dimensions 2..16
+    // from Joe & Kuo (2008): {degree, coefficients a, m_1 .. m_degree}
+    private static final int[][] POLYNOMIALS = {
+        { 1, 0, 1 },
+        { 2, 1, 1, 3 },
+        { 3, 1, 1, 3, 1 },
+        { 3, 2, 1, 1, 1 },
+        { 4, 1, 1, 1, 3, 3 },
+        { 4, 4, 1, 3, 5, 13 },
+        { 5, 2, 1, 1, 5, 5, 17 },
+        { 5, 4, 1, 1, 5, 5, 5 },
+        { 5, 7, 1, 1, 7, 11, 19 },
+        { 5, 11, 1, 1, 5, 1, 1 },
+        { 5, 13, 1, 1, 1, 3, 11 },
+        { 5, 14, 1, 3, 5, 5, 31 },
+        { 6, 1, 1, 3, 3, 9, 7, 49 },
+        { 6, 13, 1, 1, 1, 15, 21, 21 },
+        { 6, 16, 1, 3, 1, 13, 27, 49 },
+    };
+
+    private static final long[][] DIRECTIONS = buildDirections();
+
+    private final long point;
+    private final int log2Points;
+    private final long[] shifts;
+    private long blockPoint;
+    private int dimension;
+
+    /**
+     * @param point      Index of this run within the batch (0, 1, 2, ...).
+     * @param log2Points Batch size as a power of two; the permutation mixes
+     *                   the low log2Points bits of the index.
+     * @param seed       Seed of the first block.
+     */
+    public SobolRandom(long point, int log2Points, long seed) {
+        // The fallback stream is seeded as setSeed would seed it
+        super(SimulationContext.mix(seed, point));
+        this.point = point;
+        this.log2Points = log2Points;
+        this.shifts = new long[DIMENSIONS];
+        startBlock(seed);
+    }
+
+    /**
+     * Starts a new block: resets the dimension counter, derives the block's
+     * digital shifts and index permutation from the seed and re-seeds the
+     * pseudo-random fallback.
+     */
+    @Override
+    public synchronized void setSeed(long seed) {
+        // Called by the Random constructor before the fields are assigned
+        if (shifts == null) {
+            super.setSeed(seed);
+            return;
+        }
+        super.setSeed(SimulationContext.mix(seed, point));
+        startBlock(seed);
+    }
+
+    private void startBlock(long seed) {
+        for (int d = 0; d < DIMENSIONS; d++) {
+            shifts[d] = SimulationContext.mix(seed, -1 - d) >>> (64 - BITS);
+        }
+        long mask = (1L << log2Points) - 1;
+        blockPoint = (point & ~mask) | permute(point & mask, log2Points, seed);
+        dimension = 0;
+    }
+
+    /**
+     * Seed-dependent bijection on log2Points-bit integers: xor, multiply by an
+     * odd number and xorshift rounds, each of which is invertible mod 2^bits.
+     */
+    static long permute(long index, int bits, long seed) {
+        if (bits == 0) {
+            return index;
+        }
+        long mask = (1L << bits) - 1;
+        int shift = Math.max(1, bits / 2);
+        long x = index;
+        for (int round = 0; round < 3; round++) {
+            long key = SimulationContext.mix(seed, 1000 + round);
+            x = (x ^ key) & mask;
+            x = (x * (key >>> 32 | 1)) & mask;
+            x ^= x >>> shift;
+        }
+        return x;
+    }
+
+    @Override
+    public double nextDouble() {
+        if (dimension >= DIMENSIONS) {
+            return super.nextDouble();
+        }
+        int d = dimension++;
+        // Centre of the 2^-53 cell, so the value is never exactly 0 or 1
+        return ((sobol(d, blockPoint) ^ shifts[d]) + 0.5) * SCALE;
+    }
+
+    @Override
+    public double nextGaussian() {
+        if (dimension >= DIMENSIONS) {
+            return super.nextGaussian();
+        }
+        return inverseNormal(nextDouble());
+    }
+
+    /**
+     * @return Coordinate d of Sobol point i as a BITS-bit integer.
+     */
+    static long sobol(int d, long i) {
+        long x = 0;
+        long[] directions = DIRECTIONS[d];
+        for (int bit = 0; i != 0; bit++, i >>>= 1) {
+            if ((i & 1) != 0) {
+                x ^= directions[bit];
+            }
+        }
+        return x;
+    }
+
+    private static long[][] buildDirections() {
+        long[][] directions = new long[DIMENSIONS][BITS];
+        // First dimension: van der Corput sequence in base 2
+        for (int k = 0; k < BITS; k++) {
+            directions[0][k] = 1L << (BITS - 1 - k);
+        }
+        for (int d = 1; d < DIMENSIONS; d++) {
+            int[] polynomial = POLYNOMIALS[d - 1];
+            int degree = polynomial[0];
+            int coefficients = polynomial[1];
+            long[] m = new long[BITS];
+            for (int k = 0; k < BITS; k++) {
+                if (k < degree) {
+                    m[k] = polynomial[2 + k];
+                } else {
+                    m[k] = m[k - degree] ^ (m[k - degree] << degree);
+                    for (int j = 1; j < degree; j++) {
+                        if (((coefficients >> (degree - 1 - j)) & 1) != 0) {
+                            m[k] ^= m[k - j] << j;
+                        }
+                    }
+                }
+                directions[d][k] = m[k] << (BITS - 1 - k);
+            }
+        }
+        return directions;
+    }
+
+    /**
+     * Inverse of the standard normal CDF (Acklam's rational approximation,
+     * relative error below 1.2e-9).
+     */
+    static double inverseNormal(double p) {
+        if (p < 0.02425) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+                    - 2.549732539343734e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+                    / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+                    + 3.754408661907416e+00) * q + 1);
+        }
+        if (p > 1 - 0.02425) {
+            return -inverseNormal(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+                + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+                / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+                + 6.680131188771972e+01) * r - 1.328068155288572e+01) * r + 1);
+    }
+}
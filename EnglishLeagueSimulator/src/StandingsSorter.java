@@ -0,0 +1,93 @@
+import java.util.List;
+
+/**
+ * Ranks league tables on one packed key per team instead of a chain of
+ * comparators. The key holds, from most to least significant,
+ *
+ *   points (14 bits) | goal difference + 8192 (14) | goals for (13) | wins (11)
+ *
+ * so a higher key is a higher place, and teams are ordered by a stable
+ * insertion sort on the primitive keys, one long comparison per step. Teams
+ * level on every field keep their input order, which is the final
+ * tie-break. The largest table sorted is the 36-team league phase, well
+ * below the size where a radix sort's counting passes would pay off.
+ *
+ * This replaces the Comparator.comparingInt(...).reversed().thenComparingInt(
+ * ...).reversed() chains the leagues used. Each reversed() flips the whole
+ * chain built so far, so those sorted goal difference ascending (and Serie
+ * A's play-off check sorted points ascending).
+ */
+public final class StandingsSorter {
+    private static final int POINTS_BITS = 14;
+    private static final int GOAL_DIFFERENCE_BITS = 14;
+    private static final int GOALS_FOR_BITS = 13;
+    private static final int WINS_BITS = 11;
+    private static final int GOAL_DIFFERENCE_BIAS = 1 << (GOAL_DIFFERENCE_BITS - 1);
+
+    private StandingsSorter() {
+    }
+
+    /**
+     * @return The team's ranking key; a higher key ranks higher. Fields
+     *         outside their range are clamped.
+     */
+    public static long rankingKey(Team team) {
+        long key = field(team.getPoints(), POINTS_BITS);
+        key = (key << GOAL_DIFFERENCE_BITS) | field(team.getGoalDifference() + GOAL_DIFFERENCE_BIAS,
+                GOAL_DIFFERENCE_BITS);
+        key = (key << GOALS_FOR_BITS) | field(team.getGoalsFor(), GOALS_FOR_BITS);
+        return (key << WINS_BITS) | field(team.getWins(), WINS_BITS);
+    }
+
+    private static long field(int value, int bits) {
+        return Math.max(0, Math.min(value, (1 << bits) - 1));
+    }
+
+    /**
+     * @return The positions of the teams in the table: order[0] is the index
+     *         in teams of the leader, order[1] of the team in second, and so on.
+     */
+    public static int[] rank(List<Team> teams) {
+        int n = teams.size();
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = rankingKey(teams.get(i));
+        }
+        return rank(keys, n);
+    }
+
+    /**
+     * @return The permutation that orders the first n keys from highest to
+     *         lowest, ties in index order.
+     */
+    public static int[] rank(long[] keys, int n) {
+        int[] order = new int[n];
+        long[] sorted = new long[n];
+        for (int i = 0; i < n; i++) {
+            long key = keys[i];
+            int j = i - 1;
+            while (j >= 0 && sorted[j] < key) {
+                sorted[j + 1] = sorted[j];
+                order[j + 1] = order[j];
+                j--;
+            }
+            sorted[j + 1] = key;
+            order[j + 1] = i;
+        }
+        return order;
+    }
+
+    /**
+     * Sorts the table in place, leader first.
+     */
+    public static void sort(List<Team> teams) {
+        int[] order = rank(teams);
+        Team[] byPosition = new Team[order.length];
+        for (int position = 0; position < order.length; position++) {
+            byPosition[position] = teams.get(order[position]);
+        }
+        for (int position = 0; position < byPosition.length; position++) {
+            teams.set(position, byPosition[position]);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * The strength term of the goal model, (attack / defence)^1.5, without a
+ * Math.pow per lambda. The term splits as attack^1.5 * defence^-1.5 and
+ * strengths are small integers, so both powers are read from static tables
+ * built once for every strength up to MAX_TABULATED; a strength outside that
+ * range (e.g. from a scenario override) falls back to Math.pow. Nothing is
+ * built per run or per competition.
+ */
+public final class StrengthFactors {
+    private static final int MAX_TABULATED = 255;
+    private static final double[] ATTACK = new double[MAX_TABULATED + 1];
+    private static final double[] DEFENCE = new double[MAX_TABULATED + 1];
+
+    static {
+        for (int i = 0; i <= MAX_TABULATED; i++) {
+            ATTACK[i] = Math.pow(i, 1.5);
+            DEFENCE[i] = Math.pow(i, -1.5);
+        }
+    }
+
+    private StrengthFactors() {
+    }
+
+    /**
+     * @return (attackStrength / defenceStrength)^1.5.
+     */
+    public static double strengthFactor(int attackStrength, int defenceStrength) {
+        if (attackStrength >= 0 && attackStrength <= MAX_TABULATED && defenceStrength >= 0
+                && defenceStrength <= MAX_TABULATED) {
+            return ATTACK[attackStrength] * DEFENCE[defenceStrength];
+        }
+        return Math.pow((double) attackStrength / defenceStrength, 1.5);
+    }
+}
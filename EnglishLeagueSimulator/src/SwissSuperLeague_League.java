@@ -15,12 +15,12 @@ import java.util.Set;
  * NOTE: This class has been refactored to work with the
  * EuropeanCompetitionSimulator.
  */
-public class SwissSuperLeague_League {
+public class SwissSuperLeague_League implements DomesticLeague {
     private final List<Team> teams;
-    private final List<Match> phase1Fixtures;
-    private final List<Match> phase2Fixtures;
+    private FixtureBuffer phase1Fixtures;
+    private FixtureBuffer phase2Fixtures;
     private final MatchSimulator matchSimulator;
-    private final Random random = new Random();
+    private final Random random = SimulationContext.current().newRandom();
 
     private Team swissCupWinner;
 
@@ -31,8 +31,6 @@ public class SwissSuperLeague_League {
 
     public SwissSuperLeague_League() {
         this.teams = new ArrayList<>();
-        this.phase1Fixtures = new ArrayList<>();
-        this.phase2Fixtures = new ArrayList<>();
         this.matchSimulator = new MatchSimulator();
     }
 
@@ -49,6 +47,55 @@ public class SwissSuperLeague_League {
         return ueclTeams;
     }
 
+    // --- DOMESTIC LEAGUE CONTRACT ---
+    @Override
+    public String getName() {
+        return "SwissSuperLeague_League";
+    }
+
+    @Override
+    public int getRelegationPlaces() {
+        return 1;
+    }
+
+    @Override
+    public List<Team> getTeams() {
+        return this.teams;
+    }
+
+    @Override
+    public void simulateFullSeason() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Swiss Cup");
+        simulateSwissCup();
+        stage = stage.next("Phase 1 fixtures");
+        generatePhase1Fixtures();
+        stage = stage.next("Phase 1");
+        simulatePhase1();
+        stage = stage.next("Phase 2 fixtures");
+        generatePhase2Fixtures();
+        stage = stage.next("Phase 2");
+        simulatePhase2();
+        stage = stage.next("European spots");
+        determineEuropeanSpots();
+        stage.end();
+    }
+
+    @Override
+    public List<Team> getFinalStandings() {
+        List<Team> finalOrder = new ArrayList<>(this.teams);
+        StandingsSorter.sort(finalOrder);
+        List<Team> topSix = new ArrayList<>(finalOrder.subList(0, 6));
+        List<Team> bottomSix = new ArrayList<>(finalOrder.subList(6, 12));
+
+        StandingsSorter.sort(topSix);
+        StandingsSorter.sort(bottomSix);
+
+        finalOrder.clear();
+        finalOrder.addAll(topSix);
+        finalOrder.addAll(bottomSix);
+        return finalOrder;
+    }
+
     public static void main(String[] args) {
         SwissSuperLeague_League switzerland = new SwissSuperLeague_League();
 
@@ -81,6 +128,7 @@ public class SwissSuperLeague_League {
     }
 
     public void setupTeams() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Setup");
         double initialElo = 1500;
         this.teams.add(new Team("BSC Young Boys", 90, 84, initialElo + 80)); // Adjusted
         this.teams.add(new Team("FC Basel", 86, 82, initialElo + 60)); // Adjusted
@@ -95,6 +143,7 @@ public class SwissSuperLeague_League {
         this.teams.add(new Team("FC Lausanne-Sport", 68, 72, initialElo - 180)); // Adjusted
         this.teams.add(new Team("Stade Lausanne-Ouchy", 65, 70, initialElo - 220)); // Adjusted
         System.out.println("12 Swiss Super League teams have been created.");
+        stage.end();
     }
 
     public void simulateSwissCup() {
@@ -118,38 +167,46 @@ public class SwissSuperLeague_League {
         List<Team> finalists = simulateKnockoutRound(semiFinalists);
         System.out.println("\n** Swiss Cup Final **");
         this.swissCupWinner = matchSimulator.simulateSingleMatch(finalists.get(0), finalists.get(1));
+        this.swissCupWinner.reachCupRound(1);
         System.out.println("\nSwiss Cup Winner: " + this.swissCupWinner.getName());
     }
 
     private List<Team> simulateKnockoutRound(List<Team> teamsInRound) {
         List<Team> winners = new ArrayList<>();
         Collections.shuffle(teamsInRound, random);
+        for (Team team : teamsInRound) {
+            team.reachCupRound(teamsInRound.size());
+        }
         for (int i = 0; i < teamsInRound.size(); i += 2) {
             winners.add(matchSimulator.simulateSingleMatch(teamsInRound.get(i), teamsInRound.get(i + 1)));
         }
+        for (Team winner : winners) {
+            winner.reachCupRound(winners.size());
+        }
         return winners;
     }
 
     public void generatePhase1Fixtures() {
-        this.phase1Fixtures.clear();
-        for (Team team1 : this.teams) {
-            for (Team team2 : this.teams) {
-                if (!team1.equals(team2)) {
-                    phase1Fixtures.add(new Match(team1, team2));
+        int n = this.teams.size();
+        this.phase1Fixtures = new FixtureBuffer(this.teams, n * (n - 1) + n * (n - 1) / 2);
+        for (int home = 0; home < n; home++) {
+            for (int away = 0; away < n; away++) {
+                if (home != away) {
+                    phase1Fixtures.add(home, away);
                 }
             }
         }
-        for (int i = 0; i < this.teams.size(); i++) {
-            for (int j = i + 1; j < this.teams.size(); j++) {
-                phase1Fixtures.add(new Match(this.teams.get(i), this.teams.get(j)));
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                phase1Fixtures.add(i, j);
             }
         }
-        Collections.shuffle(phase1Fixtures);
+        phase1Fixtures.shuffle(random);
         System.out.println(this.phase1Fixtures.size() + " Phase 1 matches scheduled.");
     }
 
     public void generatePhase2Fixtures() {
-        this.phase2Fixtures.clear();
+        this.phase2Fixtures = new FixtureBuffer(this.teams, 2 * (6 * 5 / 2));
         this.teams.sort(Comparator.comparingInt(Team::getPoints).reversed());
         List<Team> topSix = new ArrayList<>(this.teams.subList(0, 6));
         List<Team> bottomSix = new ArrayList<>(this.teams.subList(6, 12));
@@ -157,33 +214,28 @@ public class SwissSuperLeague_League {
         addSplitFixtures(topSix);
         addSplitFixtures(bottomSix);
 
-        Collections.shuffle(phase2Fixtures);
+        phase2Fixtures.shuffle(random);
         System.out.println("Post-split fixtures have been generated (" + this.phase2Fixtures.size() + " matches).");
     }
 
     private void addSplitFixtures(List<Team> section) {
         for (int i = 0; i < section.size(); i++) {
             for (int j = i + 1; j < section.size(); j++) {
-                phase2Fixtures.add(new Match(section.get(i), section.get(j)));
+                phase2Fixtures.add(section.get(i), section.get(j));
             }
         }
     }
 
     public void simulatePhase1() {
-        for (Match match : this.phase1Fixtures) {
-            matchSimulator.simulateMatch(match);
-        }
+        matchSimulator.simulateFixtures(this.phase1Fixtures);
     }
 
     public void simulatePhase2() {
-        for (Match match : this.phase2Fixtures) {
-            matchSimulator.simulateMatch(match);
-        }
+        matchSimulator.simulateFixtures(this.phase2Fixtures);
     }
 
     public void determineEuropeanSpots() {
-        Comparator<Team> tableSorter = getTableSorter();
-        this.teams.sort(tableSorter);
+        StandingsSorter.sort(this.teams);
 
         Set<Team> qualifiedForEurope = new HashSet<>();
 
@@ -224,30 +276,17 @@ public class SwissSuperLeague_League {
         }
     }
 
-    private Comparator<Team> getTableSorter() {
-        return Comparator.comparingInt(Team::getPoints).reversed()
-                .thenComparingInt(Team::getGoalDifference).reversed()
-                .thenComparingInt(Team::getGoalsFor).reversed()
-                .thenComparing(Team::getName);
-    }
-
     public void displayTable(String title, boolean isFinalTable) {
         System.out.println("\n--- " + title + " ---");
 
-        Comparator<Team> tableSorter = getTableSorter();
-        List<Team> finalOrder = new ArrayList<>();
+        List<Team> finalOrder;
 
         if (isFinalTable) {
-            this.teams.sort(tableSorter);
-            List<Team> topSix = new ArrayList<>(this.teams.subList(0, 6));
-            List<Team> bottomSix = new ArrayList<>(this.teams.subList(6, 12));
-            topSix.sort(tableSorter);
-            bottomSix.sort(tableSorter);
-            finalOrder.addAll(topSix);
-            finalOrder.addAll(bottomSix);
+            StandingsSorter.sort(this.teams);
+            finalOrder = getFinalStandings();
         } else {
-            finalOrder.addAll(this.teams);
-            finalOrder.sort(tableSorter);
+            finalOrder = new ArrayList<>(this.teams);
+            StandingsSorter.sort(finalOrder);
         }
 
         System.out.println("Pos | Team                     | P  | W  | D  | L  | GF | GA | GD  | Pts | Elo ");
@@ -14,6 +14,18 @@ public class Team {
     int goalDifference;
     int points;
 
+    // Furthest domestic cup stage reached this season (best across all of a
+    // league's cups), from 0 (out before the Round of 16) up to CUP_WINNER
+    int cupRoundReached;
+
+    // Football association (domestic league) the club belongs to, e.g.
+    // "Premier_League"; set when the club enters a European competition
+    // through EuropeanCompetitionSimulator, used for draw protection
+    String association;
+
+    public static final int CUP_STAGES = 6;
+    public static final int CUP_WINNER = CUP_STAGES - 1;
+
     public Team(String name, int attackStrength, int defenceStrength, double initialElo) {
         this.name = name;
         this.attackStrength = attackStrength;
@@ -38,6 +50,20 @@ public class Team {
         }
     }
 
+    /**
+     * Records that this team took part in a domestic cup round.
+     * The stage is derived from the number of teams left in the cup, so a round
+     * of 16 teams is stage 1, the final is stage 4 and the sole winner stage 5.
+     * @param teamsInRound Number of teams still in the cup at this round.
+     */
+    public void reachCupRound(int teamsInRound) {
+        int roundsToWin = 32 - Integer.numberOfLeadingZeros(Math.max(teamsInRound, 1) - 1);
+        int stage = CUP_WINNER - roundsToWin;
+        if (stage > this.cupRoundReached) {
+            this.cupRoundReached = stage;
+        }
+    }
+
     public void resetStats() {
         this.gamesPlayed = 0;
         this.wins = 0;
@@ -60,6 +86,9 @@ public class Team {
     public int getGoalDifference() { return goalDifference; }
     public int getGoalsFor() { return goalsFor; }
     public int getWins() { return wins; }
+    public int getCupRoundReached() { return cupRoundReached; }
+    public String getAssociation() { return association; }
+    public void setAssociation(String association) { this.association = association; }
 
 
     @Override
@@ -12,11 +12,11 @@ import java.util.stream.Collectors;
  * This version simulates the 18-team league, a simple Turkish Cup,
  * and features accurate European and relegation qualification rules.
  */
-public class TurkishSuperLig_League {
+public class TurkishSuperLig_League implements DomesticLeague {
     private final List<Team> teams;
-    private final List<Match> fixtures;
+    private FixtureBuffer fixtures;
     private final MatchSimulator matchSimulator;
-    private final Random random = new Random();
+    private final Random random = SimulationContext.current().newRandom();
 
     private Team turkishCupWinner;
 
@@ -27,7 +27,6 @@ public class TurkishSuperLig_League {
 
     public TurkishSuperLig_League() {
         this.teams = new ArrayList<>();
-        this.fixtures = new ArrayList<>();
         this.matchSimulator = new MatchSimulator();
     }
 
@@ -44,6 +43,40 @@ public class TurkishSuperLig_League {
         return ueclTeams;
     }
 
+    // --- DOMESTIC LEAGUE CONTRACT ---
+    @Override
+    public String getName() {
+        return "TurkishSuperLig_League";
+    }
+
+    @Override
+    public int getRelegationPlaces() {
+        return 2;
+    }
+
+    @Override
+    public List<Team> getTeams() {
+        return this.teams;
+    }
+
+    @Override
+    public void simulateFullSeason() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Turkish Cup");
+        simulateTurkishCup();
+        stage = stage.next("Fixtures");
+        generateFixtures();
+        stage = stage.next("Season");
+        simulateSeason();
+        stage = stage.next("European spots");
+        determineEuropeanSpots();
+        stage.end();
+    }
+
+    @Override
+    public List<Team> getFinalStandings() {
+        return new ArrayList<>(this.teams);
+    }
+
     public static void main(String[] args) {
         TurkishSuperLig_League turkishSuperLig = new TurkishSuperLig_League();
 
@@ -67,6 +100,7 @@ public class TurkishSuperLig_League {
     }
 
     public void setupTeams() {
+        SimulationMetrics.Stage stage = SimulationMetrics.begin(getName(), "Setup");
         double initialElo = 1500;
         this.teams.add(new Team("Galatasaray", 87, 83, initialElo + 180));
         this.teams.add(new Team("Fenerbahçe", 86, 82, initialElo + 170));
@@ -87,6 +121,7 @@ public class TurkishSuperLig_League {
         this.teams.add(new Team("Samsunspor", 65, 64, initialElo - 100));
         this.teams.add(new Team("Çaykur Rizespor", 64, 63, initialElo - 110));
         System.out.println("18 Turkish Süper Lig teams have been created.");
+        stage.end();
     }
 
     public void simulateTurkishCup() {
@@ -116,39 +151,36 @@ public class TurkishSuperLig_League {
         List<Team> finalists = simulateKnockoutRound(semiFinalists);
         System.out.println("\n** Turkish Cup Final **");
         this.turkishCupWinner = matchSimulator.simulateSingleMatch(finalists.get(0), finalists.get(1));
+        this.turkishCupWinner.reachCupRound(1);
         System.out.println("\nTurkish Cup Winner: " + this.turkishCupWinner.getName());
     }
 
     private List<Team> simulateKnockoutRound(List<Team> teamsInRound) {
         List<Team> winners = new ArrayList<>();
         Collections.shuffle(teamsInRound, random);
+        for (Team team : teamsInRound) {
+            team.reachCupRound(teamsInRound.size());
+        }
         for (int i = 0; i < teamsInRound.size(); i += 2) {
             winners.add(matchSimulator.simulateSingleMatch(teamsInRound.get(i), teamsInRound.get(i + 1)));
         }
+        for (Team winner : winners) {
+            winner.reachCupRound(winners.size());
+        }
         return winners;
     }
 
     public void generateFixtures() {
-        for (Team homeTeam : this.teams) {
-            for (Team awayTeam : this.teams) {
-                if (!homeTeam.equals(awayTeam)) {
-                    this.fixtures.add(new Match(homeTeam, awayTeam));
-                }
-            }
-        }
+        this.fixtures = FixtureBuffer.roundRobin(this.teams);
         System.out.println(this.fixtures.size() + " league matches have been scheduled.");
     }
 
     public void simulateSeason() {
-        for (Match match : this.fixtures) {
-            matchSimulator.simulateMatch(match);
-        }
+        matchSimulator.simulateFixtures(this.fixtures);
     }
 
     public void determineEuropeanSpots() {
-        this.teams.sort(Comparator.comparingInt(Team::getPoints).reversed()
-                .thenComparingInt(Team::getGoalDifference).reversed()
-                .thenComparingInt(Team::getGoalsFor).reversed());
+        StandingsSorter.sort(this.teams);
 
         Set<Team> qualifiedForEurope = new HashSet<>();
 